@@ -0,0 +1,93 @@
+package tavebalak.OTTify.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tavebalak.OTTify.common.constant.TieredCacheType;
+
+// 서버 메모리(Caffeine)를 1차, Redis 를 2차로 사용하는 캐시입니다.
+// 1차 캐시에 없으면 Redis 를 확인하고, Redis 에도 없으면 loader 를 실행한 결과를 두 캐시에 모두 저장합니다.
+// loader 결과가 비어있는 경우도 캐시하며, Redis 에 문제가 생기면 캐시가 없는 것으로 보고 loader 를 실행합니다.
+@Slf4j
+public class TieredCache<V> {
+
+    private static final Gson GSON = new Gson();
+    private static final String EMPTY_VALUE = "null";
+
+    private final TieredCacheType cacheType;
+    private final Class<V> valueType;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Optional<V>> localCache;
+
+    public TieredCache(TieredCacheType cacheType, Class<V> valueType,
+        StringRedisTemplate stringRedisTemplate) {
+        this.cacheType = cacheType;
+        this.valueType = valueType;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localCache = Caffeine.newBuilder()
+            .expireAfterWrite(cacheType.getLocalExpiredAfterWrite(), TimeUnit.SECONDS)
+            .maximumSize(cacheType.getMaximumSize())
+            .build();
+    }
+
+    public Mono<V> getOrLoad(String key, Mono<V> loader) {
+        Optional<V> localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            return Mono.justOrEmpty(localValue);
+        }
+
+        return Mono.fromCallable(() -> readRemote(key))
+            .subscribeOn(Schedulers.boundedElastic())
+            .switchIfEmpty(Mono.defer(() -> loader
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(value -> writeRemote(key, value))))
+            .doOnNext(value -> localCache.put(key, value))
+            .flatMap(Mono::justOrEmpty);
+    }
+
+    public void evict(String key) {
+        localCache.invalidate(key);
+        try {
+            stringRedisTemplate.delete(remoteKey(key));
+        } catch (RuntimeException e) {
+            log.warn("tiered cache {} evict failed. key: {}", cacheType.getCacheName(), key, e);
+        }
+    }
+
+    // Redis 에 저장된 값이 없으면 null 을 반환해 Mono 를 비웁니다.
+    private Optional<V> readRemote(String key) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(remoteKey(key));
+            if (json == null) {
+                return null;
+            }
+            return Optional.ofNullable(GSON.fromJson(json, valueType));
+        } catch (RuntimeException e) {
+            log.warn("tiered cache {} read failed. key: {}", cacheType.getCacheName(), key, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, Optional<V> value) {
+        try {
+            stringRedisTemplate.opsForValue().set(remoteKey(key),
+                value.map(GSON::toJson).orElse(EMPTY_VALUE),
+                Duration.ofSeconds(cacheType.getRemoteExpiredAfterWrite()));
+        } catch (RuntimeException e) {
+            log.warn("tiered cache {} write failed. key: {}", cacheType.getCacheName(), key, e);
+        }
+    }
+
+    private String remoteKey(String key) {
+        return cacheType.getCacheName() + ":" + key;
+    }
+}
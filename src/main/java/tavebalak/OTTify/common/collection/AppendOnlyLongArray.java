@@ -0,0 +1,86 @@
+package tavebalak.OTTify.common.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 뒤에 값을 덧붙이기만 하는 long 배열입니다. 쓰기는 synchronized 로 한 스레드씩, 읽기는 잠금 없이 합니다.
+// 읽는 쪽은 snapshot 의 size 까지만 읽으므로, 쓰는 쪽이 배열 뒤에 값을 쓰고 새 snapshot 을 발행해도 안전합니다.
+public class AppendOnlyLongArray {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Snapshot snapshot;
+
+    public AppendOnlyLongArray() {
+        this.snapshot = new Snapshot(new long[INITIAL_CAPACITY], 0);
+    }
+
+    public AppendOnlyLongArray(Collection<Long> values) {
+        long[] array = new long[Math.max(INITIAL_CAPACITY, values.size())];
+        int size = 0;
+        for (Long value : values) {
+            array[size++] = value;
+        }
+        this.snapshot = new Snapshot(array, size);
+    }
+
+    public void add(long value) {
+        addAll(List.of(value));
+    }
+
+    public synchronized void addAll(Collection<Long> values) {
+        Snapshot current = snapshot;
+        int newSize = current.size + values.size();
+
+        long[] array = current.array;
+        if (array.length < newSize) {
+            array = Arrays.copyOf(array, Math.max(newSize, array.length * 2));
+        }
+
+        int size = current.size;
+        for (Long value : values) {
+            array[size++] = value;
+        }
+        snapshot = new Snapshot(array, size);
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    // 서로 다른 위치의 값을 최대 count 개 뽑습니다. Floyd 의 알고리즘으로 O(count) 에 뽑습니다.
+    public List<Long> sample(int count) {
+        Snapshot current = snapshot;
+        int n = current.size;
+        int k = Math.max(0, Math.min(count, n));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Integer> pickedIndexes = new HashSet<>();
+        List<Long> sampledValues = new ArrayList<>(k);
+        for (int j = n - k; j < n; j++) {
+            int index = random.nextInt(j + 1);
+            if (!pickedIndexes.add(index)) {
+                pickedIndexes.add(j);
+                index = j;
+            }
+            sampledValues.add(current.array[index]);
+        }
+        return sampledValues;
+    }
+
+    private static class Snapshot {
+
+        private final long[] array;
+        private final int size;
+
+        private Snapshot(long[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package tavebalak.OTTify.common.collection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// long 키로 조회하는 읽기 전용 map 입니다. 정렬된 long[] 키를 이진 탐색하므로 키를 박싱하지 않습니다.
+// 만들어진 뒤에는 바뀌지 않아 잠금 없이 읽을 수 있고, 갱신이 필요하면 새로 만들어 교체합니다.
+public final class LongKeyMap<V> {
+
+    private static final LongKeyMap<?> EMPTY = new LongKeyMap<>(new long[0], new Object[0]);
+
+    private final long[] keys;
+    private final Object[] values;
+
+    private LongKeyMap(long[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> LongKeyMap<V> empty() {
+        return (LongKeyMap<V>) EMPTY;
+    }
+
+    // 키가 null 인 값은 건너뛰고, 같은 키가 여러 번 나오면 처음 값을 사용합니다.
+    public static <V> LongKeyMap<V> from(Collection<? extends V> items,
+        Function<? super V, Long> keyExtractor) {
+        List<? extends V> sortedItems = items.stream()
+            .filter(item -> keyExtractor.apply(item) != null)
+            .sorted(Comparator.comparingLong(item -> keyExtractor.apply(item)))
+            .collect(Collectors.toList());
+
+        long[] keys = new long[sortedItems.size()];
+        Object[] values = new Object[sortedItems.size()];
+        int size = 0;
+        for (V item : sortedItems) {
+            long key = keyExtractor.apply(item);
+            if (size > 0 && keys[size - 1] == key) {
+                continue;
+            }
+            keys[size] = key;
+            values[size] = item;
+            size++;
+        }
+        return new LongKeyMap<>(Arrays.copyOf(keys, size), Arrays.copyOf(values, size));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    public boolean containsKey(long key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        return (List<V>) Collections.unmodifiableList(Arrays.asList(values));
+    }
+}
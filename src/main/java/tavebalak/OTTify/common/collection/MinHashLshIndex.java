@@ -0,0 +1,121 @@
+package tavebalak.OTTify.common.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// id 별 MinHash 서명을 들고 locality-sensitive hashing 으로 비슷한 id 를 찾습니다.
+// 서명을 bands 개의 구간으로 나누고 구간 값이 같은 id 끼리 같은 bucket 에 넣어두므로,
+// 조회할 때는 bands 개의 bucket 에 든 후보만 서명으로 비교합니다.
+// 구간이 r 자리이면 Jaccard 유사도가 (1/bands)^(1/r) 정도부터 후보에 잘 잡힙니다.
+// 쓰기는 한번에 하나씩만 하고, 읽기는 잠금 없이 합니다.
+public class MinHashLshIndex {
+
+    private final int bands;
+    private final int rows;
+    private final int maxCandidates;
+
+    private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    // 같은 bucket 에 많이 몰릴 때도 조회가 오래 걸리지 않도록 비교할 후보 수를 maxCandidates 개로 제한합니다.
+    public MinHashLshIndex(int bands, int maxCandidates) {
+        if (bands <= 0 || MinHasher.SIGNATURE_LENGTH % bands != 0) {
+            throw new IllegalArgumentException("bands must divide " + MinHasher.SIGNATURE_LENGTH);
+        }
+        this.bands = bands;
+        this.rows = MinHasher.SIGNATURE_LENGTH / bands;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public int[] get(Long id) {
+        return signatures.get(id);
+    }
+
+    public boolean contains(Long id) {
+        return signatures.containsKey(id);
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    public synchronized void put(Long id, int[] signature) {
+        if (signature == null) {
+            return;
+        }
+        int[] previous = signatures.put(id, signature);
+        if (previous != null) {
+            for (int band = 0; band < bands; band++) {
+                buckets.computeIfPresent(bucketKey(previous, band), (key, bucket) -> {
+                    bucket.remove(id);
+                    return bucket.isEmpty() ? null : bucket;
+                });
+            }
+        }
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bucketKey(signature, band), key -> ConcurrentHashMap.newKeySet())
+                .add(id);
+        }
+    }
+
+    // 두 id 의 Jaccard 유사도 추정값입니다. 어느 한쪽이라도 서명이 없으면 0 입니다.
+    public double similarity(Long id, Long otherId) {
+        int[] signature = signatures.get(id);
+        int[] other = signatures.get(otherId);
+        if (signature == null || other == null) {
+            return 0;
+        }
+        return MinHasher.similarity(signature, other);
+    }
+
+    // 비슷한 순서로 count 개까지 돌려줍니다. 자기 자신은 빠집니다.
+    public List<Long> findSimilar(Long id, int count) {
+        int[] signature = signatures.get(id);
+        if (signature == null) {
+            return List.of();
+        }
+
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < bands && candidates.size() < maxCandidates; band++) {
+            Set<Long> bucket = buckets.get(bucketKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long candidate : bucket) {
+                if (candidates.size() >= maxCandidates) {
+                    break;
+                }
+                if (!candidate.equals(id)) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+
+        Map<Long, Double> similarityById = new HashMap<>();
+        candidates.forEach(candidate -> {
+            int[] candidateSignature = signatures.get(candidate);
+            if (candidateSignature != null) {
+                similarityById.put(candidate, MinHasher.similarity(signature, candidateSignature));
+            }
+        });
+        return similarityById.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()))
+            .limit(count)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    //구간 번호를 위 32비트에, 구간 값들의 해시를 아래 32비트에 둡니다. 해시가 겹치면 후보가 조금 늘 뿐 결과는 서명 비교로 걸러집니다.
+    private long bucketKey(int[] signature, int band) {
+        int from = band * rows;
+        int hash = Arrays.hashCode(Arrays.copyOfRange(signature, from, from + rows));
+        return ((long) band << 32) | (hash & 0xffffffffL);
+    }
+}
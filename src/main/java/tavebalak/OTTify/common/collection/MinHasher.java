@@ -0,0 +1,127 @@
+package tavebalak.OTTify.common.collection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+// 특징 집합의 MinHash 서명을 만듭니다. 두 서명에서 값이 같은 자리의 비율이 두 집합의 Jaccard 유사도 추정값입니다.
+// 해시 함수는 고정된 seed 로 만들므로 서버가 다르거나 다시 떠도 같은 집합이면 같은 서명이 나옵니다.
+public final class MinHasher {
+
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x0771F1L);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private MinHasher() {
+    }
+
+    // 특징이 하나도 없으면 null 을 돌려줍니다. 빈 서명끼리는 모든 자리가 같아 유사도가 1 로 나오기 때문입니다.
+    public static int[] signature(Collection<String> features) {
+        if (features.isEmpty()) {
+            return null;
+        }
+
+        int[] signature = emptySignature();
+        for (String feature : features) {
+            add(signature, hash(feature));
+        }
+        return signature;
+    }
+
+    // featureHash 로 만든 특징 값 앞 count 개의 서명입니다. 특징마다 문자열을 만들지 않아도 되므로 특징이 많을 때 씁니다.
+    public static int[] signature(long[] featureHashes, int count) {
+        if (count == 0) {
+            return null;
+        }
+
+        int[] signature = emptySignature();
+        for (int i = 0; i < count; i++) {
+            add(signature, featureHashes[i]);
+        }
+        return signature;
+    }
+
+    // 특징 종류와 id 를 64비트 값으로 바꿉니다. 종류가 다르면 id 가 같아도 다른 특징입니다.
+    public static long featureHash(int kind, long id) {
+        return mix(mix(kind + 0x9e3779b97f4a7c15L) ^ id);
+    }
+
+    // 두 집합의 합집합 서명입니다. 자리마다 작은 값을 고르면 되므로 나중에 알게 된 특징을 원래 특징 없이 더할 수 있습니다.
+    public static int[] union(int[] signature, int[] other) {
+        if (signature == null) {
+            return other;
+        }
+        if (other == null) {
+            return signature;
+        }
+        int[] union = new int[SIGNATURE_LENGTH];
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            union[i] = Math.min(signature[i], other[i]);
+        }
+        return union;
+    }
+
+    public static double similarity(int[] signature, int[] other) {
+        int same = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (signature[i] == other[i]) {
+                same++;
+            }
+        }
+        return (double) same / SIGNATURE_LENGTH;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_LENGTH * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static int[] emptySignature() {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    private static void add(int[] signature, long base) {
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            int value = (int) (mix(base ^ SEEDS[i]) >>> 33);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+
+    //FNV-1a 로 문자열을 64비트로 만든 뒤 한번 더 섞습니다.
+    private static long hash(String feature) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -4,7 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
+import tavebalak.OTTify.genre.service.GenreProgramIndex;
+import tavebalak.OTTify.genre.service.GenreRegistry;
 import tavebalak.OTTify.genre.service.GenreService;
+import tavebalak.OTTify.program.service.OttRegistry;
+import tavebalak.OTTify.program.service.ProgramAvailabilityIndex;
+import tavebalak.OTTify.program.service.ProgramGenreRatingStore;
+import tavebalak.OTTify.program.service.ProgramIdSampler;
+import tavebalak.OTTify.program.service.ProgramLeaderboard;
+import tavebalak.OTTify.program.service.SimilarProgramIndex;
+import tavebalak.OTTify.review.service.ReviewTagRegistry;
 import tavebalak.OTTify.review.service.ReviewTagService;
 
 @Component
@@ -12,10 +21,31 @@ import tavebalak.OTTify.review.service.ReviewTagService;
 public class OpenApiDataLoader implements ApplicationRunner {
     private final GenreService genreService;
     private final ReviewTagService reviewTagService;
+    private final GenreRegistry genreRegistry;
+    private final OttRegistry ottRegistry;
+    private final ProgramIdSampler programIdSampler;
+    private final GenreProgramIndex genreProgramIndex;
+    private final ProgramLeaderboard programLeaderboard;
+    private final ProgramAvailabilityIndex programAvailabilityIndex;
+    private final SimilarProgramIndex similarProgramIndex;
+    private final ProgramGenreRatingStore programGenreRatingStore;
+    private final ReviewTagRegistry reviewTagRegistry;
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
         genreService.saveAllGenre();
+        genreRegistry.reload();
+        ottRegistry.reload();
+        programIdSampler.reload();
+        genreProgramIndex.reload();
+        programLeaderboard.reload();
+        programAvailabilityIndex.reload();
+        similarProgramIndex.reload();
+        //프로그램 장르별 별점 집계는 --repair-program-genre-ratings 로 띄운 서버 한대에서만 다시 계산합니다.
+        if (args.containsOption("repair-program-genre-ratings")) {
+            programGenreRatingStore.repairAll();
+        }
         reviewTagService.basicReviewTagSave();
+        reviewTagRegistry.reload();
     }
 }
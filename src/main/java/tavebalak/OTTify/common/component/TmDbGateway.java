@@ -0,0 +1,129 @@
+package tavebalak.OTTify.common.component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+import tavebalak.OTTify.error.ErrorCode;
+import tavebalak.OTTify.error.exception.TooManyRequestsException;
+
+// TMDB open api 로 가는 모든 GET 요청은 이 컴포넌트를 거칩니다.
+// 1. 같은 GET 요청이 이미 진행 중이면 새로 요청하지 않고 진행 중인 요청의 결과를 함께 받습니다.
+// 2. 서버 전체에서 초당 요청 수를 token bucket 으로 제한합니다.
+//    토큰이 부족하면 토큰이 생길 때까지 기다리고, 기다려야 하는 시간이 max-wait 보다 길면 요청을 거절합니다.
+@Slf4j
+@Component
+public class TmDbGateway {
+
+    private final WebClient webClient;
+    private final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
+    private final Map<String, Mono<?>> inFlightRequests = new ConcurrentHashMap<>();
+
+    // token bucket 을 다음 요청이 들어갈 수 있는 시각(theoretical arrival time)으로 표현합니다.
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final long maxWaitNanos;
+    private long theoreticalArrivalNanos = System.nanoTime();
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TmDbGateway(WebClient webClient, MeterRegistry meterRegistry,
+        @Value("${tmdb.rate-limit.permits-per-second:40}") int permitsPerSecond,
+        @Value("${tmdb.rate-limit.burst:40}") int burst,
+        @Value("${tmdb.rate-limit.max-wait-millis:2000}") long maxWaitMillis) {
+        this.webClient = webClient;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+        this.burstToleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        registerCounter(meterRegistry, "requested", requested);
+        registerCounter(meterRegistry, "coalesced", coalesced);
+        registerCounter(meterRegistry, "throttled", throttled);
+        registerCounter(meterRegistry, "rejected", rejected);
+    }
+
+    public <T> Mono<T> get(Class<T> responseType, String uriTemplate, Object... uriVariables) {
+        String requestKey = responseType.getName() + " "
+            + uriBuilderFactory.expand(uriTemplate, uriVariables);
+
+        return Mono.defer(() -> {
+            AtomicReference<Mono<?>> createdRequest = new AtomicReference<>();
+            Mono<?> sharedRequest = inFlightRequests.computeIfAbsent(requestKey, key -> {
+                Mono<?> request = rateLimited(webClient.get()
+                    .uri(uriTemplate, uriVariables)
+                    .retrieve()
+                    .bodyToMono(responseType))
+                    .doFinally(signalType -> inFlightRequests.remove(key, createdRequest.get()))
+                    .cache();
+                createdRequest.set(request);
+                return request;
+            });
+
+            if (createdRequest.get() == null) {
+                coalesced.increment();
+            }
+            return sharedRequest.cast(responseType);
+        });
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private <T> Mono<T> rateLimited(Mono<T> request) {
+        return Mono.defer(() -> {
+            requested.increment();
+            long waitNanos = reserve();
+            if (waitNanos < 0) {
+                rejected.increment();
+                log.warn("tmdb request rejected by rate limit");
+                return Mono.error(new TooManyRequestsException(ErrorCode.TMDB_RATE_LIMITED));
+            }
+            if (waitNanos > 0) {
+                throttled.increment();
+                return Mono.delay(Duration.ofNanos(waitNanos)).then(request);
+            }
+            return request;
+        });
+    }
+
+    // 토큰 하나를 예약하고 기다려야 하는 시간을 반환합니다. 최대 대기 시간을 넘으면 예약하지 않고 -1 을 반환합니다.
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        long arrival = Math.max(theoreticalArrivalNanos, now);
+        long waitNanos = arrival - burstToleranceNanos - now;
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        theoreticalArrivalNanos = arrival + intervalNanos;
+        return Math.max(0, waitNanos);
+    }
+
+    private void registerCounter(MeterRegistry meterRegistry, String result, LongAdder counter) {
+        FunctionCounter.builder("tmdb.gateway.requests", counter, LongAdder::sum)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -26,6 +26,7 @@ public class CacheConfig {
                     Caffeine.newBuilder()
                         .expireAfterWrite(cache.getExpiredAfterWrite(), TimeUnit.SECONDS)
                         .maximumSize(cache.getMaximumSize())
+                        .recordStats()
                         .build()
                 )
             )
@@ -0,0 +1,29 @@
+package tavebalak.OTTify.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tavebalak.OTTify.common.datasource.ConnectionHoldTimeDataSource;
+
+@Configuration
+public class DataSourceMetricsConfig {
+
+    // DataSource 를 감싸서 요청 경로별 커넥션 점유 시간을 기록합니다.
+    @Bean
+    public static BeanPostProcessor connectionHoldTimeDataSourcePostProcessor(
+        ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource((DataSource) bean,
+                        meterRegistryProvider);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package tavebalak.OTTify.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // 추천 목록을 만드는 스레드입니다. 밀려 있는 요청이 queue-capacity 를 넘으면 버리고, 그 사용자는 다음 방문 때 다시 요청합니다.
+    @Bean
+    public ThreadPoolTaskExecutor recommendSlateExecutor(
+        @Value("${recommend.slate.pool-size:2}") int poolSize,
+        @Value("${recommend.slate.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("recommend-slate-");
+        return executor;
+    }
+}
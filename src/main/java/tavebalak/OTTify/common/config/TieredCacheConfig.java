@@ -0,0 +1,36 @@
+package tavebalak.OTTify.common.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import tavebalak.OTTify.common.cache.TieredCache;
+import tavebalak.OTTify.common.constant.TieredCacheType;
+import tavebalak.OTTify.program.dto.programDetails.Response.ProgramDetailResponse;
+import tavebalak.OTTify.program.dto.programDetails.Response.ProgramProviderListResponseDto;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.personDetails.OAProgramCreditsDto;
+
+@Configuration
+@RequiredArgsConstructor
+public class TieredCacheConfig {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Bean
+    public TieredCache<ProgramDetailResponse> programDetailsCache() {
+        return new TieredCache<>(TieredCacheType.PROGRAM_DETAILS, ProgramDetailResponse.class,
+            stringRedisTemplate);
+    }
+
+    @Bean
+    public TieredCache<OAProgramCreditsDto> programCreditsCache() {
+        return new TieredCache<>(TieredCacheType.PROGRAM_CREDITS, OAProgramCreditsDto.class,
+            stringRedisTemplate);
+    }
+
+    @Bean
+    public TieredCache<ProgramProviderListResponseDto> programProvidersCache() {
+        return new TieredCache<>(TieredCacheType.PROGRAM_PROVIDERS,
+            ProgramProviderListResponseDto.class, stringRedisTemplate);
+    }
+}
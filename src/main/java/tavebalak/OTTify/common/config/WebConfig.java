@@ -1,12 +1,38 @@
 package tavebalak.OTTify.common.config;
 
+import javax.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    // open api 를 호출하는 경로는 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 open-in-view 에서 제외합니다.
+    private static final String[] TMDB_PATHS = {
+        "/api/v1/program/trending",
+        "/api/v1/program/search",
+        "/api/v1/movie/search",
+        "/api/v1/tv/search",
+        "/api/v1/program/*/details"
+    };
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor openInViewInterceptor =
+            new OpenEntityManagerInViewInterceptor();
+        openInViewInterceptor.setEntityManagerFactory(entityManagerFactory);
+
+        registry.addWebRequestInterceptor(openInViewInterceptor)
+            .excludePathPatterns(TMDB_PATHS);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // cors를 적용할 spring서버의 url 패턴.
@@ -6,7 +6,13 @@ import lombok.Getter;
 public enum CacheType {
 
     PROGRAM_TRENDING("programTrending", 60 * 60, 100),
-    DISCUSSION_SUBJECT("discussionSubject", 60 * 60 * 24 * 7, 100);
+    PROGRAM_SEARCH("programSearch", 60 * 10, 1000),
+    PROGRAM_SEARCH_TV("programSearchTv", 60 * 10, 3000),
+    PROGRAM_SEARCH_MOVIE("programSearchMovie", 60 * 10, 3000),
+    DISCUSSION_SUBJECT("discussionSubject", 60 * 60 * 24 * 7, 100),
+    EXCLUDED_PROGRAMS("excludedPrograms", 30, 10000),
+    RECOMMEND_SLATE("recommendSlate", 60 * 60 * 6, 10000),
+    PROGRAM_GENRE_RATINGS("programGenreRatings", 60 * 10, 10000);
 
     CacheType(String cacheName, int expiredAfterWrite, int maximumSize) {
         this.cacheName = cacheName;
@@ -0,0 +1,25 @@
+package tavebalak.OTTify.common.constant;
+
+import lombok.Getter;
+
+@Getter
+public enum TieredCacheType {
+
+    // 프로그램 상세 정보, 배우/감독 정보는 거의 바뀌지 않고 provider 는 하루 단위로 바뀝니다.
+    PROGRAM_DETAILS("programDetails", 60 * 10, 60 * 60 * 24, 1000),
+    PROGRAM_CREDITS("programCredits", 60 * 30, 60 * 60 * 24 * 7, 1000),
+    PROGRAM_PROVIDERS("programProviders", 60 * 10, 60 * 60 * 6, 1000);
+
+    TieredCacheType(String cacheName, int localExpiredAfterWrite, int remoteExpiredAfterWrite,
+        int maximumSize) {
+        this.cacheName = cacheName;
+        this.localExpiredAfterWrite = localExpiredAfterWrite;
+        this.remoteExpiredAfterWrite = remoteExpiredAfterWrite;
+        this.maximumSize = maximumSize;
+    }
+
+    private String cacheName;
+    private int localExpiredAfterWrite;
+    private int remoteExpiredAfterWrite;
+    private int maximumSize;
+}
@@ -0,0 +1,77 @@
+package tavebalak.OTTify.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+// 커넥션을 빌려서 반납할 때까지 걸린 시간을 요청 경로(uri 패턴)별로 db.connection.hold 타이머에 기록합니다.
+// 요청 스레드가 아닌 곳(스케줄러 등)에서 빌린 커넥션은 uri 를 none 으로 기록합니다.
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    private static final String METRIC_NAME = "db.connection.hold";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource,
+        ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        super(targetDataSource);
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return holdTimeRecording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return holdTimeRecording(super.getConnection(username, password));
+    }
+
+    private Connection holdTimeRecording(Connection connection) {
+        long borrowedAt = System.nanoTime();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                if ("close".equals(method.getName())) {
+                    record(System.nanoTime() - borrowedAt);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+
+    private void record(long holdNanos) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder(METRIC_NAME)
+            .tag("uri", currentUriPattern())
+            .register(meterRegistry)
+            .record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String currentUriPattern() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+            return "none";
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder
+            .getRequestAttributes()).getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "unknown" : pattern.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package tavebalak.OTTify.common.like;
+
+import java.util.Set;
+import lombok.Getter;
+
+// 모아둔 좋아요 수 변화를 DB 에 반영한 뒤 발행됩니다. targetIds 는 좋아요 수가 바뀐 대상 id 입니다.
+@Getter
+public class LikeCountsFlushedEvent {
+
+    private final LikeTarget target;
+    private final Set<Long> targetIds;
+
+    public LikeCountsFlushedEvent(LikeTarget target, Set<Long> targetIds) {
+        this.target = target;
+        this.targetIds = Set.copyOf(targetIds);
+    }
+}
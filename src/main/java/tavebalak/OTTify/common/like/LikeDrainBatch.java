@@ -0,0 +1,23 @@
+package tavebalak.OTTify.common.like;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// DB 에 반영한 좋아요 묶음의 id 입니다. 반영과 같은 트랜잭션에서 저장하므로,
+// redis 에서 묶음을 지우기 전에 실패해 같은 묶음을 다시 꺼내도 두번 반영하지 않습니다.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class LikeDrainBatch {
+
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    private LocalDateTime createdAt;
+}
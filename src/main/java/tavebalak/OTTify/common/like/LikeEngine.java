@@ -0,0 +1,204 @@
+package tavebalak.OTTify.common.like;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 리뷰, 게시글, 답글의 좋아요를 redis 에서 처리하고 DB 에는 주기적으로 모아서 반영합니다.
+// 대상마다 좋아요를 누른 사용자 id 를 redis set 에 두고, 좋아요를 누르거나 취소하면 lua script 한번으로
+// set 을 바꾸고 좋아요 수 변화와 마지막 좋아요 상태를 hash 에 모읍니다. 분산 락이나 DB 쓰기를 기다리지 않습니다.
+// set 이 없으면 DB 에서 한번 읽어 채웁니다. 0 번 사용자 id 는 DB 에서 채운 set 인지 표시합니다.
+// 모인 변화는 drain-interval 마다 묶음 id 를 붙여 batch update 로 DB 에 한번만 반영하므로 DB 의 좋아요 수와 좋아요 목록은 그만큼 늦게 바뀝니다.
+// 좋아요 수 컬럼은 엔티티를 저장할 때 쓰지 않으므로(updatable = false) 반영한 변화가 덮어써지지 않습니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeEngine {
+
+    private static final String KEY_PREFIX = "like:";
+    private static final String LOADED_MEMBER = "0";
+    private static final int NOT_LOADED = -1;
+
+    // 좋아요가 있으면 취소하고 없으면 누릅니다. 누른 뒤 상태(1: 좋아요, 0: 취소)를 돌려주고, set 이 없으면 -1 을 돌려줍니다.
+    static final RedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end "
+            + "local liked = 1 "
+            + "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then "
+            + "  redis.call('SREM', KEYS[1], ARGV[1]) liked = 0 "
+            + "  redis.call('HINCRBY', KEYS[2], ARGV[2], -1) "
+            + "else "
+            + "  redis.call('SADD', KEYS[1], ARGV[1]) "
+            + "  redis.call('HINCRBY', KEYS[2], ARGV[2], 1) "
+            + "end "
+            + "redis.call('HSET', KEYS[3], ARGV[2] .. ':' .. ARGV[1], liked) "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+            + "return liked", Long.class);
+
+    // 다른 요청이 먼저 채웠으면 그대로 둡니다.
+    static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+            + "for i = 2, #ARGV do redis.call('SADD', KEYS[1], ARGV[i]) end "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+            + "return 1", Long.class);
+
+    // 모인 hash 두개를 draining key 로 옮기고 묶음 id 를 붙여 꺼냅니다. 지난번에 다 반영하지 못해 남은 묶음이 있으면 그것부터 다시 꺼냅니다.
+    // {묶음 id, 좋아요 수 변화 칸 수, 좋아요 수 변화..., 좋아요 상태...} 순서로 돌려주고, 꺼낼 것이 없으면 빈 목록을 돌려줍니다.
+    @SuppressWarnings("rawtypes")
+    static final RedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('EXISTS', KEYS[5]) == 0 then "
+            + "  if redis.call('EXISTS', KEYS[1]) == 0 and redis.call('EXISTS', KEYS[2]) == 0 then "
+            + "    return {} "
+            + "  end "
+            + "  if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('RENAME', KEYS[1], KEYS[3]) end "
+            + "  if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('RENAME', KEYS[2], KEYS[4]) end "
+            + "  redis.call('SET', KEYS[5], ARGV[1]) "
+            + "end "
+            + "local deltas = redis.call('HGETALL', KEYS[3]) "
+            + "local result = {redis.call('GET', KEYS[5]), tostring(#deltas)} "
+            + "for _, value in ipairs(deltas) do table.insert(result, value) end "
+            + "for _, value in ipairs(redis.call('HGETALL', KEYS[4])) do table.insert(result, value) end "
+            + "return result", List.class);
+
+    // 묶음 key 가 아직 반영한 묶음 id 일 때만 draining key 와 묶음 key 를 지웁니다. 지웠으면 1, 다른 묶음이면 0 을 돌려줍니다.
+    // 다른 서버가 같은 묶음을 먼저 지우고 새 묶음을 꺼냈다면 그 묶음을 지우지 않습니다.
+    static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('GET', KEYS[5]) ~= ARGV[1] then return 0 end "
+            + "redis.call('DEL', KEYS[3], KEYS[4], KEYS[5]) "
+            + "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LikeJdbcRepository likeJdbcRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${like.set-ttl-days:7}")
+    private long setTtlDays;
+
+    // 좋아요를 누르거나 취소하고, 누른 뒤 좋아요 상태인지 돌려줍니다.
+    public boolean toggle(LikeTarget target, Long targetId, Long userId) {
+        String setKey = setKey(target, targetId);
+        List<String> keys = List.of(setKey, deltaKey(target), changesKey(target));
+        String ttlSeconds = String.valueOf(Duration.ofDays(setTtlDays).getSeconds());
+
+        Long liked = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys,
+            String.valueOf(userId), String.valueOf(targetId), ttlSeconds);
+        if (liked != null && liked == NOT_LOADED) {
+            load(setKey, target, targetId, ttlSeconds);
+            liked = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys,
+                String.valueOf(userId), String.valueOf(targetId), ttlSeconds);
+        }
+        return liked != null && liked == 1;
+    }
+
+    private void load(String setKey, LikeTarget target, Long targetId, String ttlSeconds) {
+        List<String> args = new ArrayList<>();
+        args.add(ttlSeconds);
+        args.add(LOADED_MEMBER);
+        likeJdbcRepository.findUserIds(target, targetId)
+            .forEach(userId -> args.add(String.valueOf(userId)));
+        stringRedisTemplate.execute(LOAD_SCRIPT, List.of(setKey), args.toArray());
+    }
+
+    // 모인 좋아요 변화를 묶음 단위로 DB 에 반영합니다. 반영한 묶음 id 를 DB 에 함께 저장하므로,
+    // 반영 뒤 redis 에서 묶음을 지우지 못해 다음 주기에 같은 묶음을 다시 꺼내도 두번 더하지 않습니다.
+    // 묶음은 묶음 id 가 같을 때만 지우므로, 같은 묶음을 함께 꺼낸 다른 서버가 그 뒤에 꺼낸 새 묶음을 지우지 않습니다.
+    // 반영에 실패하면 묶음이 redis 에 남아 다음 주기에 다시 반영합니다. 서버가 내려갈 때도 남은 변화를 반영합니다.
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${like.drain-interval:5000}")
+    public void drain() {
+        for (LikeTarget target : LikeTarget.values()) {
+            try {
+                drain(target);
+            } catch (RuntimeException e) {
+                log.warn("like drain failed. target={}", target, e);
+            }
+        }
+    }
+
+    private void drain(LikeTarget target) {
+        List<String> keys = List.of(deltaKey(target), changesKey(target),
+            drainingKey(deltaKey(target)), drainingKey(changesKey(target)), batchKey(target));
+        List<String> drained = drainScript(keys);
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        String batchId = drained.get(0);
+        int deltaEnd = 2 + Integer.parseInt(drained.get(1));
+        Map<Long, Long> deltaByTargetId = new HashMap<>();
+        for (int i = 2; i + 1 < deltaEnd; i += 2) {
+            deltaByTargetId.put(Long.valueOf(drained.get(i)), Long.valueOf(drained.get(i + 1)));
+        }
+        Map<Long, Map<Long, Boolean>> likedByUserIdByTargetId = new HashMap<>();
+        for (int i = deltaEnd; i + 1 < drained.size(); i += 2) {
+            String field = drained.get(i);
+            int separator = field.indexOf(':');
+            likedByUserIdByTargetId
+                .computeIfAbsent(Long.valueOf(field.substring(0, separator)), key -> new HashMap<>())
+                .put(Long.valueOf(field.substring(separator + 1)), "1".equals(drained.get(i + 1)));
+        }
+
+        if (!likeJdbcRepository.applyBatch(target, batchId, likedByUserIdByTargetId,
+            deltaByTargetId)) {
+            log.info("like batch already applied. target={}, batchId={}", target, batchId);
+        }
+        Long completed = stringRedisTemplate.execute(COMPLETE_SCRIPT, keys, batchId);
+        if (completed == null || completed == 0) {
+            log.info("like batch already completed. target={}, batchId={}", target, batchId);
+        }
+        if (!deltaByTargetId.isEmpty()) {
+            applicationEventPublisher.publishEvent(
+                new LikeCountsFlushedEvent(target, deltaByTargetId.keySet()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> drainScript(List<String> keys) {
+        List<String> drained = stringRedisTemplate.execute(DRAIN_SCRIPT, keys,
+            UUID.randomUUID().toString());
+        return drained == null ? List.of() : drained;
+    }
+
+    // 반영한 묶음 id 는 같은 묶음을 다시 꺼낼 수 있는 동안만 있으면 되므로 하루가 지나면 지웁니다.
+    @Scheduled(cron = "${like.batch-cleanup-cron:0 50 4 * * *}")
+    public void deleteOldBatches() {
+        try {
+            likeJdbcRepository.deleteBatchesBefore(LocalDateTime.now().minusDays(1));
+        } catch (RuntimeException e) {
+            log.warn("like batch cleanup failed", e);
+        }
+    }
+
+    private String setKey(LikeTarget target, Long targetId) {
+        return KEY_PREFIX + target.key() + ":" + targetId;
+    }
+
+    private String deltaKey(LikeTarget target) {
+        return KEY_PREFIX + target.key() + ":delta";
+    }
+
+    private String changesKey(LikeTarget target) {
+        return KEY_PREFIX + target.key() + ":changes";
+    }
+
+    private String drainingKey(String key) {
+        return key + ":draining";
+    }
+
+    private String batchKey(LikeTarget target) {
+        return KEY_PREFIX + target.key() + ":draining:batch";
+    }
+}
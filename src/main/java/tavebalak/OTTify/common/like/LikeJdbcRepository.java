@@ -0,0 +1,88 @@
+package tavebalak.OTTify.common.like;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class LikeJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findUserIds(LikeTarget target, Long targetId) {
+        return jdbcTemplate.queryForList(
+            "select user_id from " + target.getLikeTable()
+                + " where " + target.getIdColumn() + " = ?", Long.class, targetId);
+    }
+
+    // 좋아요 묶음 하나를 한 트랜잭션으로 반영합니다. 이미 반영한 묶음이면 아무것도 하지 않고 false 를 돌려줍니다.
+    @Transactional
+    public boolean applyBatch(LikeTarget target, String batchId,
+        Map<Long, Map<Long, Boolean>> likedByUserIdByTargetId, Map<Long, Long> deltaByTargetId) {
+        int inserted = jdbcTemplate.update(
+            "insert ignore into like_drain_batch (batch_id, created_at) values (?, ?)",
+            batchId, Timestamp.valueOf(LocalDateTime.now()));
+        if (inserted == 0) {
+            return false;
+        }
+        saveLikes(target, likedByUserIdByTargetId);
+        addCounts(target, deltaByTargetId);
+        return true;
+    }
+
+    public int deleteBatchesBefore(LocalDateTime createdAt) {
+        return jdbcTemplate.update("delete from like_drain_batch where created_at < ?",
+            Timestamp.valueOf(createdAt));
+    }
+
+    // 대상 id 별 좋아요 수 변화를 한번에 더합니다. 음수가 되지 않도록 0 에서 멈춥니다.
+    private void addCounts(LikeTarget target, Map<Long, Long> deltaByTargetId) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        deltaByTargetId.forEach((targetId, delta) -> {
+            if (delta != 0) {
+                batchArgs.add(new Object[]{delta, targetId});
+            }
+        });
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        String column = target.getCountColumn();
+        jdbcTemplate.batchUpdate("update " + target.getTable()
+            + " set " + column + " = greatest(" + column + " + ?, 0)"
+            + " where " + target.getIdColumn() + " = ?", batchArgs);
+    }
+
+    // (대상 id, 사용자 id) 별 마지막 좋아요 상태를 저장합니다. 같은 줄이 두번 들어가지 않도록 지운 뒤 좋아요인 것만 다시 넣습니다.
+    // 그 사이 지워진 대상은 넣지 않도록 대상 테이블에서 골라 넣습니다.
+    private void saveLikes(LikeTarget target, Map<Long, Map<Long, Boolean>> likedByUserIdByTargetId) {
+        List<Object[]> deleteArgs = new ArrayList<>();
+        List<Object[]> insertArgs = new ArrayList<>();
+        likedByUserIdByTargetId.forEach((targetId, likedByUserId) ->
+            likedByUserId.forEach((userId, liked) -> {
+                deleteArgs.add(new Object[]{targetId, userId});
+                if (liked) {
+                    insertArgs.add(new Object[]{userId, targetId});
+                }
+            }));
+
+        if (!deleteArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate("delete from " + target.getLikeTable()
+                + " where " + target.getIdColumn() + " = ? and user_id = ?", deleteArgs);
+        }
+        if (!insertArgs.isEmpty()) {
+            String columns = target.getIdColumn() + target.getLikeExtraColumns();
+            jdbcTemplate.batchUpdate("insert into " + target.getLikeTable()
+                + " (user_id, " + columns + ") select ?, " + columns
+                + " from " + target.getTable() + " where " + target.getIdColumn() + " = ?",
+                insertArgs);
+        }
+    }
+}
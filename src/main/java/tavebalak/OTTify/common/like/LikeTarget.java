@@ -0,0 +1,24 @@
+package tavebalak.OTTify.common.like;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 좋아요를 누를 수 있는 대상입니다. 대상 테이블, 좋아요 수 컬럼, 누가 눌렀는지 저장하는 테이블을 함께 둡니다.
+// 답글 좋아요는 답글이 달린 게시글 id 도 함께 저장하므로 likeExtraColumns 에 둡니다.
+@Getter
+@RequiredArgsConstructor
+public enum LikeTarget {
+    REVIEW("review", "review_id", "like_counts", "liked_review", ""),
+    COMMUNITY("community", "community_id", "like_count", "liked_community", ""),
+    REPLY("reply", "reply_id", "like_count", "liked_reply", ", community_id");
+
+    private final String table;
+    private final String idColumn;
+    private final String countColumn;
+    private final String likeTable;
+    private final String likeExtraColumns;
+
+    public String key() {
+        return name().toLowerCase();
+    }
+}
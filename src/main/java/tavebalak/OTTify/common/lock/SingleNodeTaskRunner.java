@@ -0,0 +1,44 @@
+package tavebalak.OTTify.common.lock;
+
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+// 여러 서버에서 도는 스케줄 작업을 redis 잠금을 얻은 한 서버에서만 실행합니다.
+// 잠금을 기다리지 않으므로 다른 서버가 실행 중이면 이번 주기는 건너뜁니다.
+// DistributeLock 과 달리 작업을 트랜잭션으로 감싸지 않으므로 open api 를 기다리는 동안 DB 커넥션을 잡지 않습니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SingleNodeTaskRunner {
+
+    private final RedissonClient redissonClient;
+
+    // 작업을 실행했으면 true 입니다. 잠금을 얻은 서버가 내려가도 leaseMinutes 가 지나면 다른 서버가 이어서 실행합니다.
+    public boolean run(String lockKey, long leaseMinutes, Runnable task) {
+        RLock lock = redissonClient.getLock(lockKey);
+        try {
+            if (!lock.tryLock(0, leaseMinutes, TimeUnit.MINUTES)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("scheduled task lock failed. key={}", lockKey, e);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
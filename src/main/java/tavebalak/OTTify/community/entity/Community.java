@@ -49,6 +49,8 @@ public class Community extends BaseEntity {
 
     private String imageUrl;
 
+    //좋아요 수는 LikeEngine 이 모아서 직접 더하므로 엔티티를 저장할 때는 쓰지 않습니다.
+    @Column(updatable = false)
     private int likeCount;
 
     private int commentCount;
@@ -89,16 +91,6 @@ public class Community extends BaseEntity {
         this.user = user;
     }
 
-    public void increaseLikeCount() {
-        this.likeCount++;
-    }
-
-    public void decreaseLikeCount() {
-        if (this.likeCount > 0) {
-            this.likeCount--;
-        }
-    }
-
     public void increaseCommentCount() {
         this.commentCount++;
     }
@@ -53,6 +53,8 @@ public class Reply extends BaseEntity {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
+    //좋아요 수는 LikeEngine 이 모아서 직접 더하므로 엔티티를 저장할 때는 쓰지 않습니다.
+    @Column(updatable = false)
     private int likeCount;
 
     public void addReply(Reply reply) {
@@ -85,15 +87,6 @@ public class Reply extends BaseEntity {
         this.content = c.getComment();
     }
 
-    public void increaseLikeCount() {
-        this.likeCount++;
-    }
-
-    public void decreaseLikeCount() {
-        if (this.likeCount > 0) {
-            this.likeCount--;
-        }
-    }
     public void cancelChildReply(Reply reply) {
         if (child.contains(reply)) {
             child.remove(reply);
@@ -14,7 +14,8 @@ import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import tavebalak.OTTify.common.lock.DistributeLock;
+import tavebalak.OTTify.common.like.LikeEngine;
+import tavebalak.OTTify.common.like.LikeTarget;
 import tavebalak.OTTify.common.s3.AWSS3Service;
 import tavebalak.OTTify.community.dto.request.CommunitySubjectCreateDTO;
 import tavebalak.OTTify.community.dto.request.CommunitySubjectEditDTO;
@@ -37,10 +38,7 @@ import tavebalak.OTTify.error.exception.UnauthorizedException;
 import tavebalak.OTTify.oauth.jwt.SecurityUtil;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.repository.ProgramRepository;
-import tavebalak.OTTify.user.entity.LikedCommunity;
-import tavebalak.OTTify.user.entity.LikedReply;
 import tavebalak.OTTify.user.entity.User;
-import tavebalak.OTTify.user.repository.LikedCommunityRepository;
 import tavebalak.OTTify.user.repository.LikedReplyRepository;
 import tavebalak.OTTify.user.repository.UserRepository;
 
@@ -54,9 +52,9 @@ public class CommunityServiceImpl implements CommunityService {
     private final ProgramRepository programRepository;
     private final ReplyRepository replyRepository;
     private final UserRepository userRepository;
-    private final LikedCommunityRepository likedCommunityRepository;
     private final LikedReplyRepository likedReplyRepository;
     private final AWSS3Service awss3Service;
+    private final LikeEngine likeEngine;
     private static final String AWS_S3_DISCUSSION_DIR_NAME = "discussion-images";
 
     @Override
@@ -248,119 +246,25 @@ public class CommunityServiceImpl implements CommunityService {
             .build();
     }
 
+    //좋아요는 LikeEngine 이 redis 에서 처리하고 좋아요 수는 DB 에 모아서 반영합니다.
     @Override
-    @DistributeLock(key = "T(java.lang.String).format('LikeSubject%d', #subjectId)")
     public void likeSubject(Long subjectId) {
         User savedUser = getUser();
         Community findCommunity = communityRepository.findById(subjectId).orElseThrow(() ->
             new NotFoundException(ErrorCode.COMMUNITY_NOT_FOUND));
 
-        likedCommunityRepository.findByCommunityIdAndUserId(findCommunity.getId(),
-            savedUser.getId()).ifPresentOrElse(
-            entity -> cancelLikeCommunity(entity, findCommunity),
-            () -> postLikeCommunity(savedUser, findCommunity)
-        );
-    }
-
-    private void postLikeCommunity(User savedUser,
-        Community findCommunity) {
-        saveLikeCommunity(savedUser, findCommunity);
-        increaseLikeCountForCommunity(findCommunity);
-    }
-
-    private void saveLikeCommunity(User savedUser, Community findCommunity) {
-        likedCommunityRepository.save(
-            builderLikeCommunity(savedUser, findCommunity)
-        );
-    }
-
-    private void increaseLikeCountForCommunity(Community findCommunity) {
-        findCommunity.increaseLikeCount();
-    }
-
-    private static LikedCommunity builderLikeCommunity(User savedUser, Community findCommunity) {
-        return LikedCommunity.builder()
-            .user(savedUser)
-            .community(findCommunity)
-            .build();
-    }
-
-    private void cancelLikeCommunity(
-        LikedCommunity entity, Community findCommunity) {
-        deleteLikeCommunity(entity);
-        decreaseLikeCountForCommunity(findCommunity);
-    }
-
-    private static void decreaseLikeCountForCommunity(Community findCommunity) {
-        findCommunity.decreaseLikeCount();
+        likeEngine.toggle(LikeTarget.COMMUNITY, findCommunity.getId(), savedUser.getId());
     }
 
-    private void deleteLikeCommunity(LikedCommunity entity) {
-        likedCommunityRepository.delete(entity);
-    }
-
-    @DistributeLock(key = "T(java.lang.String).format('LikeSub%d', #id)")
-    public void likeSubjectForTest(User user, Community community, Long id) {
-        Community findCommunity = communityRepository.findById(id).orElseThrow(() ->
-            new NotFoundException(ErrorCode.COMMUNITY_NOT_FOUND));
-        likedCommunityRepository.findByCommunityIdAndUserId(community.getId(),
-            user.getId()).ifPresentOrElse(
-            entity -> cancelLikeCommunity(entity, findCommunity),
-            () -> postLikeCommunity(user, community)
-        );
-    }
-
-
     @Override
     public void likeComment(Long subjectId, Long commentId) {
         User savedUser = getUser();
-        Community community = communityRepository.findById(subjectId)
+        communityRepository.findById(subjectId)
             .orElseThrow(() -> new NotFoundException(ErrorCode.COMMUNITY_NOT_FOUND));
         Reply findReply = replyRepository.findById(commentId)
             .orElseThrow(() -> new NotFoundException(ErrorCode.REPLY_NOT_FOUND));
 
-        likedReplyRepository.findByUserIdAndReplyIdAndCommunityId(savedUser.getId(),
-                findReply.getId(), community.getId())
-            .ifPresentOrElse(entity -> cancelLikeReply(entity, findReply),
-                () -> postLikeReply(savedUser, community, findReply)
-            );
-
-    }
-
-    private void postLikeReply(User savedUser, Community community,
-        Reply findReply) {
-        saveLikeReply(savedUser, community, findReply);
-        increaseLikeCountForReply(findReply);
-    }
-
-    private static void increaseLikeCountForReply(Reply findReply) {
-        findReply.increaseLikeCount();
-    }
-
-    private void saveLikeReply(User savedUser, Community community, Reply findReply) {
-        likedReplyRepository.save(builderLikedReply(savedUser, community, findReply));
-    }
-
-    private void cancelLikeReply(LikedReply entity, Reply findReply) {
-        deleteLikeReply(entity);
-        decreaseLikeCountForReply(findReply);
-    }
-
-    private static void decreaseLikeCountForReply(Reply findReply) {
-        findReply.decreaseLikeCount();
-    }
-
-    private void deleteLikeReply(LikedReply entity) {
-        likedReplyRepository.delete(entity);
-    }
-
-    private static LikedReply builderLikedReply(User savedUser, Community community,
-        Reply findReply) {
-        return LikedReply.builder()
-            .user(savedUser)
-            .community(community)
-            .reply(findReply)
-            .build();
+        likeEngine.toggle(LikeTarget.REPLY, findReply.getId(), savedUser.getId());
     }
 
     @Override
@@ -21,6 +21,7 @@ public enum ErrorCode {
     CAN_NOT_DELETE_OTHER_SUBJECT_REQUEST("다른 사람의 게시물을 삭제할 수 없습니다."),
     CAN_NOT_OTHER_COMMENT_REWRITE_REQUEST("다른 사람의 댓글을 수정할 수 없습니다."),
     CAN_NOT_OTHER_COMMENT_DELETE_REQUEST("다른 사람의 댓글을 삭제할 수 없습니다."),
+    INVALID_REVIEW_CURSOR("리뷰 목록의 커서가 올바르지 않습니다."),
 
     /**
      * 401 Unauthorized
@@ -63,6 +64,11 @@ public enum ErrorCode {
     CONFLICT("이미 존재하는 리소스입니다."),
     DUPLICATE_NICKNAME("이미 존재하는 닉네임입니다."),
 
+    /**
+     * 429 Too Many Requests
+     */
+    TMDB_RATE_LIMITED("프로그램 정보 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+
     /**
      * 500 Internal Server Error
      */
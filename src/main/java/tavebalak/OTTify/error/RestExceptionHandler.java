@@ -18,6 +18,7 @@ import tavebalak.OTTify.error.exception.InternalServerErrorException;
 import tavebalak.OTTify.error.exception.InterruptedException;
 import tavebalak.OTTify.error.exception.NoSuchElementException;
 import tavebalak.OTTify.error.exception.NotFoundException;
+import tavebalak.OTTify.error.exception.TooManyRequestsException;
 import tavebalak.OTTify.error.exception.UnauthorizedException;
 
 @Slf4j
@@ -105,6 +106,15 @@ public class RestExceptionHandler {
         return ErrorResponse.error(exception.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ErrorResponse<String> handleTooManyRequestsException(
+        TooManyRequestsException exception,
+        HttpServletRequest request) {
+        logInfo(request, exception.getMessage());
+        return ErrorResponse.error(exception.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler(InterruptedException.class)
     public ErrorResponse<String> handlerNoSuchElementException(InterruptedException exception,
@@ -0,0 +1,12 @@
+package tavebalak.OTTify.error.exception;
+
+import lombok.Getter;
+import tavebalak.OTTify.error.ErrorCode;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(ErrorCode code) {
+        super(code.getMessage());
+    }
+}
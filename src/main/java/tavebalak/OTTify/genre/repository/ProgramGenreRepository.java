@@ -1,5 +1,6 @@
 package tavebalak.OTTify.genre.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import tavebalak.OTTify.genre.entity.ProgramGenre;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.entity.ProgramGenre;
 import tavebalak.OTTify.program.entity.Program;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,5 +22,17 @@ public interface ProgramGenreRepository extends JpaRepository<ProgramGenre, Long
     @Query("select pg from ProgramGenre pg join fetch pg.genre where pg.genre.tmDbGenreId=:genreId and pg.program.id=:programId")
     ProgramGenre findByGenreIdAndProgramIdWithFetch(@Param("genreId") Long genreId,@Param("programId") Long programId);
 
+    @Query("select pg.genre.id, pg.program.id from ProgramGenre pg")
+    List<Object[]> findAllGenreIdAndProgramId();
+
+    @Query("select pg.genre.id from ProgramGenre pg where pg.program.id=:programId")
+    List<Long> findGenreIdsByProgramId(@Param("programId") Long programId);
+
+    @Query("select pg.genre.id, pg.program.id from ProgramGenre pg where pg.program.id in :programIds")
+    List<Object[]> findGenreIdAndProgramIdByProgramIdIn(@Param("programIds") Collection<Long> programIds);
+
+    //리뷰가 있는 장르의 프로그램 id 를 평균 별점 순으로 가져옵니다.
+    @Query("select pg.program.id from ProgramGenre pg where pg.genre.id=:genreId and pg.program.reviewCount > 0 order by pg.program.averageRating desc")
+    List<Long> findTopRatedProgramIdsByGenreId(@Param("genreId") Long genreId, Pageable pageable);
 
 }
@@ -0,0 +1,54 @@
+package tavebalak.OTTify.genre.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.common.collection.AppendOnlyLongArray;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.program.event.ProgramsSavedEvent;
+
+// 장르 id -> 그 장르에 속한 프로그램 id 목록의 역색인입니다.
+// 장르별 추천에서 프로그램을 무작위로 뽑을 때 ProgramGenre 를 모두 읽어오지 않고 메모리에서 뽑습니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GenreProgramIndex {
+
+    private final ProgramGenreRepository programGenreRepository;
+
+    private volatile Map<Long, AppendOnlyLongArray> programIdsByGenreId = new ConcurrentHashMap<>();
+
+    public void reload() {
+        Map<Long, AppendOnlyLongArray> index = new ConcurrentHashMap<>();
+        List<Object[]> genreIdAndProgramIds = programGenreRepository.findAllGenreIdAndProgramId();
+        genreIdAndProgramIds.forEach(row -> index
+            .computeIfAbsent((Long) row[0], genreId -> new AppendOnlyLongArray())
+            .add((Long) row[1]));
+
+        programIdsByGenreId = index;
+        log.info("genre program index loaded {} program genres", genreIdAndProgramIds.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramsSaved(ProgramsSavedEvent event) {
+        Map<Long, AppendOnlyLongArray> index = programIdsByGenreId;
+        event.getGenreIdsByProgramId().forEach((programId, genreIds) -> genreIds.forEach(
+            genreId -> index.computeIfAbsent(genreId, id -> new AppendOnlyLongArray())
+                .add(programId)));
+    }
+
+    // 장르에 속한 프로그램 id 를 서로 다르게 최대 count 개 뽑습니다.
+    public List<Long> sample(Long genreId, int count) {
+        AppendOnlyLongArray programIds = programIdsByGenreId.get(genreId);
+        if (programIds == null) {
+            return Collections.emptyList();
+        }
+        return programIds.sample(count);
+    }
+}
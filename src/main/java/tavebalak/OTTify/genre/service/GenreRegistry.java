@@ -0,0 +1,66 @@
+package tavebalak.OTTify.genre.service;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.common.collection.LongKeyMap;
+import tavebalak.OTTify.genre.entity.Genre;
+import tavebalak.OTTify.genre.repository.GenreRepository;
+
+// 장르 테이블은 작고 거의 바뀌지 않기 때문에 메모리에 올려두고 tmDbGenreId, id 로 조회합니다.
+// 메모리에 없는 장르를 찾으면 DB 를 확인하고, DB 에 있다면 다른 곳에서 장르가 추가된 것이므로 다시 읽어옵니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GenreRegistry {
+
+    private final GenreRepository genreRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(LongKeyMap.empty(), LongKeyMap.empty());
+
+    // 장르 테이블을 다시 읽어 장르 사전을 통째로 교체합니다.
+    public void reload() {
+        List<Genre> genres = genreRepository.findAll();
+        snapshot = new Snapshot(LongKeyMap.from(genres, Genre::getTmDbGenreId),
+            LongKeyMap.from(genres, Genre::getId));
+        log.info("genre registry loaded {} genres", genres.size());
+    }
+
+    public Optional<Genre> findByTmDbGenreId(Long tmDbGenreId) {
+        if (tmDbGenreId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.byTmDbGenreId.get(tmDbGenreId))
+            .or(() -> reloadIfStored(genreRepository.findByTmDbGenreId(tmDbGenreId)));
+    }
+
+    public Optional<Genre> findById(Long genreId) {
+        if (genreId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.byId.get(genreId))
+            .or(() -> reloadIfStored(genreRepository.findById(genreId)));
+    }
+
+    public List<Genre> findAll() {
+        return snapshot.byId.values();
+    }
+
+    private Optional<Genre> reloadIfStored(Optional<Genre> storedGenre) {
+        storedGenre.ifPresent(genre -> reload());
+        return storedGenre;
+    }
+
+    private static class Snapshot {
+
+        private final LongKeyMap<Genre> byTmDbGenreId;
+        private final LongKeyMap<Genre> byId;
+
+        private Snapshot(LongKeyMap<Genre> byTmDbGenreId, LongKeyMap<Genre> byId) {
+            this.byTmDbGenreId = byTmDbGenreId;
+            this.byId = byId;
+        }
+    }
+}
@@ -2,10 +2,11 @@ package tavebalak.OTTify.genre.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import tavebalak.OTTify.common.component.TmDbGateway;
 import tavebalak.OTTify.genre.dto.OpenApiGenreListResponseDto;
 import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.repository.GenreRepository;
@@ -16,7 +17,8 @@ import tavebalak.OTTify.genre.repository.GenreRepository;
 public class GenreService {
 
     private final GenreRepository genreRepository;
-    private final WebClient webClient;
+    private final TmDbGateway tmDbGateway;
+    private final GenreRegistry genreRegistry;
 
 
     @Transactional
@@ -28,10 +30,8 @@ public class GenreService {
     }
 
     private OpenApiGenreListResponseDto getGenreListFrom(String type) {
-        return webClient.get()
-            .uri("/genre/" + type + "/list?language=ko")
-            .retrieve()
-            .bodyToMono(OpenApiGenreListResponseDto.class)
+        return tmDbGateway.get(OpenApiGenreListResponseDto.class,
+                "/genre/{type}/list?language=ko", type)
             .block();
     }
 
@@ -39,6 +39,7 @@ public class GenreService {
     public void saveGenre(OpenApiGenreListResponseDto openApiGenreListResponseDto) {
 
         Map<String, String> genreMapping = new HashMap<>();
+        AtomicBoolean changed = new AtomicBoolean(false);
 
         genreMapping.put("Action & Adventure", "액션 및 어드벤쳐");
         genreMapping.put("Kids", "유아");
@@ -60,11 +61,16 @@ public class GenreService {
             } else {
                 return genreBuilder.name(genreMapping.get(genreName)).build();
             }
-        }).forEach(g -> {
-            if (!genreRepository.existsByTmDbGenreId(g.getTmDbGenreId())) {
+        }).filter(g -> !genreRepository.existsByTmDbGenreId(g.getTmDbGenreId()))
+            .forEach(g -> {
                 genreRepository.save(g);
-            }
-        });
+                changed.set(true);
+            });
+
+        //새로운 장르가 저장되었다면 장르 사전도 다시 읽어옵니다.
+        if (changed.get()) {
+            genreRegistry.reload();
+        }
     }
 
 }
@@ -7,17 +7,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tavebalak.OTTify.genre.dto.response.GenreShowSavedDto;
 import tavebalak.OTTify.genre.dto.response.GenreShowSavedListDto;
-import tavebalak.OTTify.genre.repository.GenreRepository;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class GenreShowSavedService {
 
-    private final GenreRepository genreRepository;
+    private final GenreRegistry genreRegistry;
 
     public GenreShowSavedListDto showGenreList() {
-        List<GenreShowSavedDto> genreShowSavedDtoList = genreRepository.findAll().stream()
+        List<GenreShowSavedDto> genreShowSavedDtoList = genreRegistry.findAll().stream()
             .map(GenreShowSavedDto::new).collect(
                 Collectors.toList());
 
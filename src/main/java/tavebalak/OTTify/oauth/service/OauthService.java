@@ -14,8 +14,8 @@ import tavebalak.OTTify.common.constant.SocialType;
 import tavebalak.OTTify.error.exception.NotFoundException;
 import tavebalak.OTTify.error.exception.UnauthorizedException;
 import tavebalak.OTTify.genre.entity.UserGenre;
-import tavebalak.OTTify.genre.repository.GenreRepository;
 import tavebalak.OTTify.genre.repository.UserGenreRepository;
+import tavebalak.OTTify.genre.service.GenreRegistry;
 import tavebalak.OTTify.oauth.dto.SignUpInfoDto;
 import tavebalak.OTTify.oauth.redis.RefreshTokenService;
 import tavebalak.OTTify.program.repository.OttRepository;
@@ -40,7 +40,7 @@ public class OauthService {
     private final OttRepository ottRepository;
     private final UserSubscribingOttRepository userSubscribingOTTRepository;
     private final UserGenreRepository userGenreRepository;
-    private final GenreRepository genreRepository;
+    private final GenreRegistry genreRegistry;
     private final RefreshTokenService tokenService;
 
     @Value("${spring.security.oauth2.client.registration.naver.client-id}")
@@ -73,7 +73,7 @@ public class OauthService {
 
         UserGenre firstUserGenre = UserGenre.create(
                 user,
-                genreRepository.findById(firstGenreId)
+                genreRegistry.findById(firstGenreId)
                         .orElseThrow(() -> new NotFoundException(ENTITY_NOT_FOUND)),
                 true
         );
@@ -84,7 +84,7 @@ public class OauthService {
             genreIdList.stream().forEach(id -> {
                 UserGenre userGenre = UserGenre.create(
                         user,
-                        genreRepository.findById(id)
+                        genreRegistry.findById(id)
                                 .orElseThrow(() -> new NotFoundException(ENTITY_NOT_FOUND)),
                         false
                 );
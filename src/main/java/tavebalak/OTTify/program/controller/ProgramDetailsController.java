@@ -10,13 +10,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import tavebalak.OTTify.common.BaseResponse;
 import tavebalak.OTTify.error.ErrorCode;
 import tavebalak.OTTify.error.exception.UnauthorizedException;
 import tavebalak.OTTify.oauth.jwt.SecurityUtil;
 import tavebalak.OTTify.program.dto.programDetails.Response.ProgramResponseDto;
+import tavebalak.OTTify.program.dto.response.RecommendProgramsDTO;
 import tavebalak.OTTify.program.dto.response.UserSpecificRatingResponseDto;
 import tavebalak.OTTify.program.service.ProgramDetailsShowService;
+import tavebalak.OTTify.program.service.ProgramService;
 import tavebalak.OTTify.user.entity.User;
 import tavebalak.OTTify.user.repository.UserRepository;
 
@@ -28,6 +31,7 @@ import tavebalak.OTTify.user.repository.UserRepository;
 public class ProgramDetailsController {
 
     private final ProgramDetailsShowService programDetailsShowService;
+    private final ProgramService programService;
     private final UserRepository userRepository;
 
 
@@ -35,9 +39,10 @@ public class ProgramDetailsController {
     @ApiImplicitParam(name = "programId", dataType = "long", value = "프로그램 ID", required = true, paramType = "path")
     @GetMapping("/details")
     @ResponseStatus(HttpStatus.OK)
-    public BaseResponse<ProgramResponseDto> getProgramDetails(
+    public Mono<BaseResponse<ProgramResponseDto>> getProgramDetails(
         @PathVariable("programId") Long programId) {
-        return BaseResponse.success(programDetailsShowService.showDetails(programId));
+        return programDetailsShowService.showDetailsAsync(programId)
+            .map(BaseResponse::success);
     }
 
     @ApiOperation(value = "자신의 취향에 맞는 사람들의 리뷰의 평균 별점 및 현재 자신의 첫번째 장르 보여주기", notes = "자신의 취향에 맞는 사람들의 리뷰의 평균 별점, 첫번째 장르를 보여줍니다")
@@ -51,6 +56,15 @@ public class ProgramDetailsController {
             programDetailsShowService.showUserSpecificRating(findUser, programId));
     }
 
+    @ApiOperation(value = "비슷한 프로그램 보기", notes = "장르와 주요 출연진, 감독이 많이 겹치는 프로그램을 비슷한 순서로 보여줍니다")
+    @ApiImplicitParam(name = "programId", dataType = "long", value = "현재 프로그램의 ID", required = true, paramType = "path")
+    @GetMapping("/similar")
+    @ResponseStatus(HttpStatus.OK)
+    public BaseResponse<RecommendProgramsDTO> getSimilarPrograms(
+        @PathVariable("programId") Long programId) {
+        return BaseResponse.success(programService.getSimilarPrograms(programId, 10));
+    }
+
     private User getUser() {
         return userRepository.findByEmail(SecurityUtil.getCurrentEmail().get())
             .orElseThrow(() -> new UnauthorizedException(ErrorCode.UNAUTHORIZED));
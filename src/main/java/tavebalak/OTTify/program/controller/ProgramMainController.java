@@ -5,10 +5,12 @@ import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import tavebalak.OTTify.common.BaseResponse;
 import tavebalak.OTTify.program.dto.response.RecommendProgramsDTO;
 import tavebalak.OTTify.program.service.ProgramService;
+import tavebalak.OTTify.program.service.ProgramViewCounter;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,10 +20,26 @@ public class ProgramMainController {
 
     private final ProgramService programService;
 
-    @ApiOperation(value = "추천 프로그램", notes = "회원의 찜 리스트와 프로그램 별점, 1순위, 2순위 장르에 따라 프로그램을 추천한다.")
+    @ApiOperation(value = "추천 프로그램", notes = "회원의 찜 리스트와 프로그램 별점, 1순위, 2순위 장르에 따라 프로그램을 추천한다. onlyMyOtt 가 true 이면 구독중인 OTT 에서 볼 수 있는 프로그램만 추천한다.")
     @GetMapping("/recommendProgram")
-    public BaseResponse<RecommendProgramsDTO> getRecommendProgram() {
-        RecommendProgramsDTO recommendProgramsDTO = programService.getRecommendProgram(6);
+    public BaseResponse<RecommendProgramsDTO> getRecommendProgram(
+        @RequestParam(defaultValue = "false") boolean onlyMyOtt) {
+        RecommendProgramsDTO recommendProgramsDTO = programService.getRecommendProgram(6,
+            onlyMyOtt);
         return BaseResponse.success(recommendProgramsDTO);
     }
+
+    @ApiOperation(value = "별점 상위 프로그램", notes = "리뷰 수를 반영한 별점 순으로 프로그램을 보여준다. 장르 id 를 주면 그 장르 안에서의 순위를 보여준다.")
+    @GetMapping("/topRated")
+    public BaseResponse<RecommendProgramsDTO> getTopRatedPrograms(
+        @RequestParam(required = false) Long genreId) {
+        return BaseResponse.success(programService.getTopRatedPrograms(genreId, 10));
+    }
+
+    @ApiOperation(value = "많이 본 프로그램", notes = "최근 window(HOUR: 1시간, DAY: 24시간, WEEK: 7일) 동안 상세 정보 조회 수가 많은 순으로 프로그램을 보여준다.")
+    @GetMapping("/mostViewed")
+    public BaseResponse<RecommendProgramsDTO> getMostViewedPrograms(
+        @RequestParam(defaultValue = "DAY") ProgramViewCounter.Window window) {
+        return BaseResponse.success(programService.getMostViewedPrograms(window, 10));
+    }
 }
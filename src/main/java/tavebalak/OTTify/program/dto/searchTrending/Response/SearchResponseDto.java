@@ -10,10 +10,13 @@ public class SearchResponseDto {
     private int movieCount;
     private int tvCount;
     private SearchTvResponseDto searchTvResponseDto;
+    //영화 검색에 실패해 movieCount 가 0 으로 채워진 응답입니다.
+    private boolean movieSearchFailed;
 
-    public SearchResponseDto(int movieCount,int tvCount,SearchTvResponseDto searchTvResponseDto){
+    public SearchResponseDto(int movieCount,int tvCount,SearchTvResponseDto searchTvResponseDto,boolean movieSearchFailed){
         this.movieCount = movieCount;
         this.tvCount = tvCount;
         this.searchTvResponseDto = searchTvResponseDto;
+        this.movieSearchFailed = movieSearchFailed;
     }
 }
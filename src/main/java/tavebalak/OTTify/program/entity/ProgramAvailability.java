@@ -0,0 +1,28 @@
+package tavebalak.OTTify.program.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 프로그램을 한국에서 정액제로 볼 수 있는 OTT 목록입니다. 프로그램마다 한 줄이며, OTT 는 ott id 번째 비트로 표시합니다.
+// ProgramAvailabilityService 가 주기적으로 open api 에서 다시 받아와 갱신합니다.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {@Index(name = "IDX_refreshed_at", columnList = "refreshedAt")})
+public class ProgramAvailability {
+
+    @Id
+    @Column(name = "program_id")
+    private Long programId;
+
+    private long providerMask;
+
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,68 @@
+package tavebalak.OTTify.program.entity;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 프로그램의 리뷰를 작성자의 1순위 장르별로 모은 리뷰 수, 별점 합, 별점 분포입니다.
+// 리뷰가 작성, 수정, 삭제될 때 Program 의 평균 별점과 같은 트랜잭션에서 ProgramGenreRatingJdbcRepository 로 더하고 빼며, 엔티티는 읽기에만 씁니다.
+// 별점 분포는 0.5 점부터 5 점까지 0.5 점 단위 10 칸의 리뷰 수를 칸마다 한 컬럼에 저장합니다.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProgramGenreRating {
+
+    public static final int HISTOGRAM_SIZE = 10;
+
+    @EmbeddedId
+    private ProgramGenreRatingId id;
+
+    private int reviewCount;
+    private double ratingSum;
+
+    @Column(name = "rating_0_5")
+    private int rating05;
+    @Column(name = "rating_1_0")
+    private int rating10;
+    @Column(name = "rating_1_5")
+    private int rating15;
+    @Column(name = "rating_2_0")
+    private int rating20;
+    @Column(name = "rating_2_5")
+    private int rating25;
+    @Column(name = "rating_3_0")
+    private int rating30;
+    @Column(name = "rating_3_5")
+    private int rating35;
+    @Column(name = "rating_4_0")
+    private int rating40;
+    @Column(name = "rating_4_5")
+    private int rating45;
+    @Column(name = "rating_5_0")
+    private int rating50;
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0 : ratingSum / reviewCount;
+    }
+
+    public int[] getRatingHistogram() {
+        return new int[]{rating05, rating10, rating15, rating20, rating25, rating30, rating35,
+            rating40, rating45, rating50};
+    }
+
+    // 별점 하나가 더해지거나(1) 빠질 때(-1) 칸마다 바뀌는 리뷰 수입니다.
+    public static int[] histogramDelta(double rating, int delta) {
+        int[] counts = new int[HISTOGRAM_SIZE];
+        counts[bucket(rating)] = delta;
+        return counts;
+    }
+
+    // 0.5 점은 0 번 칸, 5 점은 9 번 칸입니다.
+    public static int bucket(double rating) {
+        int bucket = (int) Math.round(rating * 2) - 1;
+        return Math.min(HISTOGRAM_SIZE - 1, Math.max(0, bucket));
+    }
+}
@@ -0,0 +1,28 @@
+package tavebalak.OTTify.program.entity;
+
+import java.io.Serializable;
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProgramGenreRatingId implements Serializable {
+
+    @Column(name = "program_id")
+    private Long programId;
+
+    //리뷰에 저장된 작성자의 1순위 장르 이름입니다.
+    @Column(length = 100)
+    private String genre;
+
+    public ProgramGenreRatingId(Long programId, String genre) {
+        this.programId = programId;
+        this.genre = genre;
+    }
+}
@@ -0,0 +1,33 @@
+package tavebalak.OTTify.program.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 프로그램의 장르와 주요 출연진, 감독으로 만든 MinHash 서명입니다. 서명은 int 64개를 이어붙인 256 바이트입니다.
+// 출연진은 open api 에서 받아와야 하므로 ProgramSignatureService 가 서명이 없는 프로그램부터 조금씩 채웁니다.
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {@Index(name = "IDX_created_at", columnList = "createdAt"),
+    @Index(name = "IDX_retry_after", columnList = "retryAfter")})
+public class ProgramSignature {
+
+    @Id
+    @Column(name = "program_id")
+    private Long programId;
+
+    @Column(length = 256)
+    private byte[] signature;
+
+    private LocalDateTime createdAt;
+
+    //출연진을 받아오지 못해 장르만으로 만든 서명이면 다시 받아올 시각입니다. 다 만든 서명은 null 입니다.
+    private LocalDateTime retryAfter;
+}
@@ -0,0 +1,19 @@
+package tavebalak.OTTify.program.event;
+
+import lombok.Getter;
+
+// 사용자의 관심 없음 목록이나 리뷰가 바뀌어 추천에서 빼야 할 프로그램이 달라졌을 때 발행됩니다.
+// excluded 가 false 이면 제외가 풀린 것입니다.
+@Getter
+public class ProgramExclusionChangedEvent {
+
+    private final Long userId;
+    private final Long programId;
+    private final boolean excluded;
+
+    public ProgramExclusionChangedEvent(Long userId, Long programId, boolean excluded) {
+        this.userId = userId;
+        this.programId = programId;
+        this.excluded = excluded;
+    }
+}
@@ -0,0 +1,27 @@
+package tavebalak.OTTify.program.event;
+
+import lombok.Getter;
+
+// 사용자가 프로그램에 좋아요를 누르거나 리뷰 별점을 남겼을 때 발행됩니다.
+// weight 는 0 ~ 1 사이의 선호도로, 좋아요는 1, 리뷰는 별점 / 5 입니다.
+@Getter
+public class ProgramInteractionEvent {
+
+    private final Long userId;
+    private final Long programId;
+    private final float weight;
+
+    public ProgramInteractionEvent(Long userId, Long programId, float weight) {
+        this.userId = userId;
+        this.programId = programId;
+        this.weight = weight;
+    }
+
+    public static ProgramInteractionEvent like(Long userId, Long programId) {
+        return new ProgramInteractionEvent(userId, programId, 1f);
+    }
+
+    public static ProgramInteractionEvent review(Long userId, Long programId, double rating) {
+        return new ProgramInteractionEvent(userId, programId, (float) (rating / 5.0));
+    }
+}
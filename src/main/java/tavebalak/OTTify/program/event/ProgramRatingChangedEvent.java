@@ -0,0 +1,18 @@
+package tavebalak.OTTify.program.event;
+
+import lombok.Getter;
+
+// 리뷰가 추가, 삭제되거나 별점이 수정되어 프로그램의 평균 별점이 바뀌었을 때 발행됩니다.
+@Getter
+public class ProgramRatingChangedEvent {
+
+    private final Long programId;
+    private final double averageRating;
+    private final int reviewCount;
+
+    public ProgramRatingChangedEvent(Long programId, double averageRating, int reviewCount) {
+        this.programId = programId;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+    }
+}
@@ -0,0 +1,17 @@
+package tavebalak.OTTify.program.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+// 새로운 프로그램들이 저장되었을 때 발행됩니다. key 는 저장된 프로그램 id, value 는 그 프로그램의 장르 id 목록입니다.
+@Getter
+public class ProgramsSavedEvent {
+
+    private final Map<Long, List<Long>> genreIdsByProgramId;
+
+    public ProgramsSavedEvent(Map<Long, List<Long>> genreIdsByProgramId) {
+        this.genreIdsByProgramId = Collections.unmodifiableMap(genreIdsByProgramId);
+    }
+}
@@ -0,0 +1,14 @@
+package tavebalak.OTTify.program.event;
+
+import lombok.Getter;
+
+// 미리 만들어 둔 추천 목록이 없는 사용자가 메인 페이지에 들어왔을 때 발행됩니다.
+@Getter
+public class RecommendSlateRequestedEvent {
+
+    private final Long userId;
+
+    public RecommendSlateRequestedEvent(Long userId) {
+        this.userId = userId;
+    }
+}
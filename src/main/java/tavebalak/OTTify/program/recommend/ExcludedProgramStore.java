@@ -0,0 +1,104 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.time.Duration;
+import java.util.BitSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBitSet;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.program.event.ProgramExclusionChangedEvent;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.repository.UninterestedProgramRepository;
+
+// 사용자별로 관심 없음을 누른 프로그램과 이미 리뷰한 프로그램을 비트맵으로 들고 있다가 추천 후보를 거릅니다.
+// 비트맵은 여러 서버가 함께 쓰도록 redis 에 두고, 각 서버는 excludedPrograms 로컬 캐시(30초)에 잠깐 들고 있습니다.
+// redis 에 없으면 DB 에서 한번 읽어 채워두고, 이후에는 ProgramExclusionChangedEvent 로 갱신합니다.
+// 제외 목록이 바뀔 때마다 세대 값을 올리므로, DB 에서 읽는 사이 바뀌었으면 읽은 비트맵을 redis 에 남기지 않습니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExcludedProgramStore {
+
+    private static final String KEY_PREFIX = "excludedPrograms:";
+
+    // 0 번 비트는 DB 에서 읽어 채운 비트맵인지 표시합니다. 프로그램 id 는 1 부터 시작하므로 겹치지 않습니다.
+    private static final int LOADED_BIT = 0;
+
+    private final RedissonClient redissonClient;
+    private final UninterestedProgramRepository uninterestedProgramRepository;
+    private final ReviewRepository reviewRepository;
+
+    @Value("${recommend.exclusion.ttl-days:7}")
+    private long ttlDays;
+
+    @Cacheable(cacheNames = "excludedPrograms", key = "#userId")
+    public ExcludedPrograms find(Long userId) {
+        try {
+            RBitSet bitSet = redissonClient.getBitSet(KEY_PREFIX + userId);
+            BitSet programIds = bitSet.asBitSet();
+            if (!programIds.get(LOADED_BIT)) {
+                RAtomicLong generation = redissonClient.getAtomicLong(generationKey(userId));
+                long loadedGeneration = generation.get();
+                programIds = load(userId);
+                bitSet.set(programIds);
+                //DB 에서 읽는 사이 제외 목록이 바뀌었으면 방금 쓴 비트맵이 바뀌기 전 것일 수 있으므로 지우고,
+                //바뀐 뒤 커밋된 DB 에서 다시 읽어 돌려줍니다.
+                if (generation.get() != loadedGeneration) {
+                    bitSet.delete();
+                    return new ExcludedPrograms(load(userId));
+                }
+            }
+            bitSet.expire(Duration.ofDays(ttlDays));
+            return new ExcludedPrograms(programIds);
+        } catch (RuntimeException e) {
+            //redis 를 쓸 수 없으면 DB 에서 바로 만듭니다.
+            log.warn("excluded programs redis read failed. userId={}", userId, e);
+            return new ExcludedPrograms(load(userId));
+        }
+    }
+
+    @CacheEvict(cacheNames = "excludedPrograms", key = "#event.userId")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExclusionChanged(ProgramExclusionChangedEvent event) {
+        try {
+            RAtomicLong generation = redissonClient.getAtomicLong(
+                generationKey(event.getUserId()));
+            generation.incrementAndGet();
+            generation.expire(Duration.ofDays(ttlDays));
+
+            RBitSet bitSet = redissonClient.getBitSet(KEY_PREFIX + event.getUserId());
+            if (!event.isExcluded()) {
+                //리뷰와 관심 없음 중 어느 쪽 때문에 제외됐는지 알 수 없으므로 지우고 다음 조회 때 DB 에서 다시 만듭니다.
+                bitSet.delete();
+                return;
+            }
+            //아직 DB 에서 채우지 않은 비트맵이면 다음 조회 때 함께 채워지므로 건드리지 않습니다.
+            if (bitSet.get(LOADED_BIT)) {
+                bitSet.set(event.getProgramId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("excluded programs redis update failed. userId={}", event.getUserId(), e);
+        }
+    }
+
+    private String generationKey(Long userId) {
+        return KEY_PREFIX + userId + ":generation";
+    }
+
+    private BitSet load(Long userId) {
+        BitSet programIds = new BitSet();
+        programIds.set(LOADED_BIT);
+        uninterestedProgramRepository.findProgramIdsByUserId(userId)
+            .forEach(programId -> programIds.set(programId.intValue()));
+        reviewRepository.findProgramIdsByUserId(userId)
+            .forEach(programId -> programIds.set(programId.intValue()));
+        return programIds;
+    }
+}
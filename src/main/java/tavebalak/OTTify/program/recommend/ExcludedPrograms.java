@@ -0,0 +1,25 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.BitSet;
+
+// 한 사용자에게 추천하지 않을 프로그램 id 집합입니다. 프로그램 id 를 비트 위치로 쓰는 비트맵이라
+// 프로그램이 많아도 id 하나당 1비트만 차지하고, 후보 하나를 거르는 데 O(1) 입니다.
+public final class ExcludedPrograms {
+
+    private static final ExcludedPrograms EMPTY = new ExcludedPrograms(new BitSet());
+
+    private final BitSet programIds;
+
+    ExcludedPrograms(BitSet programIds) {
+        this.programIds = programIds;
+    }
+
+    public static ExcludedPrograms empty() {
+        return EMPTY;
+    }
+
+    public boolean contains(Long programId) {
+        return programId != null && programId > 0 && programId <= Integer.MAX_VALUE
+            && programIds.get(programId.intValue());
+    }
+}
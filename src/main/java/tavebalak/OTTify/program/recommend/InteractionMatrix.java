@@ -0,0 +1,161 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import tavebalak.OTTify.common.collection.LongKeyMap;
+
+// 사용자-프로그램 선호도를 희소 행렬로 저장합니다.
+// 사용자 행(사용자 -> 프로그램)과 프로그램 행(프로그램 -> 사용자)을 모두 CSR 배열로 들고 있어 양쪽으로 순회할 수 있습니다.
+// 만들어진 뒤에는 바뀌지 않으며, 새 선호도는 Builder 에 더한 뒤 다시 만듭니다.
+final class InteractionMatrix {
+
+    final long[] userIds;
+    final long[] programIds;
+
+    final int[] userRowStart;
+    final int[] userItems;
+    final float[] userWeights;
+
+    final int[] itemRowStart;
+    final int[] itemUsers;
+    final float[] itemWeights;
+    final float[] itemNorms;
+
+    private final LongKeyMap<Integer> userIndexes;
+    private final LongKeyMap<Integer> programIndexes;
+
+    private InteractionMatrix(long[] userIds, long[] programIds, int[] entryUsers,
+        int[] entryItems, float[] entryWeights) {
+        this.userIds = userIds;
+        this.programIds = programIds;
+        this.userIndexes = indexMap(userIds);
+        this.programIndexes = indexMap(programIds);
+
+        int entryCount = entryUsers.length;
+        this.userRowStart = new int[userIds.length + 1];
+        this.userItems = new int[entryCount];
+        this.userWeights = new float[entryCount];
+        this.itemRowStart = new int[programIds.length + 1];
+        this.itemUsers = new int[entryCount];
+        this.itemWeights = new float[entryCount];
+        this.itemNorms = new float[programIds.length];
+
+        for (int e = 0; e < entryCount; e++) {
+            userRowStart[entryUsers[e] + 1]++;
+            itemRowStart[entryItems[e] + 1]++;
+        }
+        for (int u = 0; u < userIds.length; u++) {
+            userRowStart[u + 1] += userRowStart[u];
+        }
+        for (int i = 0; i < programIds.length; i++) {
+            itemRowStart[i + 1] += itemRowStart[i];
+        }
+
+        int[] userCursor = userRowStart.clone();
+        int[] itemCursor = itemRowStart.clone();
+        for (int e = 0; e < entryCount; e++) {
+            int u = entryUsers[e];
+            int i = entryItems[e];
+            float w = entryWeights[e];
+
+            userItems[userCursor[u]] = i;
+            userWeights[userCursor[u]++] = w;
+            itemUsers[itemCursor[i]] = u;
+            itemWeights[itemCursor[i]++] = w;
+            itemNorms[i] += w * w;
+        }
+        for (int i = 0; i < programIds.length; i++) {
+            itemNorms[i] = (float) Math.sqrt(itemNorms[i]);
+        }
+    }
+
+    private static LongKeyMap<Integer> indexMap(long[] ids) {
+        List<Integer> indexes = IntStream.range(0, ids.length).boxed()
+            .collect(Collectors.toList());
+        return LongKeyMap.from(indexes, index -> ids[index]);
+    }
+
+    int userCount() {
+        return userIds.length;
+    }
+
+    int itemCount() {
+        return programIds.length;
+    }
+
+    int entryCount() {
+        return userItems.length;
+    }
+
+    // 없는 사용자면 -1 을 돌려줍니다.
+    int userIndex(long userId) {
+        Integer index = userIndexes.get(userId);
+        return index == null ? -1 : index;
+    }
+
+    int itemIndex(long programId) {
+        Integer index = programIndexes.get(programId);
+        return index == null ? -1 : index;
+    }
+
+    // 선호도를 모으는 쪽입니다. 같은 사용자-프로그램 쌍이 여러 번 들어오면 더 큰 선호도를 남깁니다.
+    // 사용자와 프로그램의 인덱스는 처음 들어온 순서대로 매기므로, 다시 만들어도 기존 인덱스는 바뀌지 않습니다.
+    static final class Builder {
+
+        private final Map<Long, Integer> userIndexes = new HashMap<>();
+        private final Map<Long, Integer> programIndexes = new HashMap<>();
+        private final List<Long> userIds = new ArrayList<>();
+        private final List<Long> programIds = new ArrayList<>();
+        private final Map<Long, Float> weights = new HashMap<>();
+
+        // 새로 들어온 쌍이거나 선호도가 커졌으면 true 를 돌려줍니다. 0 이하의 선호도는 무시합니다.
+        boolean add(long userId, long programId, float weight) {
+            if (weight <= 0f) {
+                return false;
+            }
+            int u = userIndexes.computeIfAbsent(userId, id -> {
+                userIds.add(id);
+                return userIds.size() - 1;
+            });
+            int i = programIndexes.computeIfAbsent(programId, id -> {
+                programIds.add(id);
+                return programIds.size() - 1;
+            });
+
+            long key = ((long) u << 32) | i;
+            Float previous = weights.get(key);
+            if (previous != null && previous >= weight) {
+                return false;
+            }
+            weights.put(key, weight);
+            return true;
+        }
+
+        InteractionMatrix build() {
+            int entryCount = weights.size();
+            int[] entryUsers = new int[entryCount];
+            int[] entryItems = new int[entryCount];
+            float[] entryWeights = new float[entryCount];
+
+            int e = 0;
+            for (Map.Entry<Long, Float> entry : weights.entrySet()) {
+                long key = entry.getKey();
+                entryUsers[e] = (int) (key >>> 32);
+                entryItems[e] = (int) key;
+                entryWeights[e] = entry.getValue();
+                e++;
+            }
+
+            return new InteractionMatrix(toArray(userIds), toArray(programIds), entryUsers,
+                entryItems, entryWeights);
+        }
+
+        private static long[] toArray(List<Long> ids) {
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.program.event.ProgramInteractionEvent;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.repository.LikedProgramRepository;
+
+// 좋아요와 리뷰 별점으로 만든 item-item 협업 필터링 추천기입니다.
+// 매일 새벽 전체 선호도를 읽어 모델을 새로 만들고, 그 사이에 들어온 좋아요와 리뷰는 주기적으로 모아
+// 바뀐 프로그램과 그 프로그램과 함께 선호된 프로그램의 이웃만 다시 계산합니다.
+// 추천 요청은 메모리의 모델만 읽으므로 DB 나 계산을 기다리지 않습니다.
+// 좋아요 취소나 리뷰 삭제는 다음 전체 재계산 때 반영됩니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBasedRecommender {
+
+    private final LikedProgramRepository likedProgramRepository;
+    private final ReviewRepository reviewRepository;
+
+    @Value("${recommend.item-similarity.neighbours:20}")
+    private int neighbourCount;
+
+    private final Queue<ProgramInteractionEvent> pendingInteractions = new ConcurrentLinkedQueue<>();
+
+    // 스케줄러 스레드에서만 바꾸며, 모델을 새로 만들 때 쓰는 원본 선호도입니다.
+    private InteractionMatrix.Builder interactions;
+
+    private volatile ItemSimilarityModel model;
+
+    @Scheduled(cron = "${recommend.item-similarity.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        InteractionMatrix.Builder builder = new InteractionMatrix.Builder();
+
+        likedProgramRepository.findAllUserIdAndProgramId().forEach(row ->
+            builder.add((Long) row[0], (Long) row[1], 1f));
+        reviewRepository.findAllUserIdAndProgramIdAndRating().forEach(row ->
+            builder.add((Long) row[0], (Long) row[1], (float) ((Double) row[2] / 5.0)));
+
+        InteractionMatrix matrix = builder.build();
+        model = ItemSimilarityModel.build(matrix, Math.max(1, neighbourCount));
+        interactions = builder;
+
+        log.info("item similarity model built: {} users, {} programs, {} interactions in {}ms",
+            matrix.userCount(), matrix.itemCount(), matrix.entryCount(),
+            System.currentTimeMillis() - startedAt);
+    }
+
+    // 처음 실행될 때는 모델이 없으므로 전체를 계산합니다.
+    @Scheduled(fixedDelayString = "${recommend.item-similarity.update-interval:300000}",
+        initialDelayString = "${recommend.item-similarity.initial-delay:30000}")
+    public synchronized void applyPendingInteractions() {
+        try {
+            if (model == null) {
+                rebuild();
+                return;
+            }
+
+            Set<Long> changedProgramIds = new HashSet<>();
+            ProgramInteractionEvent event;
+            while ((event = pendingInteractions.poll()) != null) {
+                if (interactions.add(event.getUserId(), event.getProgramId(), event.getWeight())) {
+                    changedProgramIds.add(event.getProgramId());
+                }
+            }
+            if (changedProgramIds.isEmpty()) {
+                return;
+            }
+
+            InteractionMatrix matrix = interactions.build();
+            model = ItemSimilarityModel.update(model, matrix,
+                ItemSimilarityModel.affectedRows(matrix, changedProgramIds));
+        } catch (RuntimeException e) {
+            //실패하면 기존 모델로 계속 추천하고 다음 주기에 다시 시도합니다.
+            log.warn("item similarity model update failed", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramInteraction(ProgramInteractionEvent event) {
+        pendingInteractions.add(event);
+    }
+
+    // 모델이 아직 없거나 선호도가 없는 사용자면 빈 목록을 돌려줍니다.
+    public List<Long> recommend(Long userId, int count, Predicate<Long> exclude) {
+        ItemSimilarityModel current = model;
+        if (current == null) {
+            return new ArrayList<>();
+        }
+        return current.recommend(userId, count, exclude);
+    }
+}
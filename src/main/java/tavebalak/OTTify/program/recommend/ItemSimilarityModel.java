@@ -0,0 +1,231 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+// 프로그램마다 코사인 유사도가 높은 이웃 프로그램 topN 개를 primitive 배열에 저장한 모델입니다.
+// 프로그램 인덱스 i 의 이웃은 neighbours[i * topN] 부터 neighbourCounts[i] 개이며, 유사도 내림차순입니다.
+// 만들어진 뒤에는 바뀌지 않아 잠금 없이 읽을 수 있습니다.
+final class ItemSimilarityModel {
+
+    // fork/join 작업 하나가 맡는 최소 프로그램 수입니다.
+    private static final int ROWS_PER_TASK = 64;
+
+    // 작업마다 프로그램 수만큼 배열을 새로 만들지 않도록 fork/join 스레드마다 계산용 배열을 들고 있습니다.
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final InteractionMatrix matrix;
+    private final int topN;
+    private final int[] neighbours;
+    private final float[] similarities;
+    private final int[] neighbourCounts;
+
+    private ItemSimilarityModel(InteractionMatrix matrix, int topN) {
+        this.matrix = matrix;
+        this.topN = topN;
+        this.neighbours = new int[matrix.itemCount() * topN];
+        this.similarities = new float[matrix.itemCount() * topN];
+        this.neighbourCounts = new int[matrix.itemCount()];
+    }
+
+    // 모든 프로그램의 이웃을 새로 계산합니다.
+    static ItemSimilarityModel build(InteractionMatrix matrix, int topN) {
+        ItemSimilarityModel model = new ItemSimilarityModel(matrix, topN);
+        int[] rows = new int[matrix.itemCount()];
+        Arrays.setAll(rows, i -> i);
+        model.computeRows(rows);
+        return model;
+    }
+
+    // 이전 모델의 이웃을 그대로 옮겨오고, dirtyRows 의 이웃만 다시 계산합니다.
+    // matrix 는 이전 모델의 행렬에 선호도를 더해 만든 것이어야 합니다. (기존 프로그램 인덱스가 같아야 합니다.)
+    // dirtyRows 는 affectedRows 로 구해야 옮겨온 이웃의 유사도가 새 행렬과 같습니다.
+    static ItemSimilarityModel update(ItemSimilarityModel previous, InteractionMatrix matrix,
+        int[] dirtyRows) {
+        ItemSimilarityModel model = new ItemSimilarityModel(matrix, previous.topN);
+        System.arraycopy(previous.neighbours, 0, model.neighbours, 0,
+            previous.neighbours.length);
+        System.arraycopy(previous.similarities, 0, model.similarities, 0,
+            previous.similarities.length);
+        System.arraycopy(previous.neighbourCounts, 0, model.neighbourCounts, 0,
+            previous.neighbourCounts.length);
+        model.computeRows(dirtyRows);
+        return model;
+    }
+
+    // 선호도가 바뀐 프로그램은 norm 이 바뀌므로, 그 프로그램과 함께 선호된 적 있는 모든 프로그램의 유사도가 달라집니다.
+    // 바뀐 프로그램과, 그 프로그램을 선호한 사용자들이 선호하는 프로그램의 인덱스를 돌려줍니다.
+    static int[] affectedRows(InteractionMatrix matrix, Collection<Long> changedProgramIds) {
+        boolean[] affected = new boolean[matrix.itemCount()];
+        for (Long programId : changedProgramIds) {
+            int item = matrix.itemIndex(programId);
+            if (item < 0) {
+                continue;
+            }
+            affected[item] = true;
+            for (int p = matrix.itemRowStart[item]; p < matrix.itemRowStart[item + 1]; p++) {
+                int user = matrix.itemUsers[p];
+                for (int q = matrix.userRowStart[user]; q < matrix.userRowStart[user + 1]; q++) {
+                    affected[matrix.userItems[q]] = true;
+                }
+            }
+        }
+        return IntStream.range(0, affected.length).filter(i -> affected[i]).toArray();
+    }
+
+    InteractionMatrix matrix() {
+        return matrix;
+    }
+
+    // 사용자가 선호한 프로그램들의 이웃 유사도를 선호도로 가중합해 점수가 높은 순으로 count 개를 돌려줍니다.
+    // 이미 선호한 프로그램과 exclude 에 있는 프로그램은 빼고, 모르는 사용자면 빈 목록을 돌려줍니다.
+    List<Long> recommend(long userId, int count, Predicate<Long> exclude) {
+        int u = matrix.userIndex(userId);
+        if (u < 0 || count <= 0) {
+            return List.of();
+        }
+
+        int from = matrix.userRowStart[u];
+        int to = matrix.userRowStart[u + 1];
+        Map<Integer, Float> scores = new HashMap<>();
+        for (int p = from; p < to; p++) {
+            int item = matrix.userItems[p];
+            float weight = matrix.userWeights[p];
+            int base = item * topN;
+            for (int n = 0; n < neighbourCounts[item]; n++) {
+                scores.merge(neighbours[base + n], similarities[base + n] * weight, Float::sum);
+            }
+        }
+        for (int p = from; p < to; p++) {
+            scores.remove(matrix.userItems[p]);
+        }
+
+        List<Long> result = new ArrayList<>(count);
+        scores.entrySet().stream()
+            .sorted(Map.Entry.<Integer, Float>comparingByValue().reversed())
+            .map(entry -> matrix.programIds[entry.getKey()])
+            .filter(exclude.negate())
+            .limit(count)
+            .forEach(result::add);
+        return result;
+    }
+
+    private void computeRows(int[] rows) {
+        if (rows.length == 0) {
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new SimilarityTask(rows, 0, rows.length));
+    }
+
+    // 맡은 프로그램들을 반으로 나눠가며 병렬로 이웃을 계산합니다.
+    // 프로그램 i 와 j 의 내적은 i 를 선호한 사용자들의 행을 훑으며 모으므로, 함께 선호된 적 없는 쌍은 보지 않습니다.
+    private final class SimilarityTask extends RecursiveAction {
+
+        private final int[] rows;
+        private final int from;
+        private final int to;
+
+        private SimilarityTask(int[] rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                computeDirectly();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SimilarityTask(rows, from, middle), new SimilarityTask(rows, middle, to));
+        }
+
+        private void computeDirectly() {
+            Scratch scratch = SCRATCH.get().ensureCapacity(matrix.itemCount(), topN);
+            float[] dots = scratch.dots;
+            int[] touched = scratch.touched;
+            int[] topItems = scratch.topItems;
+            float[] topSimilarities = scratch.topSimilarities;
+
+            for (int r = from; r < to; r++) {
+                int item = rows[r];
+                int touchedCount = 0;
+
+                for (int p = matrix.itemRowStart[item]; p < matrix.itemRowStart[item + 1]; p++) {
+                    int user = matrix.itemUsers[p];
+                    float weight = matrix.itemWeights[p];
+                    for (int q = matrix.userRowStart[user]; q < matrix.userRowStart[user + 1]; q++) {
+                        int other = matrix.userItems[q];
+                        if (other == item) {
+                            continue;
+                        }
+                        if (dots[other] == 0f) {
+                            touched[touchedCount++] = other;
+                        }
+                        dots[other] += weight * matrix.userWeights[q];
+                    }
+                }
+
+                int size = 0;
+                for (int t = 0; t < touchedCount; t++) {
+                    int other = touched[t];
+                    float similarity =
+                        dots[other] / (matrix.itemNorms[item] * matrix.itemNorms[other]);
+                    dots[other] = 0f;
+                    size = insert(topItems, topSimilarities, size, other, similarity);
+                }
+
+                int base = item * topN;
+                System.arraycopy(topItems, 0, neighbours, base, size);
+                System.arraycopy(topSimilarities, 0, similarities, base, size);
+                neighbourCounts[item] = size;
+            }
+        }
+
+        // 유사도 내림차순으로 정렬된 배열에 넣습니다. topN 이 작으므로 삽입 정렬로 충분합니다.
+        private int insert(int[] items, float[] values, int size, int item, float value) {
+            if (size == topN && values[size - 1] >= value) {
+                return size;
+            }
+            int position = size == topN ? size - 1 : size;
+            while (position > 0 && values[position - 1] < value) {
+                items[position] = items[position - 1];
+                values[position] = values[position - 1];
+                position--;
+            }
+            items[position] = item;
+            values[position] = value;
+            return size == topN ? size : size + 1;
+        }
+    }
+
+    // 한 행을 계산하고 나면 dots 는 모두 0 으로 돌아가므로 다음 작업이 그대로 다시 씁니다.
+    private static final class Scratch {
+
+        private float[] dots = new float[0];
+        private int[] touched = new int[0];
+        private int[] topItems = new int[0];
+        private float[] topSimilarities = new float[0];
+
+        private Scratch ensureCapacity(int itemCount, int topN) {
+            if (dots.length < itemCount) {
+                dots = new float[itemCount];
+                touched = new int[itemCount];
+            }
+            if (topItems.length < topN) {
+                topItems = new int[topN];
+                topSimilarities = new float[topN];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.personDetails.Cast;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.personDetails.OAProgramCreditsDto;
+
+// 비슷한 프로그램을 찾을 때 쓰는 프로그램의 특징 목록입니다. 장르와 주요 출연진, 감독을 문자열 하나씩으로 나타냅니다.
+// 출연진은 open api 가 비중 순으로 주므로 앞에서부터 MAX_CAST 명만 씁니다.
+public final class ProgramFeatures {
+
+    private static final int MAX_CAST = 5;
+    private static final int MAX_DIRECTORS = 3;
+
+    private ProgramFeatures() {
+    }
+
+    public static List<String> ofGenres(Collection<Long> genreIds) {
+        List<String> features = new ArrayList<>();
+        genreIds.forEach(genreId -> features.add("genre:" + genreId));
+        return features;
+    }
+
+    //credits 는 open api 응답 그대로여야 합니다. 상세 정보 화면용으로 부서 이름을 한글로 바꾼 것은 쓰지 않습니다.
+    public static List<String> ofCredits(OAProgramCreditsDto credits) {
+        List<String> features = new ArrayList<>();
+        if (credits.getCast() != null) {
+            credits.getCast().stream()
+                .map(Cast::getName)
+                .filter(Objects::nonNull)
+                .limit(MAX_CAST)
+                .forEach(name -> features.add("cast:" + name));
+        }
+        if (credits.getCrew() != null) {
+            credits.getCrew().stream()
+                .filter(crew -> "Directing".equals(crew.getDepartment()))
+                .map(Cast::getName)
+                .filter(Objects::nonNull)
+                .distinct()
+                .limit(MAX_DIRECTORS)
+                .forEach(name -> features.add("director:" + name));
+        }
+        return features;
+    }
+}
@@ -0,0 +1,41 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import tavebalak.OTTify.program.dto.response.ServiceListsDTO;
+
+// 한 사용자를 위해 미리 만들어 둔 추천 프로그램 목록입니다. 메인 페이지에 다시 들어올 때마다 다음 페이지를 꺼내줍니다.
+final class RecommendSlate {
+
+    private final List<ServiceListsDTO> programs;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    RecommendSlate(List<ServiceListsDTO> programs) {
+        this.programs = List.copyOf(programs);
+    }
+
+    // 제외된 프로그램은 건너뛰고 그 뒤에서 더 채워 count 개를 꺼냅니다. 남은 프로그램이 모자라면 빈 값을 돌려줍니다.
+    // 여러 요청이 함께 꺼내도 같은 프로그램을 두번 꺼내지 않도록 읽은 위치까지 cursor 를 compareAndSet 으로 옮깁니다.
+    Optional<List<ServiceListsDTO>> nextPage(int count, ExcludedPrograms excludedPrograms) {
+        while (true) {
+            int from = cursor.get();
+            List<ServiceListsDTO> page = new ArrayList<>(count);
+            int next = from;
+            while (next < programs.size() && page.size() < count) {
+                ServiceListsDTO program = programs.get(next++);
+                if (!excludedPrograms.contains(program.getProgramId())) {
+                    page.add(program);
+                }
+            }
+            if (page.size() < count) {
+                cursor.set(programs.size());
+                return Optional.empty();
+            }
+            if (cursor.compareAndSet(from, next)) {
+                return Optional.of(page);
+            }
+        }
+    }
+}
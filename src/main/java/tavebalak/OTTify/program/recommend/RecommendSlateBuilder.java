@@ -0,0 +1,57 @@
+package tavebalak.OTTify.program.recommend;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.program.event.RecommendSlateRequestedEvent;
+import tavebalak.OTTify.program.service.ProgramService;
+
+// 추천 목록이 없는 사용자의 목록을 별도 스레드에서 만들어 RecommendSlateStore 에 넣어둡니다.
+// 요청 스레드는 기다리지 않고, 같은 사용자의 목록은 한번에 하나만 만듭니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendSlateBuilder {
+
+    private final ProgramService programService;
+    private final RecommendSlateStore recommendSlateStore;
+    private final ThreadPoolTaskExecutor recommendSlateExecutor;
+
+    @Value("${recommend.slate.size:50}")
+    private int slateSize;
+
+    private final Set<Long> buildingUserIds = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onSlateRequested(RecommendSlateRequestedEvent event) {
+        Long userId = event.getUserId();
+        if (!buildingUserIds.add(userId)) {
+            return;
+        }
+
+        try {
+            recommendSlateExecutor.execute(() -> build(userId));
+        } catch (RejectedExecutionException e) {
+            //밀려 있는 요청이 너무 많으면 버리고, 그 사용자는 다음 방문 때 다시 요청합니다.
+            buildingUserIds.remove(userId);
+        }
+    }
+
+    private void build(Long userId) {
+        long startedAt = System.nanoTime();
+        try {
+            recommendSlateStore.save(userId,
+                programService.buildRecommendSlate(userId, slateSize), startedAt);
+        } catch (RuntimeException e) {
+            log.warn("recommend slate build failed. userId={}", userId, e);
+        } finally {
+            buildingUserIds.remove(userId);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package tavebalak.OTTify.program.recommend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.program.dto.response.ServiceListsDTO;
+import tavebalak.OTTify.program.event.ProgramExclusionChangedEvent;
+import tavebalak.OTTify.user.event.UserPreferenceChangedEvent;
+
+// 사용자별로 미리 만들어 둔 추천 목록(recommendSlate 캐시)을 관리합니다.
+// 장르, 좋아요, 관심 없음/리뷰가 바뀐 사용자의 목록만 지우고, 나머지는 만료될 때까지 그대로 씁니다.
+@Component
+public class RecommendSlateStore {
+
+    private final org.springframework.cache.Cache slates;
+
+    // 목록을 만드는 도중에 무효화된 사용자는 다 만든 목록을 저장하지 않도록 마지막 무효화 시각을 잠깐 기억합니다.
+    private final Cache<Long, Long> invalidatedAt = Caffeine.newBuilder()
+        .expireAfterWrite(10, TimeUnit.MINUTES)
+        .maximumSize(10000)
+        .build();
+
+    public RecommendSlateStore(CacheManager cacheManager) {
+        this.slates = cacheManager.getCache("recommendSlate");
+    }
+
+    // 만들어 둔 목록이 없거나 다 보여줬으면 빈 값을 돌려줍니다.
+    public Optional<List<ServiceListsDTO>> nextPage(Long userId, int count,
+        ExcludedPrograms excludedPrograms) {
+        RecommendSlate slate = slates.get(userId, RecommendSlate.class);
+        if (slate == null) {
+            return Optional.empty();
+        }
+
+        Optional<List<ServiceListsDTO>> page = slate.nextPage(count, excludedPrograms);
+        if (page.isEmpty()) {
+            slates.evict(userId);
+        }
+        return page;
+    }
+
+    // startedAt 은 목록을 만들기 시작한 System.nanoTime() 값입니다.
+    public void save(Long userId, List<ServiceListsDTO> programs, long startedAt) {
+        Long lastInvalidatedAt = invalidatedAt.getIfPresent(userId);
+        if (lastInvalidatedAt != null && lastInvalidatedAt - startedAt >= 0) {
+            return;
+        }
+        slates.put(userId, new RecommendSlate(programs));
+    }
+
+    public void evict(Long userId) {
+        invalidatedAt.put(userId, System.nanoTime());
+        slates.evict(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserPreferenceChanged(UserPreferenceChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramExclusionChanged(ProgramExclusionChangedEvent event) {
+        evict(event.getUserId());
+    }
+}
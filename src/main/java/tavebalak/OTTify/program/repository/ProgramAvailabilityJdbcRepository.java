@@ -0,0 +1,66 @@
+package tavebalak.OTTify.program.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class ProgramAvailabilityJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 프로그램 id 별 OTT 비트를 한번에 덮어씁니다. DB 마다 다른 upsert 문법을 피하려고 지운 뒤 다시 넣습니다.
+    @Transactional
+    public void replaceAll(Map<Long, Long> providerMaskByProgramId, LocalDateTime refreshedAt) {
+        if (providerMaskByProgramId.isEmpty()) {
+            return;
+        }
+
+        namedParameterJdbcTemplate.update(
+            "delete from program_availability where program_id in (:programIds)",
+            new MapSqlParameterSource("programIds", providerMaskByProgramId.keySet()));
+
+        List<MapSqlParameterSource> batchArgs = new ArrayList<>();
+        Timestamp timestamp = Timestamp.valueOf(refreshedAt);
+        providerMaskByProgramId.forEach((programId, providerMask) ->
+            batchArgs.add(new MapSqlParameterSource()
+                .addValue("programId", programId)
+                .addValue("providerMask", providerMask)
+                .addValue("refreshedAt", timestamp)));
+
+        namedParameterJdbcTemplate.batchUpdate(
+            "insert into program_availability (program_id, provider_mask, refreshed_at)"
+                + " values (:programId, :providerMask, :refreshedAt)",
+            batchArgs.toArray(new MapSqlParameterSource[0]));
+    }
+
+    // open api 에서 받아오지 못한 프로그램의 refreshedAt 을 retryRefreshedAt 으로 바꿉니다. 받아온 적 있는 OTT 비트는 그대로 두고,
+    // 한번도 받아오지 못한 프로그램은 볼 수 있는 OTT 가 없는 줄을 넣어 갱신 대상 맨 앞에 계속 남지 않게 합니다.
+    @Transactional
+    public void markFailed(Collection<Long> programIds, LocalDateTime retryRefreshedAt) {
+        if (programIds.isEmpty()) {
+            return;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("programIds", programIds)
+            .addValue("refreshedAt", Timestamp.valueOf(retryRefreshedAt));
+        namedParameterJdbcTemplate.update("update program_availability"
+            + " set refreshed_at = :refreshedAt where program_id in (:programIds)", params);
+        namedParameterJdbcTemplate.update(
+            "insert into program_availability (program_id, provider_mask, refreshed_at)"
+                + " select p.program_id, 0, :refreshedAt from program p"
+                + " where p.program_id in (:programIds) and not exists"
+                + " (select 1 from program_availability pa where pa.program_id = p.program_id)",
+            params);
+    }
+}
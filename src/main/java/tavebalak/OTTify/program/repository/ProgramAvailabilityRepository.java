@@ -0,0 +1,27 @@
+package tavebalak.OTTify.program.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.entity.ProgramAvailability;
+
+public interface ProgramAvailabilityRepository extends JpaRepository<ProgramAvailability, Long> {
+
+    @Query("select pa.programId, pa.providerMask from ProgramAvailability pa where pa.providerMask <> 0")
+    List<Object[]> findAllAvailableProgramIdAndProviderMask();
+
+    //refreshedAfter 이후에 갱신된 프로그램입니다. 볼 수 있는 OTT 가 없어진 프로그램도 지우도록 OTT 비트가 0 인 줄도 가져옵니다.
+    @Query("select pa.programId, pa.providerMask from ProgramAvailability pa where pa.refreshedAt >= :refreshedAfter")
+    List<Object[]> findProgramIdAndProviderMaskRefreshedAfter(
+        @Param("refreshedAfter") LocalDateTime refreshedAfter);
+
+    //아직 OTT 정보를 받아오지 않았거나, refreshedBefore 이전에 받아온 프로그램을 오래된 순서로 가져옵니다.
+    @Query("select p from Program p left join ProgramAvailability pa on pa.programId = p.id"
+        + " where pa.programId is null or pa.refreshedAt < :refreshedBefore order by pa.refreshedAt")
+    List<Program> findRefreshTargets(@Param("refreshedBefore") LocalDateTime refreshedBefore,
+        Pageable pageable);
+}
@@ -0,0 +1,107 @@
+package tavebalak.OTTify.program.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// DB 마다 다른 upsert 문법을 피하려고 집계 행은 먼저 만들어 두고, 리뷰를 쓸 때는 update 로만 더하고 뺍니다.
+@Repository
+@RequiredArgsConstructor
+public class ProgramGenreRatingJdbcRepository {
+
+    // 별점 분포 칸의 컬럼입니다. 0 번 칸이 0.5 점, 9 번 칸이 5 점입니다.
+    private static final List<String> HISTOGRAM_COLUMNS = List.of(
+        "rating_0_5", "rating_1_0", "rating_1_5", "rating_2_0", "rating_2_5",
+        "rating_3_0", "rating_3_5", "rating_4_0", "rating_4_5", "rating_5_0");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 집계 행이 없으면 0 으로 채운 행을 짧은 별도 트랜잭션에서 넣어 둡니다.
+    // 리뷰 트랜잭션에서 없는 행을 update 하거나 넣으면 같은 (프로그램, 장르)의 첫 리뷰들끼리 gap lock 으로 교착될 수 있기 때문입니다.
+    // 리뷰 트랜잭션이 롤백되어 남는 0 인 행은 리뷰가 없는 집계와 같게 읽힙니다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createIfAbsent(Long programId, String genre) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from program_genre_rating"
+            + " where program_id = ? and genre = ?", Integer.class, programId, genre);
+        if (count != null && count > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("insert into program_genre_rating"
+                + " (program_id, genre, review_count, rating_sum, "
+                + String.join(", ", HISTOGRAM_COLUMNS) + ") values (?, ?, 0, 0"
+                + ", 0".repeat(HISTOGRAM_COLUMNS.size()) + ")", programId, genre);
+        } catch (DuplicateKeyException e) {
+            //다른 요청이 먼저 넣었습니다.
+        }
+    }
+
+    // 리뷰 수와 별점 합, 별점 분포 칸마다 변화를 한 문장으로 더하고 바뀐 행 수를 돌려줍니다. 리뷰 수가 0 이 되면 별점 합도 0 으로 맞춥니다.
+    // MySQL 은 SET 을 왼쪽부터 적용하며 앞에서 바꾼 값을 읽으므로, review_count 를 읽는 rating_sum 을 review_count 보다 먼저 씁니다.
+    public int applyDelta(Long programId, String genre, int reviewCountDelta,
+        double ratingSumDelta, int[] histogramDelta) {
+        List<Object> args = new ArrayList<>(List.of(reviewCountDelta, ratingSumDelta,
+            reviewCountDelta, reviewCountDelta));
+        for (int value : histogramDelta) {
+            args.add(value);
+        }
+        args.add(programId);
+        args.add(genre);
+
+        return jdbcTemplate.update("update program_genre_rating"
+            + " set rating_sum = case when review_count + ? <= 0 then 0 else rating_sum + ? end,"
+            + " review_count = case when review_count + ? < 0 then 0 else review_count + ? end, "
+            + HISTOGRAM_COLUMNS.stream()
+            .map(column -> column + " = " + column + " + ?")
+            .collect(Collectors.joining(", "))
+            + " where program_id = ? and genre = ?", args.toArray());
+    }
+
+    // 리뷰나 집계가 있는 프로그램 id 입니다. 집계를 다시 계산할 대상입니다.
+    public List<Long> findProgramIdsWithRatings() {
+        return jdbcTemplate.queryForList("select program_id from review"
+            + " union select program_id from program_genre_rating", Long.class);
+    }
+
+    // 한 프로그램의 집계를 리뷰에서 다시 계산합니다.
+    // 프로그램 행을 잠가 리뷰를 쓰는 트랜잭션(프로그램 평균 별점을 같이 고칩니다)과 겹치지 않게 한 뒤, 집계를 지우고 다시 넣습니다.
+    @Transactional
+    public void recompute(Long programId) {
+        List<Long> locked = jdbcTemplate.queryForList(
+            "select program_id from program where program_id = ? for update", Long.class,
+            programId);
+        jdbcTemplate.update("delete from program_genre_rating where program_id = ?", programId);
+        if (locked.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update("insert into program_genre_rating"
+            + " (program_id, genre, review_count, rating_sum, "
+            + String.join(", ", HISTOGRAM_COLUMNS) + ")"
+            + " select program_id, genre, count(*), sum(rating), "
+            + IntStream.range(0, HISTOGRAM_COLUMNS.size())
+            .mapToObj(this::bucketCount)
+            .collect(Collectors.joining(", "))
+            + " from review where program_id = ? and genre is not null"
+            + " group by program_id, genre", programId);
+    }
+
+    // ProgramGenreRating.bucket 과 같게, 별점 * 2 를 반올림한 값으로 칸을 고르고 범위 밖은 양 끝 칸에 넣습니다.
+    private String bucketCount(int bucket) {
+        List<String> conditions = new ArrayList<>();
+        if (bucket > 0) {
+            conditions.add("rating >= " + (bucket + 0.5) / 2);
+        }
+        if (bucket < HISTOGRAM_COLUMNS.size() - 1) {
+            conditions.add("rating < " + (bucket + 1.5) / 2);
+        }
+        return "sum(case when " + String.join(" and ", conditions) + " then 1 else 0 end)";
+    }
+}
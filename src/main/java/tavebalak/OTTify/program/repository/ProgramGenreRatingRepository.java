@@ -0,0 +1,15 @@
+package tavebalak.OTTify.program.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import tavebalak.OTTify.program.entity.ProgramGenreRating;
+import tavebalak.OTTify.program.entity.ProgramGenreRatingId;
+
+public interface ProgramGenreRatingRepository extends
+    JpaRepository<ProgramGenreRating, ProgramGenreRatingId> {
+
+    @Query("select r from ProgramGenreRating r where r.id.programId = :programId")
+    List<ProgramGenreRating> findByProgramId(@Param("programId") Long programId);
+}
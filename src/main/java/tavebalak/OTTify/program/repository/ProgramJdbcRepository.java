@@ -0,0 +1,46 @@
+package tavebalak.OTTify.program.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import tavebalak.OTTify.program.entity.Program;
+
+@Repository
+@RequiredArgsConstructor
+public class ProgramJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // IDENTITY 전략에서는 JPA 의 batch insert 가 동작하지 않아 JDBC batch 로 한번에 저장합니다.
+    public void batchInsertPrograms(List<Program> programs) {
+        String sql = "insert into program (title, poster_path, average_rating, review_count,"
+            + " tm_db_program_id, type, created_year) values (?, ?, ?, ?, ?, ?, ?)";
+
+        jdbcTemplate.batchUpdate(sql, programs, programs.size(), (ps, program) -> {
+            ps.setString(1, program.getTitle());
+            ps.setString(2, program.getPosterPath());
+            ps.setDouble(3, program.getAverageRating());
+            ps.setInt(4, program.getReviewCount());
+            ps.setLong(5, program.getTmDbProgramId());
+            ps.setString(6, program.getType().name());
+            ps.setString(7, program.getCreatedYear());
+        });
+    }
+
+    // 프로그램 id 별 장르 id 목록을 program_genre 에 한번에 저장합니다.
+    public void batchInsertProgramGenres(Map<Long, List<Long>> genreIdsByProgramId) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        genreIdsByProgramId.forEach((programId, genreIds) ->
+            genreIds.forEach(genreId -> batchArgs.add(new Object[]{programId, genreId})));
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("insert into program_genre (program_id, genre_id) values (?, ?)",
+            batchArgs);
+    }
+}
@@ -1,8 +1,10 @@
 package tavebalak.OTTify.program.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.entity.ProgramType;
 
@@ -18,4 +20,13 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
 
     Optional<Program> findByTmDbProgramIdAndType(Long tmDbId, ProgramType type);
 
+    List<Program> findByTmDbProgramIdInAndType(Collection<Long> tmDbIds, ProgramType type);
+
+    @Query("select p.id from Program p")
+    List<Long> findAllIds();
+
+    //리뷰가 있는 프로그램의 id, 평균 별점, 리뷰 수를 가져옵니다.
+    @Query("select p.id, p.averageRating, p.reviewCount from Program p where p.reviewCount > 0")
+    List<Object[]> findAllRatedIdAndRating();
+
 }
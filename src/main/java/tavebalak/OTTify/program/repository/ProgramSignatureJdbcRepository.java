@@ -0,0 +1,49 @@
+package tavebalak.OTTify.program.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class ProgramSignatureJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 프로그램 id 별 서명을 한번에 덮어씁니다. 여러 서버가 같은 프로그램을 채워도 겹치지 않도록 지운 뒤 다시 넣습니다.
+    // retryAfter 가 있으면 그 시각 뒤에 출연진을 다시 받아오고, null 이면 다 만든 서명입니다.
+    @Transactional
+    public void replaceAll(Map<Long, byte[]> signatureByProgramId, LocalDateTime createdAt,
+        LocalDateTime retryAfter) {
+        if (signatureByProgramId.isEmpty()) {
+            return;
+        }
+
+        namedParameterJdbcTemplate.update(
+            "delete from program_signature where program_id in (:programIds)",
+            new MapSqlParameterSource("programIds", signatureByProgramId.keySet()));
+
+        List<MapSqlParameterSource> batchArgs = new ArrayList<>();
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        Timestamp retryTimestamp = retryAfter == null ? null : Timestamp.valueOf(retryAfter);
+        signatureByProgramId.forEach((programId, signature) ->
+            batchArgs.add(new MapSqlParameterSource()
+                .addValue("programId", programId)
+                .addValue("signature", signature)
+                .addValue("createdAt", timestamp)
+                .addValue("retryAfter", retryTimestamp, Types.TIMESTAMP)));
+
+        namedParameterJdbcTemplate.batchUpdate(
+            "insert into program_signature (program_id, signature, created_at, retry_after)"
+                + " values (:programId, :signature, :createdAt, :retryAfter)",
+            batchArgs.toArray(new MapSqlParameterSource[0]));
+    }
+}
@@ -0,0 +1,31 @@
+package tavebalak.OTTify.program.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.entity.ProgramSignature;
+
+public interface ProgramSignatureRepository extends JpaRepository<ProgramSignature, Long> {
+
+    @Query("select ps.programId, ps.signature from ProgramSignature ps")
+    List<Object[]> findAllProgramIdAndSignature();
+
+    //createdAfter 이후에 만든 서명입니다. 다른 서버가 만든 서명을 읽어올 때 씁니다.
+    @Query("select ps.programId, ps.signature from ProgramSignature ps where ps.createdAt >= :createdAfter")
+    List<Object[]> findProgramIdAndSignatureCreatedAfter(
+        @Param("createdAfter") LocalDateTime createdAfter);
+
+    //아직 서명을 만들지 않은 프로그램을 최근에 저장된 순서로 가져옵니다.
+    @Query("select p from Program p left join ProgramSignature ps on ps.programId = p.id"
+        + " where ps.programId is null order by p.id desc")
+    List<Program> findSignatureTargets(Pageable pageable);
+
+    //출연진을 받아오지 못했던 프로그램 중 다시 받아올 때가 된 것을 오래 기다린 순서로 가져옵니다.
+    @Query("select p from Program p join ProgramSignature ps on ps.programId = p.id"
+        + " where ps.retryAfter < :now order by ps.retryAfter")
+    List<Program> findSignatureRetryTargets(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package tavebalak.OTTify.program.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.common.lock.SingleNodeTaskRunner;
+import tavebalak.OTTify.program.service.ProgramAvailabilityService;
+
+// 프로그램별 OTT 정보를 주기적으로 갱신합니다. 한번 실행할 때 max-batches 번까지만 batch 를 처리해
+// open api 호출량이 한 주기에 몰리지 않도록 합니다.
+// 서버마다 같은 오래된 프로그램을 받아오지 않도록 redis 잠금을 얻은 한 서버만 실행하고, 다른 서버는 ProgramAvailabilityIndex.sync 로 결과를 읽습니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramAvailabilityScheduler {
+
+    private static final String LOCK_KEY = "programAvailability:refreshLock";
+
+    private final ProgramAvailabilityService programAvailabilityService;
+    private final SingleNodeTaskRunner singleNodeTaskRunner;
+
+    @Value("${program.availability.max-batches:10}")
+    private int maxBatches;
+
+    @Value("${program.availability.lock-lease-minutes:60}")
+    private long lockLeaseMinutes;
+
+    @Scheduled(fixedDelayString = "${program.availability.refresh-interval:600000}",
+        initialDelayString = "${program.availability.initial-delay:60000}")
+    public void refreshAvailabilities() {
+        singleNodeTaskRunner.run(LOCK_KEY, lockLeaseMinutes, this::refreshBatches);
+    }
+
+    private void refreshBatches() {
+        int refreshed = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int count = programAvailabilityService.refreshStaleAvailabilities();
+                if (count == 0) {
+                    break;
+                }
+                refreshed += count;
+            }
+        } catch (RuntimeException e) {
+            //실패하면 다음 주기에 남은 프로그램부터 다시 시도합니다.
+            log.warn("program availability refresh failed", e);
+        }
+        if (refreshed > 0) {
+            log.info("program availability refreshed {} programs", refreshed);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package tavebalak.OTTify.program.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.common.lock.SingleNodeTaskRunner;
+import tavebalak.OTTify.program.service.ProgramSignatureService;
+
+// 비슷한 프로그램 찾기에 쓰는 서명 중 아직 없는 것을 주기적으로 채웁니다. 새로 저장된 프로그램이 먼저 채워집니다.
+// 한번 실행할 때 max-batches 번까지만 batch 를 처리해 open api 호출량이 한 주기에 몰리지 않도록 합니다.
+// 서버마다 같은 프로그램의 출연진을 받아오지 않도록 redis 잠금을 얻은 한 서버만 실행하고, 다른 서버는 SimilarProgramIndex.sync 로 결과를 읽습니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramSignatureScheduler {
+
+    private static final String LOCK_KEY = "programSignature:createLock";
+
+    private final ProgramSignatureService programSignatureService;
+    private final SingleNodeTaskRunner singleNodeTaskRunner;
+
+    @Value("${program.similar.max-batches:5}")
+    private int maxBatches;
+
+    @Value("${program.similar.lock-lease-minutes:60}")
+    private long lockLeaseMinutes;
+
+    @Scheduled(fixedDelayString = "${program.similar.refresh-interval:600000}",
+        initialDelayString = "${program.similar.initial-delay:90000}")
+    public void createMissingSignatures() {
+        singleNodeTaskRunner.run(LOCK_KEY, lockLeaseMinutes, this::createBatches);
+    }
+
+    private void createBatches() {
+        int created = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int count = programSignatureService.createMissingSignatures();
+                if (count == 0) {
+                    break;
+                }
+                created += count;
+            }
+        } catch (RuntimeException e) {
+            //실패하면 다음 주기에 남은 프로그램부터 다시 시도합니다.
+            log.warn("program signature creation failed", e);
+        }
+        if (created > 0) {
+            log.info("program signature created {} programs", created);
+        }
+    }
+}
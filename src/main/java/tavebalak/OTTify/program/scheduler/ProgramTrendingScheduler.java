@@ -0,0 +1,36 @@
+package tavebalak.OTTify.program.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.program.service.ProgramShowAndSaveService;
+
+// programTrending 캐시(1시간 만료)가 만료되기 전에 미리 트렌딩을 다시 만들어 넣어줍니다.
+// 메인 페이지 요청이 open api 응답을 기다리지 않도록 하기 위함입니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramTrendingScheduler {
+
+    private final ProgramShowAndSaveService programShowAndSaveService;
+
+    //서버가 뜨고 장르 데이터가 저장된 뒤 트렌딩 캐시를 미리 채워둡니다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpTrending() {
+        refreshTrending();
+    }
+
+    @Scheduled(fixedDelayString = "${program.trending.refresh-interval:3000000}",
+        initialDelayString = "${program.trending.refresh-interval:3000000}")
+    public void refreshTrending() {
+        try {
+            programShowAndSaveService.refreshTrending();
+        } catch (RuntimeException e) {
+            //갱신에 실패하면 기존 캐시를 그대로 두고 다음 주기에 다시 시도합니다.
+            log.warn("program trending refresh failed", e);
+        }
+    }
+}
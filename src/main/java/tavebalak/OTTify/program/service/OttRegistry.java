@@ -0,0 +1,43 @@
+package tavebalak.OTTify.program.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.common.collection.LongKeyMap;
+import tavebalak.OTTify.program.entity.Ott;
+import tavebalak.OTTify.program.repository.OttRepository;
+
+// 우리 서비스가 지원하는 OTT 목록을 메모리에 올려두고 tmDbProviderId 로 조회합니다.
+// open api 가 주는 provider 대부분은 우리 OTT 테이블에 없기 때문에 조회에 실패해도 DB 를 확인하지 않습니다.
+// OTT 테이블이 바뀌면 reload 를 호출해 다시 읽어옵니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OttRegistry {
+
+    private final OttRepository ottRepository;
+
+    private volatile LongKeyMap<Ott> byTmDbProviderId = LongKeyMap.empty();
+    private volatile List<Ott> otts = Collections.emptyList();
+
+    public void reload() {
+        List<Ott> otts = ottRepository.findAll();
+        this.byTmDbProviderId = LongKeyMap.from(otts, Ott::getTmDbProviderId);
+        this.otts = Collections.unmodifiableList(otts);
+        log.info("ott registry loaded {} otts", otts.size());
+    }
+
+    public Optional<Ott> findByTmDbProviderId(Long tmDbProviderId) {
+        if (tmDbProviderId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byTmDbProviderId.get(tmDbProviderId));
+    }
+
+    public List<Ott> findAll() {
+        return otts;
+    }
+}
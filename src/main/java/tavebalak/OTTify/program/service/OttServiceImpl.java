@@ -5,7 +5,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tavebalak.OTTify.program.dto.response.OttDTO;
 import tavebalak.OTTify.program.dto.response.OttListDTO;
-import tavebalak.OTTify.program.repository.OttRepository;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,11 +14,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OttServiceImpl implements OttService {
 
-    private final OttRepository ottRepository;
+    private final OttRegistry ottRegistry;
 
     @Override
     public OttListDTO getOttList() {
-        List<OttDTO> ottDTOList = ottRepository.findAll().stream()
+        List<OttDTO> ottDTOList = ottRegistry.findAll().stream()
                 .map(OttDTO::new)
                 .collect(Collectors.toList());
 
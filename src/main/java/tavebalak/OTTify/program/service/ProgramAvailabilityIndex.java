@@ -0,0 +1,152 @@
+package tavebalak.OTTify.program.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.program.repository.ProgramAvailabilityRepository;
+
+// 프로그램별로 볼 수 있는 OTT 비트를 프로그램 id 를 인덱스로 하는 long 배열에 들고 있습니다.
+// 사용자가 구독하는 OTT 비트와 AND 한번으로 볼 수 있는지 확인하므로 요청 중에 DB 나 open api 를 부르지 않습니다.
+// 갱신할 때는 배열을 복사해 바꾼 뒤 교체하므로 읽는 쪽은 잠금 없이 읽습니다.
+// OTT 정보는 한 서버만 open api 에서 받아오므로, 다른 서버가 받아온 것은 주기적으로 마지막으로 읽은 뒤 갱신된 줄만 DB 에서 읽어 합칩니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramAvailabilityIndex {
+
+    private final ProgramAvailabilityRepository programAvailabilityRepository;
+
+    // 배열 크기가 프로그램 id 를 따라 커지므로 이보다 큰 id 는 인덱스에 넣지 않고 볼 수 없는 것으로 봅니다.
+    @Value("${program.availability.max-indexed-program-id:10000000}")
+    private int maxIndexedProgramId;
+
+    // 갱신 시각은 커밋보다 조금 앞서고 서버마다 시계가 조금 다르므로, 마지막으로 읽은 시각보다 이만큼 앞에서부터 다시 읽습니다.
+    @Value("${program.availability.sync-overlap-minutes:5}")
+    private long syncOverlapMinutes;
+
+    private volatile long[] providerMasks = new long[0];
+    private volatile LocalDateTime syncedAt;
+
+    public synchronized void reload() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Object[]> rows = programAvailabilityRepository.findAllAvailableProgramIdAndProviderMask();
+        providerMasks = merge(new long[0], toMap(rows));
+        syncedAt = startedAt;
+        log.info("program availability index loaded {} programs", rows.size());
+    }
+
+    // 다른 서버가 받아온 OTT 정보를 합칩니다. 같은 줄을 두번 합쳐도 결과는 같습니다.
+    @Scheduled(fixedDelayString = "${program.availability.sync-interval:60000}",
+        initialDelayString = "${program.availability.sync-interval:60000}")
+    public synchronized void sync() {
+        if (syncedAt == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            List<Object[]> rows = programAvailabilityRepository
+                .findProgramIdAndProviderMaskRefreshedAfter(
+                    syncedAt.minusMinutes(syncOverlapMinutes));
+            providerMasks = merge(providerMasks, toMap(rows));
+            syncedAt = startedAt;
+        } catch (RuntimeException e) {
+            //실패하면 다음 주기에 같은 시각부터 다시 읽습니다.
+            log.warn("program availability index sync failed", e);
+        }
+    }
+
+    public synchronized void update(Map<Long, Long> providerMaskByProgramId) {
+        providerMasks = merge(providerMasks, providerMaskByProgramId);
+    }
+
+    private Map<Long, Long> toMap(List<Object[]> rows) {
+        Map<Long, Long> providerMaskByProgramId = new HashMap<>();
+        rows.forEach(row -> providerMaskByProgramId.put((Long) row[0], (Long) row[1]));
+        return providerMaskByProgramId;
+    }
+
+    private long[] merge(long[] masks, Map<Long, Long> providerMaskByProgramId) {
+        long maxProgramId = -1;
+        for (Long programId : providerMaskByProgramId.keySet()) {
+            if (isIndexable(programId)) {
+                maxProgramId = Math.max(maxProgramId, programId);
+            } else {
+                log.warn("program availability not indexed. programId={}", programId);
+            }
+        }
+
+        long[] merged = Arrays.copyOf(masks, (int) Math.max(masks.length, maxProgramId + 1));
+        providerMaskByProgramId.forEach((programId, providerMask) -> {
+            if (isIndexable(programId)) {
+                merged[programId.intValue()] = providerMask;
+            }
+        });
+        return merged;
+    }
+
+    private boolean isIndexable(Long programId) {
+        return programId != null && programId >= 0 && programId < maxIndexedProgramId;
+    }
+
+    public boolean isAvailable(Long programId, long subscriptionMask) {
+        long[] masks = providerMasks;
+        return programId != null && programId < masks.length
+            && (masks[programId.intValue()] & subscriptionMask) != 0;
+    }
+
+    // 구독하는 OTT 에서 볼 수 있는 프로그램 중 서로 다른 count 개를 무작위로 뽑습니다.
+    // 배열을 한번 훑으며 reservoir sampling 으로 뽑으므로 볼 수 있는 프로그램 목록을 따로 만들지 않습니다.
+    public List<Long> sample(long subscriptionMask, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        long[] masks = providerMasks;
+        long[] sampled = new long[count];
+        int seen = 0;
+        Random random = ThreadLocalRandom.current();
+        for (int programId = 1; programId < masks.length; programId++) {
+            if ((masks[programId] & subscriptionMask) == 0) {
+                continue;
+            }
+            if (seen < count) {
+                sampled[seen] = programId;
+            } else {
+                int slot = random.nextInt(seen + 1);
+                if (slot < count) {
+                    sampled[slot] = programId;
+                }
+            }
+            seen++;
+        }
+
+        List<Long> programIds = new ArrayList<>(Math.min(seen, count));
+        for (int i = 0; i < Math.min(seen, count); i++) {
+            programIds.add(sampled[i]);
+        }
+        //앞쪽 프로그램이 먼저 채워지므로 순서를 섞습니다.
+        Collections.shuffle(programIds, random);
+        return programIds;
+    }
+
+    // ott id 번째 비트를 켠 값입니다. 64 이상의 id 는 표시할 수 없어 무시합니다.
+    public static long toMask(Iterable<Long> ottIds) {
+        long mask = 0L;
+        for (Long ottId : ottIds) {
+            if (ottId != null && ottId >= 0 && ottId < Long.SIZE) {
+                mask |= 1L << ottId;
+            }
+        }
+        return mask;
+    }
+}
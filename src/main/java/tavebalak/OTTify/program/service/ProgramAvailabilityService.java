@@ -0,0 +1,133 @@
+package tavebalak.OTTify.program.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import tavebalak.OTTify.common.component.TmDbGateway;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.providerDetails.OACountryDetailsDto;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.providerDetails.OAProgramProviderDto;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.providerDetails.OAProviderDetailsDto;
+import tavebalak.OTTify.program.entity.Ott;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.entity.ProgramType;
+import tavebalak.OTTify.program.repository.ProgramAvailabilityJdbcRepository;
+import tavebalak.OTTify.program.repository.ProgramAvailabilityRepository;
+import tavebalak.OTTify.user.repository.UserSubscribingOttRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProgramAvailabilityService {
+
+    private final ProgramAvailabilityRepository programAvailabilityRepository;
+    private final ProgramAvailabilityJdbcRepository programAvailabilityJdbcRepository;
+    private final ProgramAvailabilityIndex programAvailabilityIndex;
+    private final UserSubscribingOttRepository userSubscribingOttRepository;
+    private final OttRegistry ottRegistry;
+    private final TmDbGateway tmDbGateway;
+
+    @Value("${program.availability.batch-size:200}")
+    private int batchSize;
+
+    @Value("${program.availability.concurrency:4}")
+    private int concurrency;
+
+    @Value("${program.availability.max-age-hours:24}")
+    private long maxAgeHours;
+
+    @Value("${program.availability.retry-after-minutes:60}")
+    private long retryAfterMinutes;
+
+    // OTT 정보가 없거나 오래된 프로그램을 batch-size 개까지 골라 open api 에서 다시 받아옵니다.
+    // 동시에 보내는 요청은 concurrency 개로 제한하고, 실패한 프로그램은 retry-after-minutes 뒤에 다시 시도합니다.
+    // 갱신한 프로그램 수를 돌려주며, 0 이면 더 갱신할 프로그램이 없는 것입니다.
+    // open api 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행합니다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int refreshStaleAvailabilities() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Program> programs = programAvailabilityRepository.findRefreshTargets(
+            now.minusHours(maxAgeHours), PageRequest.of(0, batchSize));
+        if (programs.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> providerMaskByProgramId = Flux.fromIterable(programs)
+            .flatMap(program -> getProviderDtoMono(program.getTmDbProgramId(), program.getType())
+                .map(oaProgramProviderDto -> Tuples.of(program.getId(),
+                    toProviderMask(oaProgramProviderDto)))
+                .onErrorResume(e -> {
+                    log.debug("program availability fetch failed. programId={}", program.getId(), e);
+                    return Mono.empty();
+                }), concurrency)
+            .collectMap(Tuple2::getT1, Tuple2::getT2, HashMap::new)
+            .block(Duration.ofMinutes(5));
+
+        Map<Long, Long> fetched = providerMaskByProgramId == null
+            ? Map.of() : providerMaskByProgramId;
+        List<Long> failedProgramIds = programs.stream()
+            .map(Program::getId)
+            .filter(programId -> !fetched.containsKey(programId))
+            .collect(Collectors.toList());
+        //실패한 프로그램은 retry-after-minutes 뒤에 다시 오래된 프로그램이 되도록 refreshedAt 을 당겨 둡니다.
+        programAvailabilityJdbcRepository.markFailed(failedProgramIds,
+            now.minusHours(maxAgeHours).plusMinutes(retryAfterMinutes));
+        if (fetched.isEmpty()) {
+            return 0;
+        }
+
+        //다른 서버가 갱신 시각으로 새 줄을 찾아 읽으므로, 갱신 시각은 받아오기 시작한 시각이 아니라 쓰는 시각으로 남깁니다.
+        programAvailabilityJdbcRepository.replaceAll(fetched, LocalDateTime.now());
+        programAvailabilityIndex.update(fetched);
+        return fetched.size();
+    }
+
+    public long findSubscriptionMask(Long userId) {
+        return ProgramAvailabilityIndex.toMask(
+            userSubscribingOttRepository.findOttIdsByUserId(userId));
+    }
+
+    private Mono<OAProgramProviderDto> getProviderDtoMono(Long tmDbProgramId,
+        ProgramType programType) {
+        String uriTemplate = programType == ProgramType.Movie
+            ? "/movie/{tmDbId}/watch/providers" : "/tv/{tmDbId}/watch/providers";
+
+        return tmDbGateway.get(OAProgramProviderDto.class, uriTemplate, tmDbProgramId);
+    }
+
+    //한국에서 정액제로 볼 수 있는 provider 중 우리 서비스가 지원하는 OTT 만 비트로 표시합니다.
+    private long toProviderMask(OAProgramProviderDto oaProgramProviderDto) {
+        if (oaProgramProviderDto.getResults() == null) {
+            return 0L;
+        }
+        OACountryDetailsDto krDetails = oaProgramProviderDto.getResults().get("KR");
+        if (krDetails == null || krDetails.getFlatrate() == null) {
+            return 0L;
+        }
+
+        List<Long> ottIds = krDetails.getFlatrate().stream()
+            .map(OAProviderDetailsDto::getProvider_id)
+            .map(ottRegistry::findByTmDbProviderId)
+            .flatMap(Optional::stream)
+            .map(Ott::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return ProgramAvailabilityIndex.toMask(ottIds);
+    }
+}
@@ -0,0 +1,142 @@
+package tavebalak.OTTify.program.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tavebalak.OTTify.error.ErrorCode;
+import tavebalak.OTTify.error.exception.InternalServerErrorException;
+import tavebalak.OTTify.error.exception.NotFoundException;
+import tavebalak.OTTify.genre.entity.Genre;
+import tavebalak.OTTify.genre.service.GenreRegistry;
+import tavebalak.OTTify.program.dto.searchTrending.openApiRequest.SearchTrendingOpenApiProgramInfo;
+import tavebalak.OTTify.program.event.ProgramsSavedEvent;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.entity.ProgramType;
+import tavebalak.OTTify.program.repository.ProgramJdbcRepository;
+import tavebalak.OTTify.program.repository.ProgramRepository;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ProgramBulkSaveService {
+
+    private final ProgramRepository programRepository;
+    private final ProgramJdbcRepository programJdbcRepository;
+    private final GenreRegistry genreRegistry;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // open api 한 페이지의 프로그램을 한번에 조회하고, 저장되지 않은 프로그램만 batch 로 저장합니다.
+    // 반환하는 map 의 key 는 tmDb 프로그램 id 입니다.
+    @Transactional
+    public Map<Long, Program> saveAllAndGetProgramMap(
+        List<SearchTrendingOpenApiProgramInfo> programInfos, ProgramType programType) {
+
+        Map<Long, SearchTrendingOpenApiProgramInfo> programInfoMap = programInfos.stream()
+            .collect(Collectors.toMap(SearchTrendingOpenApiProgramInfo::getId,
+                Function.identity(), (first, second) -> first, LinkedHashMap::new));
+
+        if (programInfoMap.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        //이미 저장된 프로그램은 한번의 IN 쿼리로 가져옵니다.
+        Map<Long, Program> programMap = findProgramMap(programInfoMap.keySet(), programType);
+
+        List<SearchTrendingOpenApiProgramInfo> newProgramInfos = programInfoMap.values().stream()
+            .filter(programInfo -> !programMap.containsKey(programInfo.getId()))
+            .collect(Collectors.toList());
+
+        if (!newProgramInfos.isEmpty()) {
+            programMap.putAll(insertPrograms(newProgramInfos, programType));
+        }
+
+        return programMap;
+    }
+
+    private Map<Long, Program> insertPrograms(List<SearchTrendingOpenApiProgramInfo> newProgramInfos,
+        ProgramType programType) {
+        Map<Long, Genre> genreMap = findGenreMap(newProgramInfos);
+
+        List<Program> newPrograms = newProgramInfos.stream()
+            .map(programInfo -> apiProgramToProgram(programInfo, programType))
+            .collect(Collectors.toList());
+
+        try {
+            programJdbcRepository.batchInsertPrograms(newPrograms);
+
+            //IDENTITY 로 생성된 id 를 알기 위해 새로 저장한 프로그램만 다시 조회합니다.
+            Map<Long, Program> savedProgramMap = findProgramMap(newProgramInfos.stream()
+                .map(SearchTrendingOpenApiProgramInfo::getId)
+                .collect(Collectors.toSet()), programType);
+
+            Map<Long, List<Long>> genreIdsByProgramId = new HashMap<>();
+            newProgramInfos.forEach(programInfo -> genreIdsByProgramId.put(
+                savedProgramMap.get(programInfo.getId()).getId(),
+                programInfo.getGenre_ids().stream()
+                    .map(gi -> genreMap.get(gi).getId())
+                    .collect(Collectors.toList())));
+
+            programJdbcRepository.batchInsertProgramGenres(genreIdsByProgramId);
+            applicationEventPublisher.publishEvent(new ProgramsSavedEvent(genreIdsByProgramId));
+
+            return savedProgramMap;
+        } catch (DataIntegrityViolationException e) {
+            throw new InternalServerErrorException(ErrorCode.DATA_SAVING_ERROR);
+        }
+    }
+
+    private Map<Long, Program> findProgramMap(Set<Long> tmDbProgramIds, ProgramType programType) {
+        return programRepository.findByTmDbProgramIdInAndType(tmDbProgramIds, programType).stream()
+            .collect(Collectors.toMap(Program::getTmDbProgramId, Function.identity(),
+                (first, second) -> first, HashMap::new));
+    }
+
+    //새로 저장할 프로그램들의 장르를 한번에 조회합니다. 저장되지 않은 장르가 있으면 예외를 던집니다.
+    private Map<Long, Genre> findGenreMap(List<SearchTrendingOpenApiProgramInfo> programInfos) {
+        Set<Long> tmDbGenreIds = programInfos.stream()
+            .flatMap(programInfo -> programInfo.getGenre_ids().stream())
+            .collect(Collectors.toSet());
+
+        return tmDbGenreIds.stream()
+            .collect(Collectors.toMap(Function.identity(),
+                tmDbGenreId -> genreRegistry.findByTmDbGenreId(tmDbGenreId)
+                    .orElseThrow(() -> new NotFoundException(ErrorCode.PROGRAM_GENRE_NOT_FOUND))));
+    }
+
+    //받아온 api 정보를 이용해 우리가 만든 Program 에 필요한 값을 넣어줍니다.
+    private Program apiProgramToProgram(
+        SearchTrendingOpenApiProgramInfo searchTrendingOpenApiProgramInfo,
+        ProgramType programType) {
+        // 공통 관련 빌드
+        Program.ProgramBuilder programBuilder = Program.builder()
+            .tmDbProgramId(searchTrendingOpenApiProgramInfo.getId())
+            .type(programType)
+            .posterPath(searchTrendingOpenApiProgramInfo.getPoster_path());
+
+        //영화일 경우
+        if (programType == ProgramType.Movie) {
+            programBuilder.title(searchTrendingOpenApiProgramInfo.getTitle());
+            String createdDate = searchTrendingOpenApiProgramInfo.getRelease_date();
+            programBuilder.createdYear(
+                createdDate.length() >= 4 ? createdDate.substring(0, 4) : null);
+        }
+        //tv 일 경우
+        else {
+            programBuilder.title(searchTrendingOpenApiProgramInfo.getName());
+            String createdDate = searchTrendingOpenApiProgramInfo.getFirst_air_date();
+            programBuilder.createdYear(
+                createdDate.length() >= 4 ? createdDate.substring(0, 4) : null);
+        }
+
+        return programBuilder.build();
+    }
+}
@@ -1,13 +1,17 @@
 package tavebalak.OTTify.program.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tavebalak.OTTify.error.ErrorCode;
 import tavebalak.OTTify.error.exception.NotFoundException;
 import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.event.ProgramExclusionChangedEvent;
+import tavebalak.OTTify.program.event.ProgramInteractionEvent;
 import tavebalak.OTTify.program.repository.ProgramRepository;
 import tavebalak.OTTify.user.entity.User;
+import tavebalak.OTTify.user.event.UserPreferenceChangedEvent;
 import tavebalak.OTTify.user.repository.LikedProgramRepository;
 import tavebalak.OTTify.user.repository.UninterestedProgramRepository;
 
@@ -18,12 +22,18 @@ public class ProgramChoiceServiceImpl implements ProgramChoiceService{
     private final ProgramRepository programRepository;
     private final LikedProgramRepository likedProgramRepository;
     private final UninterestedProgramRepository uninterestedProgramRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
     @Transactional
     public void LikeProgram(User user,Long programId){
         Program program = programRepository.findById(programId).orElseThrow(()->new NotFoundException(ErrorCode.PROGRAM_NOT_FOUND));
 
         likedProgramRepository.findByProgramAndUser(program,user).ifPresentOrElse(likedProgram ->
-                user.getLikedPrograms().remove(likedProgram),()->user.likeProgram(program));
+                user.getLikedPrograms().remove(likedProgram),()->{
+                    user.likeProgram(program);
+                    //추천 모델에 새 좋아요를 반영합니다.
+                    applicationEventPublisher.publishEvent(ProgramInteractionEvent.like(user.getId(), programId));
+                });
+        applicationEventPublisher.publishEvent(new UserPreferenceChangedEvent(user.getId()));
 
     }
 
@@ -31,8 +41,14 @@ public class ProgramChoiceServiceImpl implements ProgramChoiceService{
     public void UnInterestedProgram(User user,Long programId){
         Program program = programRepository.findById(programId).orElseThrow(()->new NotFoundException(ErrorCode.PROGRAM_NOT_FOUND));
 
-        uninterestedProgramRepository.findByProgramAndUser(program,user).ifPresentOrElse(uninterestedProgram ->
-                user.getUninterestedPrograms().remove(uninterestedProgram),()->user.unInterestedProgram(program));
+        //추천에서 빼거나 다시 넣을 수 있도록 제외 목록에도 반영합니다.
+        uninterestedProgramRepository.findByProgramAndUser(program,user).ifPresentOrElse(uninterestedProgram ->{
+                    user.getUninterestedPrograms().remove(uninterestedProgram);
+                    applicationEventPublisher.publishEvent(new ProgramExclusionChangedEvent(user.getId(), programId, false));
+                },()->{
+                    user.unInterestedProgram(program);
+                    applicationEventPublisher.publishEvent(new ProgramExclusionChangedEvent(user.getId(), programId, true));
+                });
 
     }
 }
@@ -1,5 +1,6 @@
 package tavebalak.OTTify.program.service;
 
+import reactor.core.publisher.Mono;
 import tavebalak.OTTify.program.dto.programDetails.Response.ProgramResponseDto;
 import tavebalak.OTTify.program.dto.response.UserSpecificRatingResponseDto;
 import tavebalak.OTTify.user.entity.User;
@@ -8,5 +9,7 @@ public interface ProgramDetailsShowService {
 
     ProgramResponseDto showDetails(Long programId);
 
+    Mono<ProgramResponseDto> showDetailsAsync(Long programId);
+
     UserSpecificRatingResponseDto showUserSpecificRating(User user, Long programId);
 }
@@ -8,17 +8,16 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClient.RequestHeadersUriSpec;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.util.function.Tuple3;
+import tavebalak.OTTify.common.cache.TieredCache;
+import tavebalak.OTTify.common.component.TmDbGateway;
 import tavebalak.OTTify.error.ErrorCode;
 import tavebalak.OTTify.error.exception.NotFoundException;
 import tavebalak.OTTify.genre.entity.Genre;
-import tavebalak.OTTify.genre.repository.GenreRepository;
 import tavebalak.OTTify.genre.repository.UserGenreRepository;
+import tavebalak.OTTify.genre.service.GenreRegistry;
 import tavebalak.OTTify.program.dto.programDetails.Response.ProgramDetailResponse;
 import tavebalak.OTTify.program.dto.programDetails.Response.ProgramProviderListResponseDto;
 import tavebalak.OTTify.program.dto.programDetails.Response.ProgramProviderResponseDto;
@@ -30,13 +29,11 @@ import tavebalak.OTTify.program.dto.programDetails.openApiRequest.programDetailR
 import tavebalak.OTTify.program.dto.programDetails.openApiRequest.programDetailRequest.OATvDetailsDto;
 import tavebalak.OTTify.program.dto.programDetails.openApiRequest.providerDetails.OACountryDetailsDto;
 import tavebalak.OTTify.program.dto.programDetails.openApiRequest.providerDetails.OAProgramProviderDto;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.providerDetails.OAProviderDetailsDto;
 import tavebalak.OTTify.program.dto.response.UserSpecificRatingResponseDto;
-import tavebalak.OTTify.program.entity.Ott;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.entity.ProgramType;
-import tavebalak.OTTify.program.repository.OttRepository;
 import tavebalak.OTTify.program.repository.ProgramRepository;
-import tavebalak.OTTify.review.repository.ReviewRepository;
 import tavebalak.OTTify.user.entity.User;
 
 @Service
@@ -44,76 +41,76 @@ import tavebalak.OTTify.user.entity.User;
 @RequiredArgsConstructor
 public class ProgramDetailsShowServiceImpl implements ProgramDetailsShowService {
 
-    private final WebClient webClient;
-    private final GenreRepository genreRepository;
+    private final TmDbGateway tmDbGateway;
+    private final GenreRegistry genreRegistry;
     private final ProgramRepository programRepository;
-    private final OttRepository ottRepository;
+    private final OttRegistry ottRegistry;
     private final UserGenreRepository userGenreRepository;
-    private final ReviewRepository reviewRepository;
+    private final TieredCache<ProgramDetailResponse> programDetailsCache;
+    private final TieredCache<OAProgramCreditsDto> programCreditsCache;
+    private final TieredCache<ProgramProviderListResponseDto> programProvidersCache;
+    private final ProgramViewCounter programViewCounter;
+    private final ProgramGenreRatingStore programGenreRatingStore;
 
 
+    //open api 응답을 기다리는 동안 트랜잭션(DB 커넥션)을 잡고 있지 않도록 트랜잭션 없이 실행합니다.
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProgramResponseDto showDetails(Long programId) {
+        return showDetailsAsync(programId).block();
+    }
+
+    //DB 조회를 먼저 끝내고, open api 요청이 모두 끝나면 응답 DTO 를 만드는 Mono 를 반환합니다.
+    //open api 요청을 기다리는 동안 요청 스레드를 붙잡지 않습니다.
+    @Override
+    public Mono<ProgramResponseDto> showDetailsAsync(Long programId) {
         Program program = programRepository.findById(programId)
             .orElseThrow(() -> new NotFoundException(ErrorCode.PROGRAM_NOT_FOUND));
-
-        //API 요청 첫번째: 프로그램 상세 정보
-        Mono<?> OAProgramDetailsDtoMono = getProgramDetails(program.getTmDbProgramId(),
-            program.getType()).subscribeOn(Schedulers.boundedElastic());
-
-        //API 요청 두번째: 사람 상세 정보
-        Mono<OAProgramCreditsDto> oaProgramCreditsDtoMono = getCreditsDtoMono(
-            program.getTmDbProgramId(),
-            program.getType()).subscribeOn(Schedulers.boundedElastic());
-
-        //API 요청 세번째: Provider 상세 정보
-        Mono<OAProgramProviderDto> oaProgramProviderDtoMono = getProviderDtoMono(
-            program.getTmDbProgramId(),
-            program.getType()).subscribeOn(Schedulers.boundedElastic());
-
-        //비동기식으로 api 요청
-        Tuple3<?, OAProgramCreditsDto, OAProgramProviderDto> tuple3 = Mono.zip(
-            OAProgramDetailsDtoMono, oaProgramCreditsDtoMono, oaProgramProviderDtoMono).block();
-
-        //programDetailResponse 생성
-        ProgramDetailResponse programDetailResponse = createProgramDetailResponse(
-            (OAProgramDetailsDto) tuple3.getT1());
-
-        //배우, 감독 한글로 변환 및 감독을 앞으로
-        changeActorAndDirectorToKorea(tuple3.getT2());
-
-        //한국 ott 추출
-        Optional<OACountryDetailsDto> kr = Optional.ofNullable(
-            tuple3.getT3().getResults().get("KR"));
-
-        //사용자에게 보낼 DTO 를 만들고 OTT 의 이름을 한글로 변환시키는 작업을 수행합니다.
-        Optional<ProgramProviderListResponseDto> programProviderListResponseDto = kr.map(
-            oaCountryDetailsDto -> changeOTTtoKoreanAndMakeProviderResponseDto(
-                oaCountryDetailsDto));
-
-        // 사용자에게 보내줄 DTO
-        ProgramResponseDto programResponseDto = new ProgramResponseDto(programDetailResponse,
-            tuple3.getT2(), programProviderListResponseDto.orElse(null),
-            program.getAverageRating());
-
-        return programResponseDto;
-
+        programViewCounter.record(programId);
+
+        //캐시 key 는 (프로그램 타입, tmDb 프로그램 id) 입니다.
+        String cacheKey = program.getType() + ":" + program.getTmDbProgramId();
+
+        //API 요청 첫번째: 프로그램 상세 정보, 장르 이름을 한글로 바꾼 뒤 캐시합니다.
+        Mono<ProgramDetailResponse> programDetailResponseMono = programDetailsCache.getOrLoad(
+            cacheKey, getProgramDetails(program.getTmDbProgramId(), program.getType())
+                .map(oaProgramDetailsDto -> createProgramDetailResponse(
+                    (OAProgramDetailsDto) oaProgramDetailsDto)));
+
+        //API 요청 두번째: 사람 상세 정보, 배우, 감독 한글로 변환 및 감독을 앞으로 옮긴 뒤 캐시합니다.
+        Mono<OAProgramCreditsDto> oaProgramCreditsDtoMono = programCreditsCache.getOrLoad(
+            cacheKey, getCreditsDtoMono(program.getTmDbProgramId(), program.getType())
+                .doOnNext(this::changeActorAndDirectorToKorea));
+
+        //API 요청 세번째: Provider 상세 정보, 한국 ott 를 추출하고 OTT 의 이름을 한글로 바꾼 뒤 캐시합니다.
+        //한국 ott 가 없는 경우 Optional.empty() 가 됩니다.
+        Mono<Optional<ProgramProviderListResponseDto>> providerListResponseDtoMono =
+            programProvidersCache.getOrLoad(cacheKey,
+                    getProviderDtoMono(program.getTmDbProgramId(), program.getType())
+                        .flatMap(oaProgramProviderDto -> Mono.justOrEmpty(
+                            oaProgramProviderDto.getResults().get("KR")))
+                        .map(this::changeOTTtoKoreanAndMakeProviderResponseDto))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+
+        //비동기식으로 api 요청 후 사용자에게 보내줄 DTO 를 만듭니다.
+        double averageRating = program.getAverageRating();
+        return Mono.zip(programDetailResponseMono, oaProgramCreditsDtoMono,
+                providerListResponseDtoMono)
+            .map(tuple3 -> new ProgramResponseDto(tuple3.getT1(), tuple3.getT2(),
+                tuple3.getT3().orElse(null), averageRating));
     }
 
     //프로그램 상세 정보를 open api 를 통해서 요청
     private Mono<?> getProgramDetails(Long tmDbId, ProgramType programType) {
         if (programType == ProgramType.Movie) {
-            Mono<OAMovieDetailsDto> oaMovieDetailsDtoMono = webClient.get()
-                .uri("/movie/" + tmDbId + "?language=ko")
-                .retrieve()
-                .bodyToMono(OAMovieDetailsDto.class);
+            Mono<OAMovieDetailsDto> oaMovieDetailsDtoMono = tmDbGateway.get(
+                OAMovieDetailsDto.class, "/movie/{tmDbId}?language=ko", tmDbId);
 
             return oaMovieDetailsDtoMono;
         } else {
-            Mono<OATvDetailsDto> oaTvDetailsDtoMono = webClient.get()
-                .uri("/tv/" + tmDbId + "?language=ko")
-                .retrieve()
-                .bodyToMono(OATvDetailsDto.class);
+            Mono<OATvDetailsDto> oaTvDetailsDtoMono = tmDbGateway.get(
+                OATvDetailsDto.class, "/tv/{tmDbId}?language=ko", tmDbId);
 
             return oaTvDetailsDtoMono;
         }
@@ -136,7 +133,7 @@ public class ProgramDetailsShowServiceImpl implements ProgramDetailsShowService
 
         oaProgramDetailsDto.getTmDbGenreInfos().stream().forEach(g -> {
             if (changeGenreIds.contains(g.getId())) {
-                g.changeName(genreRepository.findByTmDbGenreId(g.getId())
+                g.changeName(genreRegistry.findByTmDbGenreId(g.getId())
                     .orElseThrow(() -> new NotFoundException(ErrorCode.PROGRAM_GENRE_NOT_FOUND))
                     .getName());
             }
@@ -192,17 +189,10 @@ public class ProgramDetailsShowServiceImpl implements ProgramDetailsShowService
     //프로그램의 배우 가져오기
     private Mono<OAProgramCreditsDto> getCreditsDtoMono(Long tmDbProgramId,
         ProgramType programType) {
-        RequestHeadersUriSpec<?> requestHeadersUriSpec = webClient.get();
-
-        if (programType == ProgramType.Movie) {
-            requestHeadersUriSpec.uri("/movie/" + tmDbProgramId + "/credits");
-        } else {
-            requestHeadersUriSpec.uri("/tv/" + tmDbProgramId + "/credits");
-        }
+        String uriTemplate = programType == ProgramType.Movie
+            ? "/movie/{tmDbId}/credits" : "/tv/{tmDbId}/credits";
 
-        return requestHeadersUriSpec
-            .retrieve()
-            .bodyToMono(OAProgramCreditsDto.class);
+        return tmDbGateway.get(OAProgramCreditsDto.class, uriTemplate, tmDbProgramId);
 
     }
 
@@ -264,57 +254,22 @@ public class ProgramDetailsShowServiceImpl implements ProgramDetailsShowService
     private Mono<OAProgramProviderDto> getProviderDtoMono(Long tmDbProgramId,
         ProgramType programType) {
 
-        RequestHeadersUriSpec<?> requestHeadersUriSpec = webClient.get();
-        if (programType == ProgramType.Movie) {
-            requestHeadersUriSpec.uri("/movie/" + tmDbProgramId + "/watch/providers");
-        } else {
-            requestHeadersUriSpec.uri("/tv/" + tmDbProgramId + "/watch/providers");
-        }
-        return requestHeadersUriSpec
-            .retrieve()
-            .bodyToMono(OAProgramProviderDto.class);
+        String uriTemplate = programType == ProgramType.Movie
+            ? "/movie/{tmDbId}/watch/providers" : "/tv/{tmDbId}/watch/providers";
+
+        return tmDbGateway.get(OAProgramProviderDto.class, uriTemplate, tmDbProgramId);
 
     }
 
     private ProgramProviderListResponseDto changeOTTtoKoreanAndMakeProviderResponseDto(
         OACountryDetailsDto oaCountryDetailsDto) {
 
-        List<ProgramProviderResponseDto> buy = new ArrayList<>();
-        List<ProgramProviderResponseDto> rent = new ArrayList<>();
-        List<ProgramProviderResponseDto> streaming = new ArrayList<>();
-
-        Optional.ofNullable(oaCountryDetailsDto.getBuy()).ifPresent(oaProviderDetailsDtos -> {
-            oaProviderDetailsDtos.stream().filter(oaProviderDetailsDto ->
-                ottRepository.existsByTmDbProviderId(oaProviderDetailsDto.getProvider_id())
-            ).forEach(oaProviderDetailsDto -> {
-                Optional<Ott> ott = ottRepository.findByTmDbProviderId(
-                    oaProviderDetailsDto.getProvider_id());
-                buy.add(new ProgramProviderResponseDto(oaProviderDetailsDto.getLogo_path(),
-                    ott.orElse(null).getName()));
-            });
-        });
-
-        Optional.ofNullable(oaCountryDetailsDto.getRent()).ifPresent(oaProviderDetailsDtos -> {
-            oaProviderDetailsDtos.stream().filter(oaProviderDetailsDto ->
-                ottRepository.existsByTmDbProviderId(oaProviderDetailsDto.getProvider_id())
-            ).forEach(oaProviderDetailsDto -> {
-                Optional<Ott> ott = ottRepository.findByTmDbProviderId(
-                    oaProviderDetailsDto.getProvider_id());
-                rent.add(new ProgramProviderResponseDto(oaProviderDetailsDto.getLogo_path(),
-                    ott.orElse(null).getName()));
-            });
-        });
-
-        Optional.ofNullable(oaCountryDetailsDto.getFlatrate()).ifPresent(oaProviderDetailsDtos -> {
-            oaProviderDetailsDtos.stream().filter(oaProviderDetailsDto ->
-                ottRepository.existsByTmDbProviderId(oaProviderDetailsDto.getProvider_id())
-            ).forEach(oaProviderDetailsDto -> {
-                Optional<Ott> ott = ottRepository.findByTmDbProviderId(
-                    oaProviderDetailsDto.getProvider_id());
-                streaming.add(new ProgramProviderResponseDto(oaProviderDetailsDto.getLogo_path(),
-                    ott.orElse(null).getName()));
-            });
-        });
+        List<ProgramProviderResponseDto> buy = toProviderResponseDtos(
+            oaCountryDetailsDto.getBuy());
+        List<ProgramProviderResponseDto> rent = toProviderResponseDtos(
+            oaCountryDetailsDto.getRent());
+        List<ProgramProviderResponseDto> streaming = toProviderResponseDtos(
+            oaCountryDetailsDto.getFlatrate());
 
         return ProgramProviderListResponseDto.builder()
             .buy(buy)
@@ -327,6 +282,22 @@ public class ProgramDetailsShowServiceImpl implements ProgramDetailsShowService
 
     }
 
+    //우리 서비스가 지원하는 OTT 만 남기고 OTT 이름을 한글 이름으로 바꿉니다.
+    private List<ProgramProviderResponseDto> toProviderResponseDtos(
+        List<OAProviderDetailsDto> oaProviderDetailsDtos) {
+        if (oaProviderDetailsDtos == null) {
+            return new ArrayList<>();
+        }
+
+        List<ProgramProviderResponseDto> providerResponseDtos = new ArrayList<>();
+        oaProviderDetailsDtos.forEach(oaProviderDetailsDto ->
+            ottRegistry.findByTmDbProviderId(oaProviderDetailsDto.getProvider_id())
+                .ifPresent(ott -> providerResponseDtos.add(new ProgramProviderResponseDto(
+                    oaProviderDetailsDto.getLogo_path(), ott.getName()))));
+        return providerResponseDtos;
+
+    }
+
     //user 의 first genre 에 맞춘 평점과 User 의 first Genre name을 함꼐 반환합니다.
 
     @Override
@@ -336,16 +307,10 @@ public class ProgramDetailsShowServiceImpl implements ProgramDetailsShowService
             .orElseThrow(() -> new NotFoundException(ErrorCode.USER_FIRST_GENRE_NOT_FOUND))
             .getGenre();
 
-        int userSpecificGenreCount = reviewRepository.countByGenreName(usersFirstGenre.getName(),
-            programId);
-
-        Double sumRating = reviewRepository.sumReviewRatingByGenreName(usersFirstGenre.getName(),
-            programId);
-
-        double userSpecificReviewRatingSum = (sumRating != null) ? sumRating : 0.0;
+        ProgramGenreRatingStore.GenreRating genreRating = programGenreRatingStore
+            .findByProgramId(programId).get(usersFirstGenre.getName());
 
-        double avg =
-            userSpecificGenreCount == 0 ? 0 : userSpecificReviewRatingSum / userSpecificGenreCount;
+        double avg = genreRating == null ? 0 : genreRating.getAverageRating();
 
         return new UserSpecificRatingResponseDto(usersFirstGenre.getName(), avg);
     }
@@ -0,0 +1,125 @@
+package tavebalak.OTTify.program.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.program.entity.ProgramGenreRating;
+import tavebalak.OTTify.program.event.ProgramRatingChangedEvent;
+import tavebalak.OTTify.program.repository.ProgramGenreRatingJdbcRepository;
+import tavebalak.OTTify.program.repository.ProgramGenreRatingRepository;
+
+// 프로그램별, 작성자 1순위 장르별 별점 집계를 관리합니다.
+// 집계는 리뷰를 쓰는 트랜잭션 안에서 한 문장의 update 로 더하고 빼며(행을 먼저 읽어 잠그지 않습니다), 읽을 때는 프로그램 단위로 programGenreRatings 로컬 캐시(10분)에 들고 있습니다.
+// 캐시는 커밋 뒤 발행되는 ProgramRatingChangedEvent 로 비웁니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramGenreRatingStore {
+
+    private final ProgramGenreRatingRepository programGenreRatingRepository;
+    private final ProgramGenreRatingJdbcRepository programGenreRatingJdbcRepository;
+
+    // 모든 프로그램의 집계를 리뷰에서 프로그램마다 다시 계산합니다. 어긋난 집계를 바로잡을 때 한 서버에서만 따로 실행합니다.
+    // 프로그램마다 그 프로그램 행을 잠그고 계산하므로 리뷰 쓰기와 겹쳐도 더한 값을 잃지 않고, 실패한 프로그램은 건너뜁니다.
+    // 로컬 캐시에 든 집계는 캐시가 만료되면 바뀝니다.
+    public void repairAll() {
+        List<Long> programIds = programGenreRatingJdbcRepository.findProgramIdsWithRatings();
+        int failed = 0;
+        for (Long programId : programIds) {
+            try {
+                programGenreRatingJdbcRepository.recompute(programId);
+            } catch (DataAccessException e) {
+                failed++;
+                log.warn("program genre rating repair failed. programId={}", programId, e);
+            }
+        }
+        log.info("program genre ratings repaired for {} programs, {} failed", programIds.size(),
+            failed);
+    }
+
+    // 장르 이름별 집계를 돌려줍니다. 리뷰가 없는 장르는 들어있지 않거나 리뷰 수가 0 입니다.
+    @Cacheable(cacheNames = "programGenreRatings", key = "#programId")
+    @Transactional(readOnly = true)
+    public Map<String, GenreRating> findByProgramId(Long programId) {
+        return programGenreRatingRepository.findByProgramId(programId).stream()
+            .collect(Collectors.toUnmodifiableMap(rating -> rating.getId().getGenre(),
+                GenreRating::new));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addRating(Long programId, String genre, double rating) {
+        if (genre == null) {
+            return;
+        }
+        programGenreRatingJdbcRepository.createIfAbsent(programId, genre);
+        change(programId, genre, 1, rating, ProgramGenreRating.histogramDelta(rating, 1));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changeRating(Long programId, String genre, double beforeRating,
+        double afterRating) {
+        int[] histogramDelta = ProgramGenreRating.histogramDelta(beforeRating, -1);
+        histogramDelta[ProgramGenreRating.bucket(afterRating)]++;
+        change(programId, genre, 0, afterRating - beforeRating, histogramDelta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeRating(Long programId, String genre, double rating) {
+        change(programId, genre, -1, -rating, ProgramGenreRating.histogramDelta(rating, -1));
+    }
+
+    // 집계가 없으면 repairAll 로 다시 계산할 수 있으므로 리뷰 수정, 삭제는 막지 않습니다.
+    private void change(Long programId, String genre, int reviewCountDelta, double ratingSumDelta,
+        int[] histogramDelta) {
+        if (genre == null) {
+            return;
+        }
+        int updated = programGenreRatingJdbcRepository.applyDelta(programId, genre,
+            reviewCountDelta, ratingSumDelta, histogramDelta);
+        if (updated == 0) {
+            log.warn("program genre rating not found. programId={}, genre={}", programId, genre);
+        }
+    }
+
+    @CacheEvict(cacheNames = "programGenreRatings", key = "#event.programId")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramRatingChanged(ProgramRatingChangedEvent event) {
+        //캐시만 비우고 다음 조회 때 DB 에서 다시 읽습니다.
+    }
+
+    // 캐시에 두는 집계 값입니다. 캐시에서 꺼낸 값을 고치지 못하도록 별점 분포는 복사해서 돌려줍니다.
+    @Getter
+    public static class GenreRating {
+
+        private final int reviewCount;
+        private final double ratingSum;
+        @Getter(AccessLevel.NONE)
+        private final int[] ratingHistogram;
+
+        private GenreRating(ProgramGenreRating rating) {
+            this.reviewCount = rating.getReviewCount();
+            this.ratingSum = rating.getRatingSum();
+            this.ratingHistogram = rating.getRatingHistogram();
+        }
+
+        public int[] getRatingHistogram() {
+            return ratingHistogram.clone();
+        }
+
+        public double getAverageRating() {
+            return reviewCount == 0 ? 0 : ratingSum / reviewCount;
+        }
+    }
+}
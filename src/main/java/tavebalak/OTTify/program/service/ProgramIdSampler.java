@@ -0,0 +1,42 @@
+package tavebalak.OTTify.program.service;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.common.collection.AppendOnlyLongArray;
+import tavebalak.OTTify.program.event.ProgramsSavedEvent;
+import tavebalak.OTTify.program.repository.ProgramRepository;
+
+// 저장된 모든 프로그램 id 를 long 배열로 들고 있다가, 서로 다른 k 개의 id 를 O(k) 로 뽑아줍니다.
+// 새 프로그램이 저장되면 ProgramsSavedEvent 를 받아 배열 뒤에 id 를 덧붙입니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramIdSampler {
+
+    private final ProgramRepository programRepository;
+
+    private volatile AppendOnlyLongArray programIds = new AppendOnlyLongArray();
+
+    public void reload() {
+        List<Long> ids = programRepository.findAllIds();
+        programIds = new AppendOnlyLongArray(ids);
+        log.info("program id sampler loaded {} programs", ids.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramsSaved(ProgramsSavedEvent event) {
+        programIds.addAll(event.getGenreIdsByProgramId().keySet());
+    }
+
+    public List<Long> sample(int count) {
+        return programIds.sample(count);
+    }
+
+    public int size() {
+        return programIds.size();
+    }
+}
@@ -0,0 +1,191 @@
+package tavebalak.OTTify.program.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.genre.service.GenreRegistry;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.event.ProgramRatingChangedEvent;
+import tavebalak.OTTify.program.repository.ProgramRepository;
+
+// 별점 상위 프로그램 순위표입니다. 전체 순위와 장르별 순위를 redis sorted set 에 두고, 별점이 바뀔 때마다 그 프로그램의 점수만 고칩니다.
+// 점수는 리뷰 수가 적은 프로그램이 평균 별점만으로 위에 오르지 않도록 prior-count 개의 prior-rating 리뷰가 더 있는 것처럼 계산합니다.
+// (prior-count * prior-rating + 별점 합) / (prior-count + 리뷰 수)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramLeaderboard {
+
+    private static final String KEY = "programLeaderboard";
+    private static final String GENRE_KEY_PREFIX = "programLeaderboard:genre:";
+    // 점수가 바뀐 프로그램 id 입니다. 순위표를 새로 만드는 동안 바뀐 점수를 새 순위표에 다시 반영할 때 씁니다.
+    private static final String CHANGED_KEY = "programLeaderboard:changed";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProgramRepository programRepository;
+    private final ProgramGenreRepository programGenreRepository;
+    private final GenreRegistry genreRegistry;
+
+    @Value("${program.leaderboard.prior-rating:3.5}")
+    private double priorRating;
+
+    @Value("${program.leaderboard.prior-count:5}")
+    private int priorCount;
+
+    // DB 의 평균 별점으로 순위표를 새로 만듭니다. 임시 key 에 만든 뒤 바꿔치기하므로 만드는 동안에도 기존 순위를 읽을 수 있습니다.
+    // 만드는 동안 바뀐 점수는 기존 순위표에 쓰여 바꿔치기할 때 사라지므로, 바꿔치기한 뒤 그 프로그램들의 점수를 DB 에서 다시 읽어 반영합니다.
+    // 서버가 뜰 때와 매일 한번 실행해 이벤트를 놓쳐 어긋난 점수를 바로잡습니다.
+    @Scheduled(cron = "${program.leaderboard.resync-cron:0 30 4 * * *}")
+    public void reload() {
+        try {
+            stringRedisTemplate.delete(CHANGED_KEY);
+            Map<String, Set<TypedTuple<String>>> tuplesByKey = new HashMap<>();
+            Map<Long, Double> scoreByProgramId = new HashMap<>();
+            programRepository.findAllRatedIdAndRating().forEach(row -> {
+                Long programId = (Long) row[0];
+                double score = score((Double) row[1], (Integer) row[2]);
+                scoreByProgramId.put(programId, score);
+                tuplesByKey.computeIfAbsent(KEY, key -> new HashSet<>())
+                    .add(new DefaultTypedTuple<>(String.valueOf(programId), score));
+            });
+            programGenreRepository.findAllGenreIdAndProgramId().forEach(row -> {
+                Double score = scoreByProgramId.get((Long) row[1]);
+                if (score != null) {
+                    tuplesByKey.computeIfAbsent(GENRE_KEY_PREFIX + row[0], key -> new HashSet<>())
+                        .add(new DefaultTypedTuple<>(String.valueOf(row[1]), score));
+                }
+            });
+
+            tuplesByKey.forEach(this::replace);
+            //리뷰가 모두 지워진 순위표는 남아있지 않도록 지웁니다.
+            Set<String> staleKeys = genreRegistry.findAll().stream()
+                .map(genre -> GENRE_KEY_PREFIX + genre.getId())
+                .filter(key -> !tuplesByKey.containsKey(key))
+                .collect(Collectors.toSet());
+            if (!tuplesByKey.containsKey(KEY)) {
+                staleKeys.add(KEY);
+            }
+            stringRedisTemplate.delete(staleKeys);
+            replayChanged();
+            log.info("program leaderboard loaded {} programs", scoreByProgramId.size());
+        } catch (RuntimeException e) {
+            log.warn("program leaderboard reload failed", e);
+        }
+    }
+
+    private void replace(String key, Set<TypedTuple<String>> tuples) {
+        String tmpKey = key + ":tmp";
+        stringRedisTemplate.delete(tmpKey);
+        stringRedisTemplate.opsForZSet().add(tmpKey, tuples);
+        stringRedisTemplate.rename(tmpKey, key);
+    }
+
+    // 바꿔치기한 뒤, 그동안 점수가 바뀐 프로그램의 점수를 DB 에서 다시 읽어 새 순위표에 반영합니다.
+    private void replayChanged() {
+        Set<String> members = stringRedisTemplate.opsForSet().members(CHANGED_KEY);
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.opsForSet().remove(CHANGED_KEY, members.toArray());
+
+        Set<Long> programIds = members.stream().map(Long::valueOf).collect(Collectors.toSet());
+        Map<Long, List<Long>> genreIdsByProgramId = new HashMap<>();
+        programGenreRepository.findGenreIdAndProgramIdByProgramIdIn(programIds).forEach(row ->
+            genreIdsByProgramId.computeIfAbsent((Long) row[1], key -> new ArrayList<>())
+                .add((Long) row[0]));
+        programRepository.findAllById(programIds).forEach(program ->
+            apply(program.getId(), genreIdsByProgramId.getOrDefault(program.getId(), List.of()),
+                program.getAverageRating(), program.getReviewCount()));
+        log.info("program leaderboard replayed {} programs changed during reload",
+            programIds.size());
+    }
+
+    // 새로 만드는 중인 순위표가 놓치지 않도록 바뀐 프로그램을 먼저 기록한 뒤 점수를 고칩니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramRatingChanged(ProgramRatingChangedEvent event) {
+        try {
+            stringRedisTemplate.opsForSet().add(CHANGED_KEY, String.valueOf(event.getProgramId()));
+            apply(event.getProgramId(),
+                programGenreRepository.findGenreIdsByProgramId(event.getProgramId()),
+                event.getAverageRating(), event.getReviewCount());
+        } catch (RuntimeException e) {
+            log.warn("program leaderboard update failed. programId={}", event.getProgramId(), e);
+        }
+    }
+
+    private void apply(Long programId, List<Long> genreIds, double averageRating,
+        int reviewCount) {
+        String member = String.valueOf(programId);
+        List<String> keys = genreIds.stream()
+            .map(genreId -> GENRE_KEY_PREFIX + genreId)
+            .collect(Collectors.toList());
+        keys.add(KEY);
+
+        if (reviewCount == 0) {
+            keys.forEach(key -> stringRedisTemplate.opsForZSet().remove(key, member));
+            return;
+        }
+        double score = score(averageRating, reviewCount);
+        keys.forEach(key -> stringRedisTemplate.opsForZSet().add(key, member, score));
+    }
+
+    // 점수가 높은 프로그램 id 를 count 개까지 돌려줍니다.
+    // redis 를 쓸 수 없거나 리뷰가 하나도 없어 순위표가 비어있으면 DB 의 평균 별점 순으로 대신합니다.
+    public List<Long> findTopProgramIds(int count) {
+        try {
+            List<Long> programIds = toProgramIds(
+                stringRedisTemplate.opsForZSet().reverseRange(KEY, 0, count - 1));
+            if (!programIds.isEmpty()) {
+                return programIds;
+            }
+        } catch (RuntimeException e) {
+            log.warn("program leaderboard read failed", e);
+        }
+        return programRepository.findTop10ByOrderByAverageRatingDesc().stream()
+            .map(Program::getId)
+            .limit(count)
+            .collect(Collectors.toList());
+    }
+
+    // 장르 순위표도 redis 를 쓸 수 없거나 비어있으면 DB 의 그 장르 평균 별점 순으로 대신합니다.
+    public List<Long> findTopProgramIds(Long genreId, int count) {
+        try {
+            List<Long> programIds = toProgramIds(stringRedisTemplate.opsForZSet()
+                .reverseRange(GENRE_KEY_PREFIX + genreId, 0, count - 1));
+            if (!programIds.isEmpty()) {
+                return programIds;
+            }
+        } catch (RuntimeException e) {
+            log.warn("program leaderboard read failed. genreId={}", genreId, e);
+        }
+        return programGenreRepository.findTopRatedProgramIdsByGenreId(genreId,
+            PageRequest.of(0, Math.max(1, count)));
+    }
+
+    private List<Long> toProgramIds(Set<String> members) {
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    private double score(double averageRating, int reviewCount) {
+        return (priorCount * priorRating + averageRating * reviewCount) / (priorCount + reviewCount);
+    }
+}
@@ -0,0 +1,27 @@
+package tavebalak.OTTify.program.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// 검색어를 정규화해서 검색 결과 캐시의 key 로 사용합니다.
+// 앞뒤 공백 제거, 연속된 공백을 하나로, 대소문자 통일, 한글 자모가 분리되어 들어오는 경우를 위해 NFC 정규화를 합니다.
+public final class ProgramSearchKey {
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private ProgramSearchKey() {
+    }
+
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFC);
+        return WHITESPACES.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public static String of(String query, int page) {
+        return normalize(query) + ":" + page;
+    }
+}
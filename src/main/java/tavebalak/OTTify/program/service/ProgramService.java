@@ -1,8 +1,19 @@
 package tavebalak.OTTify.program.service;
 
+import java.util.List;
 import tavebalak.OTTify.program.dto.response.RecommendProgramsDTO;
+import tavebalak.OTTify.program.dto.response.ServiceListsDTO;
 
 public interface ProgramService {
 
-    RecommendProgramsDTO getRecommendProgram(int count);
+    RecommendProgramsDTO getRecommendProgram(int count, boolean onlyMyOtt);
+
+    //로그인 정보 없이 userId 로 추천 목록을 size 개 정도 만듭니다. 백그라운드에서 미리 만들어 둘 때 사용합니다.
+    List<ServiceListsDTO> buildRecommendSlate(Long userId, int size);
+
+    RecommendProgramsDTO getTopRatedPrograms(Long genreId, int count);
+
+    RecommendProgramsDTO getSimilarPrograms(Long programId, int count);
+
+    RecommendProgramsDTO getMostViewedPrograms(ProgramViewCounter.Window window, int count);
 }
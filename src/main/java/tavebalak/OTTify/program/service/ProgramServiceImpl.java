@@ -1,14 +1,21 @@
 package tavebalak.OTTify.program.service;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tavebalak.OTTify.error.ErrorCode;
@@ -17,13 +24,19 @@ import tavebalak.OTTify.error.exception.UnauthorizedException;
 import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.entity.ProgramGenre;
 import tavebalak.OTTify.genre.entity.UserGenre;
-import tavebalak.OTTify.genre.repository.GenreRepository;
 import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
 import tavebalak.OTTify.genre.repository.UserGenreRepository;
+import tavebalak.OTTify.genre.service.GenreProgramIndex;
+import tavebalak.OTTify.genre.service.GenreRegistry;
 import tavebalak.OTTify.oauth.jwt.SecurityUtil;
 import tavebalak.OTTify.program.dto.response.RecommendProgramsDTO;
 import tavebalak.OTTify.program.dto.response.ServiceListsDTO;
 import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.event.RecommendSlateRequestedEvent;
+import tavebalak.OTTify.program.recommend.ExcludedProgramStore;
+import tavebalak.OTTify.program.recommend.ExcludedPrograms;
+import tavebalak.OTTify.program.recommend.ItemBasedRecommender;
+import tavebalak.OTTify.program.recommend.RecommendSlateStore;
 import tavebalak.OTTify.program.repository.ProgramRepository;
 import tavebalak.OTTify.user.entity.LikedProgram;
 import tavebalak.OTTify.user.entity.User;
@@ -39,57 +52,183 @@ public class ProgramServiceImpl implements ProgramService {
     private final LikedProgramRepository likedProgramRepository;
     private final ProgramRepository programRepository;
     private final UserRepository userRepository;
-    private final GenreRepository genreRepository;
+    private final GenreRegistry genreRegistry;
     private final ProgramGenreRepository programGenreRepository;
+    private final ProgramIdSampler programIdSampler;
+    private final GenreProgramIndex genreProgramIndex;
+    private final ItemBasedRecommender itemBasedRecommender;
+    private final ExcludedProgramStore excludedProgramStore;
+    private final RecommendSlateStore recommendSlateStore;
+    private final ProgramLeaderboard programLeaderboard;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ProgramAvailabilityService programAvailabilityService;
+    private final ProgramAvailabilityIndex programAvailabilityIndex;
+    private final SimilarProgramIndex similarProgramIndex;
+    private final ProgramViewCounter programViewCounter;
 
 
-    public RecommendProgramsDTO getRecommendProgram(int count) {
+    public RecommendProgramsDTO getRecommendProgram(int count, boolean onlyMyOtt) {
         User savedUser = getUser();
+
+        //관심 없음을 누르거나 이미 리뷰한 프로그램은 모든 후보에서 뺍니다.
+        ExcludedPrograms excludedPrograms = excludedProgramStore.find(savedUser.getId());
+
+        //구독하는 OTT 에서 볼 수 있는 프로그램만 원하면 미리 만들어 둔 목록 대신 그 프로그램들 안에서 바로 뽑습니다.
+        if (onlyMyOtt) {
+            long subscriptionMask = programAvailabilityService.findSubscriptionMask(
+                savedUser.getId());
+            Predicate<Long> excluded = excludedPrograms::contains;
+            return toRecommendProgramsDTO(count, pickRecommendPrograms(savedUser.getId(), count,
+                excluded.or(programId ->
+                    !programAvailabilityIndex.isAvailable(programId, subscriptionMask)),
+                sampleCount -> programAvailabilityIndex.sample(subscriptionMask, sampleCount)));
+        }
+
+        //미리 만들어 둔 추천 목록이 있으면 다음 페이지를 그대로 돌려줍니다.
+        Optional<List<ServiceListsDTO>> slatePage = recommendSlateStore.nextPage(
+            savedUser.getId(), count, excludedPrograms);
+        if (slatePage.isPresent()) {
+            return RecommendProgramsDTO.builder()
+                .recommentAmount(count)
+                .serviceListsDTOList(slatePage.get())
+                .build();
+        }
+
+        //없으면 이번 요청은 바로 만들어 응답하고, 다음 방문을 위한 목록은 백그라운드에서 만듭니다.
+        applicationEventPublisher.publishEvent(new RecommendSlateRequestedEvent(savedUser.getId()));
+
+        return toRecommendProgramsDTO(count, pickRecommendPrograms(savedUser.getId(), count,
+            excludedPrograms::contains, programIdSampler::sample));
+    }
+
+    private RecommendProgramsDTO toRecommendProgramsDTO(int count,
+        Set<Program> recommendPrograms) {
+        if (recommendPrograms.isEmpty()) {
+            return builderRecommendProgramsDTO();
+        }
+
+        return RecommendProgramsDTO.builder()
+            .recommentAmount(count)
+            .serviceListsDTOList(builderListOfServiceListsDTO(recommendPrograms))
+            .build();
+    }
+
+    //추천 목록은 섞어서 저장하므로 페이지마다 장르, 협업 필터링, 무작위 추천이 고르게 나옵니다.
+    public List<ServiceListsDTO> buildRecommendSlate(Long userId, int size) {
+        List<ServiceListsDTO> slate = builderListOfServiceListsDTO(
+            pickRecommendPrograms(userId, size, excludedProgramStore.find(userId)::contains,
+                programIdSampler::sample));
+        Collections.shuffle(slate);
+        return slate;
+    }
+
+    //size 개를 기준으로 1순위 장르에서 절반, 2순위 장르마다 size / 12 개(최소 1개), 협업 필터링에서 절반을 뽑고
+    //찜한 프로그램과 별점 상위 프로그램을 더한 뒤, 모자라면 randomSampler 로 채웁니다. 별점 상위 프로그램이 없으면 빈 값을 돌려줍니다.
+    //excluded 에 해당하는 프로그램은 어느 단계에서도 넣지 않습니다.
+    private Set<Program> pickRecommendPrograms(Long userId, int size, Predicate<Long> excluded,
+        IntFunction<List<Long>> randomSampler) {
         Set<Program> recommendPrograms = new HashSet<>();
+        int secondGenrePickCount = Math.max(1, size / 12);
+
+        //협업 필터링과 장르별로 뽑은 프로그램 id 를 모아서 한번에 조회합니다.
+        Set<Long> pickedProgramIds = new HashSet<>();
 
         Optional<UserGenre> byGenreIdAndIsFirst = userGenreRepository.findByUserIdAndIsFirst(
-            savedUser.getId(), true);
+            userId, true);
 
         if (byGenreIdAndIsFirst.isPresent()) {
-            addFirstGenreProgram(byGenreIdAndIsFirst, recommendPrograms);
+            addFirstGenreProgram(byGenreIdAndIsFirst, pickedProgramIds, size / 2);
         }
 
         List<UserGenre> byUserIdAndIsFirst = userGenreRepository.findAllByUserIdAndIsFirst(
-            savedUser.getId(), false);
+            userId, false);
 
         if (!byUserIdAndIsFirst.isEmpty()) {
-            byUserIdAndIsFirst.forEach(addItemToRecommendProgramsBySecondGenre(recommendPrograms));
+            byUserIdAndIsFirst.forEach(
+                addItemToRecommendProgramsBySecondGenre(pickedProgramIds, secondGenrePickCount));
+        }
+
+        pickedProgramIds.removeIf(excluded);
+
+        //좋아요와 별점이 비슷한 사용자들이 함께 선호한 프로그램을 메모리의 모델에서 뽑습니다.
+        pickedProgramIds.addAll(itemBasedRecommender.recommend(userId, size / 2,
+            programId -> pickedProgramIds.contains(programId) || excluded.test(programId)));
+
+        if (!pickedProgramIds.isEmpty()) {
+            recommendPrograms.addAll(programRepository.findAllById(pickedProgramIds));
         }
 
-        AtomicInteger likedProgramsSize = new AtomicInteger(1);
-        likedProgramRepository.findByUserId(savedUser.getId()).forEach(
-            likedProgram -> addLikeListProgram(likedProgram, likedProgramsSize, recommendPrograms)
-        );
+        AtomicInteger likedProgramsSize = new AtomicInteger(secondGenrePickCount);
+        likedProgramRepository.findByUserId(userId).stream()
+            .filter(likedProgram -> !excluded.test(likedProgram.getProgram().getId()))
+            .forEach(likedProgram ->
+                addLikeListProgram(likedProgram, likedProgramsSize, recommendPrograms));
         
-        List<Program> programList = programRepository.findTop10ByOrderByAverageRatingDesc();
-        if (programList.isEmpty()) {
-            return builderRecommendProgramsDTO();
+        List<Long> topProgramIds = programLeaderboard.findTopProgramIds(10);
+        if (topProgramIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        Long topProgramId = topProgramIds.get(new Random().nextInt(topProgramIds.size()));
+        if (!excluded.test(topProgramId)) {
+            programRepository.findById(topProgramId).ifPresent(recommendPrograms::add);
         }
-        int idx = new Random().nextInt(programList.size());
-        Optional<Program> program = programRepository.findById(programList.get(idx).getId());
-        program.ifPresent(recommendPrograms::add);
 
-        int size = recommendPrograms.size();
-        for (; size < 6; size++) {
-            Long index = getRandomIndex();
-            Optional<Program> findProgram = programRepository.findById(index);
-            findProgram.ifPresent(recommendPrograms::add);
+        //부족한 만큼 전체 프로그램 중에서 무작위로 채웁니다. 이미 뽑힌 프로그램과 겹칠 수 있으므로 그만큼 더 뽑습니다.
+        int lackCount = size - recommendPrograms.size();
+        if (lackCount > 0) {
+            programRepository.findAllById(
+                    randomSampler.apply(lackCount + recommendPrograms.size()))
+                .stream()
+                .filter(randomProgram -> !recommendPrograms.contains(randomProgram))
+                .filter(randomProgram -> !excluded.test(randomProgram.getId()))
+                .limit(lackCount)
+                .forEach(recommendPrograms::add);
         }
 
+        return recommendPrograms;
+    }
+
+    //genreId 가 없으면 전체 순위를 보여줍니다.
+    @Transactional(readOnly = true)
+    public RecommendProgramsDTO getTopRatedPrograms(Long genreId, int count) {
+        List<Long> topProgramIds = genreId == null
+            ? programLeaderboard.findTopProgramIds(count)
+            : programLeaderboard.findTopProgramIds(genreId, count);
+        return toOrderedProgramsDTO(topProgramIds);
+    }
+
+    @Override
+    public RecommendProgramsDTO getSimilarPrograms(Long programId, int count) {
+        if (!programRepository.existsById(programId)) {
+            throw new NotFoundException(ErrorCode.PROGRAM_NOT_FOUND);
+        }
+        return toOrderedProgramsDTO(similarProgramIndex.findSimilarProgramIds(programId, count));
+    }
+
+    @Override
+    public RecommendProgramsDTO getMostViewedPrograms(ProgramViewCounter.Window window, int count) {
+        return toOrderedProgramsDTO(programViewCounter.findMostViewedProgramIds(window, count));
+    }
+
+    //순위를 유지하도록 조회한 프로그램을 programIds 순서대로 다시 정렬합니다.
+    private RecommendProgramsDTO toOrderedProgramsDTO(List<Long> programIds) {
+        Map<Long, Program> programMap = programRepository.findAllById(programIds).stream()
+            .collect(Collectors.toMap(Program::getId, Function.identity()));
+        List<ServiceListsDTO> serviceListsDTOList = programIds.stream()
+            .map(programMap::get)
+            .filter(Objects::nonNull)
+            .map(this::builderServiceListsDTO)
+            .collect(Collectors.toList());
+
         return RecommendProgramsDTO.builder()
-            .recommentAmount(count)
-            .serviceListsDTOList(builderListOfServiceListsDTO(recommendPrograms))
+            .recommentAmount(serviceListsDTOList.size())
+            .serviceListsDTOList(serviceListsDTOList)
             .build();
     }
 
     private Consumer<UserGenre> addItemToRecommendProgramsBySecondGenre(
-        Set<Program> recommendPrograms) {
-        return userGenre -> addSecondGenreProgram(userGenre, recommendPrograms);
+        Set<Long> genreProgramIds, int pickCount) {
+        return userGenre -> addSecondGenreProgram(userGenre, genreProgramIds, pickCount);
     }
 
     private List<ServiceListsDTO> builderListOfServiceListsDTO(Set<Program> recommendPrograms) {
@@ -107,11 +246,6 @@ public class ProgramServiceImpl implements ProgramService {
             .build();
     }
 
-    private Long getRandomIndex() {
-        return
-            1L + ((long) (new Random().nextDouble() * (programRepository.findAll().size() - 1L)));
-    }
-
     private static RecommendProgramsDTO builderRecommendProgramsDTO() {
         return RecommendProgramsDTO.builder()
             .recommentAmount(0)
@@ -130,42 +264,27 @@ public class ProgramServiceImpl implements ProgramService {
         likedProgramsSize.getAndDecrement();
     }
 
-    private void addSecondGenreProgram(UserGenre userGenre, Set<Program> recommendPrograms) {
-        Genre userSecondGenre = genreRepository.findById(userGenre.getGenre().getId())
+    //두번째 장르들에서는 장르마다 프로그램을 pickCount 개씩 뽑습니다.
+    private void addSecondGenreProgram(UserGenre userGenre, Set<Long> genreProgramIds,
+        int pickCount) {
+        Genre userSecondGenre = genreRegistry.findById(userGenre.getGenre().getId())
             .orElseThrow(() -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND));
 
-        List<ProgramGenre> programGenreList = programGenreRepository.findByGenreId(
-            userSecondGenre.getId());
-
-        int idx = new Random().nextInt(programGenreList.size());
-        Optional<Program> program = programRepository.findById(
-            programGenreList.get(idx).getProgram().getId());
-        program.ifPresent(recommendPrograms::add);
+        genreProgramIds.addAll(genreProgramIndex.sample(userSecondGenre.getId(), pickCount));
     }
 
+    //첫번째 장르에서는 서로 다른 프로그램을 pickCount 개까지 뽑습니다.
     private void addFirstGenreProgram(Optional<UserGenre> byGenreIdAndIsFirst,
-        Set<Program> recommendPrograms) {
-        Genre userFirstGenre = genreRepository.findById(getGenreId(byGenreIdAndIsFirst))
+        Set<Long> genreProgramIds, int pickCount) {
+        Genre userFirstGenre = genreRegistry.findById(getGenreId(byGenreIdAndIsFirst))
             .orElseThrow(() -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND));
 
-        List<ProgramGenre> programGenreList = programGenreRepository.findByGenreId(
-            userFirstGenre.getId());
-
-        for (int i = 1; i < 4; i++) {
-            int idx = new Random().nextInt(programGenreList.size());
-            Optional<Program> program = getRandomProgram(programGenreList, idx);
-            program.ifPresent(recommendPrograms::add);
-        }
-    }
-
-    private Optional<Program> getRandomProgram(List<ProgramGenre> programGenreList, int idx) {
-        return programRepository.findById(
-            programGenreList.get(idx).getId());
+        genreProgramIds.addAll(genreProgramIndex.sample(userFirstGenre.getId(), pickCount));
     }
 
     private static Long getGenreId(Optional<UserGenre> byGenreIdAndIsFirst) {
         return byGenreIdAndIsFirst.orElseThrow(
-            () -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND)).getId();
+            () -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND)).getGenre().getId();
     }
 
     private List<String> findGenreList(Program pg) {
@@ -176,7 +295,7 @@ public class ProgramServiceImpl implements ProgramService {
     }
 
     private String getProgramName(ProgramGenre programGenre) {
-        return genreRepository.findById(programGenre.getGenre().getId())
+        return genreRegistry.findById(programGenre.getGenre().getId())
             .orElseThrow(() -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND))
             .getName();
     }
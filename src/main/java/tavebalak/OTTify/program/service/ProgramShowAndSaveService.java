@@ -7,6 +7,9 @@ import tavebalak.OTTify.program.dto.searchTrending.Response.TrendingResponseDto;
 
 public interface ProgramShowAndSaveService {
      TrendingResponseDto showTrending();
+
+     TrendingResponseDto refreshTrending();
+
      SearchResponseDto searchByName(String name);
 
      SearchMovieResponseDto searchByMovieName(String name, int page);
@@ -1,19 +1,28 @@
 package tavebalak.OTTify.program.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import tavebalak.OTTify.common.component.TmDbGateway;
+import tavebalak.OTTify.common.constant.CacheType;
 import tavebalak.OTTify.error.ErrorCode;
-import tavebalak.OTTify.error.exception.InternalServerErrorException;
 import tavebalak.OTTify.error.exception.NotFoundException;
-import tavebalak.OTTify.genre.entity.Genre;
-import tavebalak.OTTify.genre.repository.GenreRepository;
 import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.genre.service.GenreRegistry;
 import tavebalak.OTTify.program.dto.searchTrending.Response.ProgramSearchInfo;
 import tavebalak.OTTify.program.dto.searchTrending.Response.ProgramTrendingDayInfo;
 import tavebalak.OTTify.program.dto.searchTrending.Response.ProgramTrendingWeekInfo;
@@ -27,30 +36,57 @@ import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.entity.ProgramType;
 import tavebalak.OTTify.program.repository.ProgramRepository;
 
+// open api 를 기다리는 동안 DB 커넥션을 잡고 있지 않도록 이 클래스에는 트랜잭션을 걸지 않습니다.
+// 프로그램 저장은 open api 응답을 받은 뒤 ProgramBulkSaveService 의 짧은 트랜잭션에서 이루어집니다.
+@Slf4j
 @Service
-@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService {
 
     private final ProgramRepository programRepository;
-    private final WebClient webClient;
-    private final GenreRepository genreRepository;
+    private final TmDbGateway tmDbGateway;
+    private final GenreRegistry genreRegistry;
     private final ProgramGenreRepository programGenreRepository;
+    private final ProgramBulkSaveService programBulkSaveService;
+    private final CacheManager cacheManager;
+
+    @Value("${program.search.tv-timeout-millis:3000}")
+    private long tvSearchTimeoutMillis;
+
+    @Value("${program.search.movie-timeout-millis:1500}")
+    private long movieSearchTimeoutMillis;
 
 
     // 트렌딩 관련 저장 및 조회
     @Override
-    @Cacheable(cacheNames = "programTrending")
-    @Transactional
+    @Cacheable(cacheNames = "programTrending", sync = true)
     public TrendingResponseDto showTrending() {
+        return buildTrending();
+    }
+
+    // 캐시가 만료되기 전에 트렌딩을 다시 만들어 캐시를 교체합니다. 새로 만드는 동안에는 기존 캐시가 그대로 조회됩니다.
+    @Override
+    @CachePut(cacheNames = "programTrending",
+        key = "T(org.springframework.cache.interceptor.SimpleKey).EMPTY")
+    public TrendingResponseDto refreshTrending() {
+        return buildTrending();
+    }
+
+    private TrendingResponseDto buildTrending() {
 
         //actor 타입을 거르기 위함
         List<String> includeList = new ArrayList<>();
         includeList.add("movie");
         includeList.add("tv");
 
-        //open api 를 통해 day trending 데이터 가져오기
-        OpenApiSearchTrendingDto openApiSearchTrendingDto = getTrendingProgram("day");
+        //open api 를 통해 day, week trending 데이터를 동시에 가져오기
+        Tuple2<OpenApiSearchTrendingDto, OpenApiSearchTrendingDto> trendingDtos = Mono.zip(
+            getTrendingProgram("day"), getTrendingProgram("week")).block();
+        OpenApiSearchTrendingDto openApiSearchTrendingDto = trendingDtos.getT1();
+
+        //day trending 프로그램을 한번에 저장하고 가져오기
+        Map<ProgramType, Map<Long, Program>> dayProgramMap = saveTrendingPrograms(
+            openApiSearchTrendingDto.getResults());
 
         //trendingDayInfo 만들기
         List<ProgramTrendingDayInfo> programTrendingDayInfos = new ArrayList<>();
@@ -58,9 +94,9 @@ public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService
         openApiSearchTrendingDto.getResults().stream().forEach(trendingDayProgramInfo -> {
                 if (includeList.contains(trendingDayProgramInfo.getMedia_type())) {
 
-                    Program program = (trendingDayProgramInfo.getMedia_type().equals("movie"))
-                        ? saveProgramAndGetProgram(trendingDayProgramInfo, ProgramType.Movie)
-                        : saveProgramAndGetProgram(trendingDayProgramInfo, ProgramType.TV);
+                    Program program = dayProgramMap.get(
+                            toProgramType(trendingDayProgramInfo.getMedia_type()))
+                        .get(trendingDayProgramInfo.getId());
 
                     if (programTrendingDayInfos.size() < 8) {
                         String firstGenreName = getProgramFirstGenre(
@@ -74,17 +110,21 @@ public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService
             }
         );
 
-        //open api 를 통해 week trending 가져오기
-        openApiSearchTrendingDto = getTrendingProgram("week");
+        //week trending 꺼내기
+        openApiSearchTrendingDto = trendingDtos.getT2();
+
+        //week trending 프로그램을 한번에 저장하고 가져오기
+        Map<ProgramType, Map<Long, Program>> weekProgramMap = saveTrendingPrograms(
+            openApiSearchTrendingDto.getResults());
 
         //trendingWeek 만들기
         List<ProgramTrendingWeekInfo> programTrendingWeekInfos = new ArrayList<>();
         openApiSearchTrendingDto.getResults().stream().forEach(trendingWeekProgramInfo -> {
 
             if (includeList.contains(trendingWeekProgramInfo.getMedia_type())) {
-                Program program = (trendingWeekProgramInfo.getMedia_type().equals("movie"))
-                    ? saveProgramAndGetProgram(trendingWeekProgramInfo, ProgramType.Movie)
-                    : saveProgramAndGetProgram(trendingWeekProgramInfo, ProgramType.TV);
+                Program program = weekProgramMap.get(
+                        toProgramType(trendingWeekProgramInfo.getMedia_type()))
+                    .get(trendingWeekProgramInfo.getId());
 
                 if (programTrendingWeekInfos.size() < 8) {
                     String firstGenreName = getProgramFirstGenre(
@@ -102,79 +142,40 @@ public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService
 
     // 가져온 트렌딩 프로그램 정보 + 부가 정보를 OpenApiSearchTrendingDto 로 매핑합니다
 
-    private OpenApiSearchTrendingDto getTrendingProgram(String choiceArrange) {
-        OpenApiSearchTrendingDto openApiSearchTrendingDto = webClient.get()
-            .uri("/trending/all/" + choiceArrange + "?language=ko")
-            .retrieve()
-            .bodyToMono(OpenApiSearchTrendingDto.class)
-            .block();
-        return openApiSearchTrendingDto;
+    private Mono<OpenApiSearchTrendingDto> getTrendingProgram(String choiceArrange) {
+        return tmDbGateway.get(OpenApiSearchTrendingDto.class,
+            "/trending/all/{timeWindow}?language=ko", choiceArrange);
     }
 
-    // 프로그램이 저장되어 있는 경우 저장된 프로그램을 반환하고, 아닌 경우 저장하고 반환합니다.
+    // 트렌딩 결과를 영화, TV 로 나누어 한번에 저장하고 타입별로 tmDb id 를 key 로 하는 map 을 반환합니다.
+    private Map<ProgramType, Map<Long, Program>> saveTrendingPrograms(
+        List<SearchTrendingOpenApiProgramInfo> trendingProgramInfos) {
+        Map<ProgramType, Map<Long, Program>> programMapByType = new EnumMap<>(ProgramType.class);
 
-    private Program saveProgramAndGetProgram(
-        SearchTrendingOpenApiProgramInfo searchTrendingOpenApiProgramInfo,
-        ProgramType programType) {
-        Program program;
-
-        try {
-            program = programRepository.findByTmDbProgramIdAndType(
-                searchTrendingOpenApiProgramInfo.getId(), programType).orElseGet(() -> {
-                Program newProgram = apiProgramToProgram(searchTrendingOpenApiProgramInfo,
-                    programType);
-                programRepository.save(newProgram);
-                return newProgram;
-            });
-        } catch (DataIntegrityViolationException e) {
-            throw new InternalServerErrorException(ErrorCode.DATA_SAVING_ERROR);
-        }
-
-        return program;
+        programMapByType.put(ProgramType.Movie, programBulkSaveService.saveAllAndGetProgramMap(
+            filterByMediaType(trendingProgramInfos, "movie"), ProgramType.Movie));
+        programMapByType.put(ProgramType.TV, programBulkSaveService.saveAllAndGetProgramMap(
+            filterByMediaType(trendingProgramInfos, "tv"), ProgramType.TV));
 
+        return programMapByType;
     }
 
-    //받아온 api 정보를 이용해 우리가 만든 Program 에 필요한 값을 넣어줍니다.
-    private Program apiProgramToProgram(
-        SearchTrendingOpenApiProgramInfo searchTrendingOpenApiProgramInfo,
-        ProgramType programType) {
-        // 공통 관련 빌드
-        Program.ProgramBuilder programBuilder = Program.builder()
-            .tmDbProgramId(searchTrendingOpenApiProgramInfo.getId())
-            .type(programType)
-            .posterPath(searchTrendingOpenApiProgramInfo.getPoster_path());
-
-        //영화일 경우
-        if (programType == ProgramType.Movie) {
-            programBuilder.title(searchTrendingOpenApiProgramInfo.getTitle());
-            String createdDate = searchTrendingOpenApiProgramInfo.getRelease_date();
-            programBuilder.createdYear(
-                createdDate.length() >= 4 ? createdDate.substring(0, 4) : null);
-        }
-        //tv 일 경우
-        else {
-            programBuilder.title(searchTrendingOpenApiProgramInfo.getName());
-            String createdDate = searchTrendingOpenApiProgramInfo.getFirst_air_date();
-            programBuilder.createdYear(
-                createdDate.length() >= 4 ? createdDate.substring(0, 4) : null);
-        }
-
-        Program program = programBuilder.build();
+    private List<SearchTrendingOpenApiProgramInfo> filterByMediaType(
+        List<SearchTrendingOpenApiProgramInfo> trendingProgramInfos, String mediaType) {
+        return trendingProgramInfos.stream()
+            .filter(programInfo -> mediaType.equals(programInfo.getMedia_type()))
+            .collect(Collectors.toList());
+    }
 
-        //연관관계 편의 메서드를 통한 장르 저장
-        searchTrendingOpenApiProgramInfo.getGenre_ids().forEach(gi -> {
-            Genre genre = genreRepository.findByTmDbGenreId(gi)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.PROGRAM_GENRE_NOT_FOUND));
-            program.addGenre(genre);
-        });
-        return program;
+    private ProgramType toProgramType(String mediaType) {
+        return mediaType.equals("movie") ? ProgramType.Movie : ProgramType.TV;
     }
 
 
     //프로그램의 대표 장르 , program 의 첫번쨰 넘어오는 장르 이름을 가지고 옵니다. 프로그램에 장르가 명시되지 않은 경우 null 을 넣습니다.
     private String getProgramFirstGenre(List<Long> genreIdList) {
         return genreIdList.stream().findFirst().map(gi -> {
-            return genreRepository.findByTmDbGenreId(gi)
+            return genreRegistry.findByTmDbGenreId(gi)
                 .orElseThrow(() -> new NotFoundException(ErrorCode.PROGRAM_GENRE_NOT_FOUND))
                 .getName();
         }).orElse(null);
@@ -182,38 +183,91 @@ public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService
 
 
     //첫번째 검색시 기본적으로 검색할 때 TV 갯수, MOVIE 갯수, TV를 검색한 1페이지를 반환합니다.
+    //검색 결과는 정규화한 검색어를 key 로 캐시하고, 함께 받아온 TV, 영화 1페이지도 각각 캐시합니다.
+    //같은 검색어가 동시에 들어오면 한 요청만 open api 를 부르고 나머지는 그 결과를 기다립니다.
     @Override
-    @Transactional
     public SearchResponseDto searchByName(String name) {
-        //tvResponse 를 검색한 DTO 를 반환합니다.
-        SearchTvResponseDto searchTvResponseDto = searchByTvName(name, 1);
+        Cache searchCache = cacheManager.getCache(CacheType.PROGRAM_SEARCH.getCacheName());
+        String key = ProgramSearchKey.normalize(name);
+        SearchResponseDto searchResponseDto;
+        try {
+            searchResponseDto = searchCache.get(key, () -> search(name));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
 
-        //영화를 검색하며 DB에 저장하되 반환하는 것은 갯수 뿐입니다.
-        OpenApiSearchTrendingDto movieSearchList = getSearchProgram("movie", name, 1);
-        movieSearchList.getResults().stream().forEach(openApiProgram -> {
-            saveProgramAndGetProgram(openApiProgram, ProgramType.Movie);
-        });
+        //영화 검색이 실패한 결과는 함께 기다리던 요청에만 돌려주고 캐시에는 남기지 않아, 다음 검색 때 다시 시도합니다.
+        if (searchResponseDto.isMovieSearchFailed()) {
+            searchCache.evict(key);
+        }
+        return searchResponseDto;
+    }
 
-        int movieCount = movieSearchList.getTotal_results();
+    private SearchResponseDto search(String name) {
+        //TV 와 영화 1페이지를 동시에 검색합니다. 영화 검색이 실패하거나 제한 시간을 넘기면 영화 없이 TV 결과만 반환합니다.
+        Tuple2<OpenApiSearchTrendingDto, Optional<OpenApiSearchTrendingDto>> searchLists = Mono.zip(
+            getSearchProgram("tv", name, 1)
+                .timeout(Duration.ofMillis(tvSearchTimeoutMillis)),
+            getSearchProgram("movie", name, 1)
+                .timeout(Duration.ofMillis(movieSearchTimeoutMillis))
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn("movie search failed. name={}", name, e);
+                    return Mono.just(Optional.empty());
+                })
+        ).block();
+
+        //두 검색이 모두 끝난 뒤 한번에 저장하고 DTO 를 만듭니다.
+        SearchTvResponseDto searchTvResponseDto = saveAndMakeTvResponse(searchLists.getT1());
+        cacheManager.getCache(CacheType.PROGRAM_SEARCH_TV.getCacheName())
+            .put(ProgramSearchKey.of(name, 1), searchTvResponseDto);
+
+        Optional<SearchMovieResponseDto> searchMovieResponseDto = searchLists.getT2()
+            .map(this::saveAndMakeMovieResponse);
+        searchMovieResponseDto.ifPresent(movieResponseDto ->
+            cacheManager.getCache(CacheType.PROGRAM_SEARCH_MOVIE.getCacheName())
+                .put(ProgramSearchKey.of(name, 1), movieResponseDto));
+
+        int movieCount = searchMovieResponseDto.map(SearchMovieResponseDto::getTotalResults)
+            .orElse(0);
 
         return new SearchResponseDto(movieCount, searchTvResponseDto.getTotalResults(),
-            searchTvResponseDto);
+            searchTvResponseDto, searchMovieResponseDto.isEmpty());
     }
 
     //영화를 page 별로 검색할 수 있습니다.
     @Override
-    @Transactional
+    @Cacheable(cacheNames = "programSearchMovie", sync = true,
+        key = "T(tavebalak.OTTify.program.service.ProgramSearchKey).of(#name, #page)")
     public SearchMovieResponseDto searchByMovieName(String name, int page) {
+        //open api를 통해 검색 결과를 받아옵니다.
+        return saveAndMakeMovieResponse(getSearchProgram("movie", name, page).block());
+    }
+
+    //TV를 page 별로 검색할 수 있습니다.
+    @Override
+    @Cacheable(cacheNames = "programSearchTv", sync = true,
+        key = "T(tavebalak.OTTify.program.service.ProgramSearchKey).of(#name, #page)")
+    public SearchTvResponseDto searchByTvName(String name, int page) {
+        //open api를 통해 검색 결과를 받아옵니다.
+        return saveAndMakeTvResponse(getSearchProgram("tv", name, page).block());
+    }
+
+    private SearchMovieResponseDto saveAndMakeMovieResponse(
+        OpenApiSearchTrendingDto movieSearchList) {
 
         //movieSearchInfos 에 관련 내용을 담습니다
         List<ProgramSearchInfo> movieSearchInfos = new ArrayList<>();
 
-        //open api를 통해 검색 결과를 받아옵니다.
-        OpenApiSearchTrendingDto movieSearchList = getSearchProgram("movie", name, page);
+        //한번에 저장하고 DTO를 설계합니다
+        Map<Long, Program> movieProgramMap = programBulkSaveService.saveAllAndGetProgramMap(
+            movieSearchList.getResults(), ProgramType.Movie);
 
-        //저장하고 DTO를 설계합니다
         movieSearchList.getResults().stream().forEach(movieProgramInfo -> {
-            Program program = saveProgramAndGetProgram(movieProgramInfo, ProgramType.Movie);
+            Program program = movieProgramMap.get(movieProgramInfo.getId());
             String firstGenreName = getProgramFirstGenre(movieProgramInfo.getGenre_ids());
             movieSearchInfos.add(new ProgramSearchInfo(program.getId(), program.getTitle(),
                 movieProgramInfo.getRelease_date(), firstGenreName, program.getPosterPath(),
@@ -224,20 +278,17 @@ public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService
             movieSearchList.getTotal_pages(), movieSearchList.getTotal_results());
     }
 
-    //TV를 page 별로 검색할 수 있습니다.
-    @Override
-    @Transactional
-    public SearchTvResponseDto searchByTvName(String name, int page) {
+    private SearchTvResponseDto saveAndMakeTvResponse(OpenApiSearchTrendingDto tvSearchList) {
 
         //tvSearchInfos 에 관련 내용을 담습니다.
         List<ProgramSearchInfo> tvSearchInfos = new ArrayList<>();
 
-        // //open api를 통해 검색 결과를 받아옵니다.
-        OpenApiSearchTrendingDto tvSearchList = getSearchProgram("tv", name, page);
+        //한번에 저장하고 DTO를 설계합니다
+        Map<Long, Program> tvProgramMap = programBulkSaveService.saveAllAndGetProgramMap(
+            tvSearchList.getResults(), ProgramType.TV);
 
-        //저장하고 DTO를 설계합니다
         tvSearchList.getResults().stream().forEach(tvProgramInfo -> {
-            Program program = saveProgramAndGetProgram(tvProgramInfo, ProgramType.TV);
+            Program program = tvProgramMap.get(tvProgramInfo.getId());
             String firstGenreName = getProgramFirstGenre(tvProgramInfo.getGenre_ids());
             tvSearchInfos.add(new ProgramSearchInfo(program.getId(), program.getTitle(),
                 tvProgramInfo.getFirst_air_date(), firstGenreName, program.getPosterPath(),
@@ -250,14 +301,10 @@ public class ProgramShowAndSaveServiceImpl implements ProgramShowAndSaveService
 
 
     //검색하는 open api 를 데이터로 받아오기
-    private OpenApiSearchTrendingDto getSearchProgram(String type, String name, int page) {
-        OpenApiSearchTrendingDto openApiSearchTrendingDto = webClient.get()
-            .uri("/search/" + type + "?query=" + name + "&include_adult=false&language=ko&page="
-                + page)
-            .retrieve()
-            .bodyToMono(OpenApiSearchTrendingDto.class)
-            .block();
-        return openApiSearchTrendingDto;
+    private Mono<OpenApiSearchTrendingDto> getSearchProgram(String type, String name, int page) {
+        return tmDbGateway.get(OpenApiSearchTrendingDto.class,
+            "/search/{type}?query={query}&include_adult=false&language=ko&page={page}",
+            type, ProgramSearchKey.normalize(name), page);
     }
 
 
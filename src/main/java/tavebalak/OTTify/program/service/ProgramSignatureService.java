@@ -0,0 +1,128 @@
+package tavebalak.OTTify.program.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import tavebalak.OTTify.common.collection.MinHasher;
+import tavebalak.OTTify.common.component.TmDbGateway;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.personDetails.OAProgramCreditsDto;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.entity.ProgramType;
+import tavebalak.OTTify.program.recommend.ProgramFeatures;
+import tavebalak.OTTify.program.repository.ProgramSignatureJdbcRepository;
+import tavebalak.OTTify.program.repository.ProgramSignatureRepository;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProgramSignatureService {
+
+    private final ProgramSignatureRepository programSignatureRepository;
+    private final ProgramSignatureJdbcRepository programSignatureJdbcRepository;
+    private final ProgramGenreRepository programGenreRepository;
+    private final SimilarProgramIndex similarProgramIndex;
+    private final TmDbGateway tmDbGateway;
+
+    @Value("${program.similar.batch-size:100}")
+    private int batchSize;
+
+    @Value("${program.similar.concurrency:4}")
+    private int concurrency;
+
+    @Value("${program.similar.retry-after-minutes:60}")
+    private long retryAfterMinutes;
+
+    // 서명이 없는 프로그램을 batch-size 개까지 골라 출연진을 open api 에서 받아오고, 장르와 합쳐 서명을 만듭니다.
+    // 서명이 없는 프로그램이 batch-size 개보다 적으면 출연진을 다시 받아올 때가 된 프로그램으로 채웁니다.
+    // open api 에 없는 프로그램은 장르만으로 서명을 저장해 다시 고르지 않습니다.
+    // 그 밖의 실패는 장르만으로 서명을 저장하고 retry-after-minutes 뒤에 다시 시도하므로, 실패한 프로그램이 매번 먼저 골라져 다른 프로그램을 막지 않습니다.
+    // 서명을 저장한 프로그램 수를 돌려주며, 0 이면 더 만들 프로그램이 없는 것입니다.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int createMissingSignatures() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Program> programs = new ArrayList<>(programSignatureRepository.findSignatureTargets(
+            PageRequest.of(0, batchSize)));
+        if (programs.size() < batchSize) {
+            programs.addAll(programSignatureRepository.findSignatureRetryTargets(now,
+                PageRequest.of(0, batchSize - programs.size())));
+        }
+        if (programs.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<Long>> genreIdsByProgramId = new HashMap<>();
+        programGenreRepository.findGenreIdAndProgramIdByProgramIdIn(
+                programs.stream().map(Program::getId).collect(Collectors.toList()))
+            .forEach(row -> genreIdsByProgramId.computeIfAbsent((Long) row[1],
+                programId -> new ArrayList<>()).add((Long) row[0]));
+
+        Map<Long, List<String>> creditFeaturesByProgramId = Flux.fromIterable(programs)
+            .flatMap(program -> getCreditsDtoMono(program.getTmDbProgramId(), program.getType())
+                .map(ProgramFeatures::ofCredits)
+                .onErrorResume(WebClientResponseException.NotFound.class,
+                    e -> Mono.just(List.of()))
+                .map(creditFeatures -> Tuples.of(program.getId(), creditFeatures))
+                .onErrorResume(e -> {
+                    log.debug("program credits fetch failed. programId={}", program.getId(), e);
+                    return Mono.empty();
+                }), concurrency)
+            .collectMap(Tuple2::getT1, Tuple2::getT2, HashMap::new)
+            .block(Duration.ofMinutes(5));
+        Map<Long, List<String>> fetched = creditFeaturesByProgramId == null
+            ? Map.of() : creditFeaturesByProgramId;
+
+        Map<Long, int[]> signatureByProgramId = new HashMap<>();
+        Map<Long, byte[]> completedBytesByProgramId = new HashMap<>();
+        Map<Long, byte[]> retryBytesByProgramId = new HashMap<>();
+        programs.forEach(program -> {
+            Long programId = program.getId();
+            List<String> creditFeatures = fetched.get(programId);
+            int[] signature = toSignature(programId,
+                genreIdsByProgramId.getOrDefault(programId, List.of()),
+                creditFeatures == null ? List.of() : creditFeatures);
+            signatureByProgramId.put(programId, signature);
+            (creditFeatures == null ? retryBytesByProgramId : completedBytesByProgramId)
+                .put(programId, MinHasher.toBytes(signature));
+        });
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        programSignatureJdbcRepository.replaceAll(completedBytesByProgramId, createdAt, null);
+        programSignatureJdbcRepository.replaceAll(retryBytesByProgramId, createdAt,
+            now.plusMinutes(retryAfterMinutes));
+        similarProgramIndex.update(signatureByProgramId);
+        return signatureByProgramId.size();
+    }
+
+    // 장르도 출연진도 없는 프로그램은 자기 자신만 가진 특징으로 서명을 만들어 다시 고르지 않도록 합니다. 이 서명은 어떤 프로그램과도 비슷하지 않습니다.
+    private int[] toSignature(Long programId, List<Long> genreIds, List<String> creditFeatures) {
+        int[] signature = MinHasher.union(MinHasher.signature(ProgramFeatures.ofGenres(genreIds)),
+            MinHasher.signature(creditFeatures));
+        return signature != null ? signature : MinHasher.signature(List.of("program:" + programId));
+    }
+
+    private Mono<OAProgramCreditsDto> getCreditsDtoMono(Long tmDbProgramId,
+        ProgramType programType) {
+        String uriTemplate = programType == ProgramType.Movie
+            ? "/movie/{tmDbId}/credits" : "/tv/{tmDbId}/credits";
+
+        return tmDbGateway.get(OAProgramCreditsDto.class, uriTemplate, tmDbProgramId);
+    }
+}
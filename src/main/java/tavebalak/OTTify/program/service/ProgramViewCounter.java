@@ -0,0 +1,161 @@
+package tavebalak.OTTify.program.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 프로그램 상세 정보 조회 수를 셉니다. 조회할 때는 프로그램별 LongAdder 만 올리고, 모인 조회 수는 주기적으로 redis 에 한번에 씁니다.
+// redis 에는 5분, 1시간 단위 sorted set 에 조회 수를 더해두고, 최근 1시간/24시간/7일 조회 수는 이 단위들을 합쳐 만듭니다.
+// 모을 때는 LongAdder 를 map 에 둔 채 sumThenReset 으로 읽으므로, 읽는 동안 올라간 조회 수도 빠지지 않고 다음 주기에 씁니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgramViewCounter {
+
+    private static final String KEY_PREFIX = "programViews:";
+    private static final long FIVE_MINUTES = TimeUnit.MINUTES.toMillis(5);
+    private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Window {
+        HOUR("1h"),
+        DAY("24h"),
+        WEEK("7d");
+
+        private final String name;
+    }
+
+    // 올린 뒤에 flush 가 그 LongAdder 를 map 에서 뺐으면, flush 가 다시 읽지 못할 수 있으므로 직접 새 LongAdder 로 옮깁니다.
+    public void record(Long programId) {
+        LongAdder adder = pendingViews.computeIfAbsent(programId, key -> new LongAdder());
+        adder.increment();
+        if (pendingViews.get(programId) != adder) {
+            moveOrphaned(programId, adder);
+        }
+    }
+
+    // 모인 조회 수를 pipeline 한번으로 redis 에 더합니다. 실패하면 다음 주기에 다시 쓰도록 되돌려 놓습니다.
+    // 한 주기 동안 조회가 없어 0 으로 읽힌 프로그램만 map 에서 빼고, 빼는 사이 올라간 조회 수는 다시 넣습니다.
+    // 서버가 내려갈 때도 남은 조회 수를 씁니다.
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${program.view.flush-interval:10000}")
+    public void flush() {
+        Map<Long, Long> views = new HashMap<>();
+        pendingViews.forEach((programId, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                views.put(programId, count);
+            } else if (pendingViews.remove(programId, adder)) {
+                moveOrphaned(programId, adder);
+            }
+        });
+        if (views.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        String fiveMinuteKey = fiveMinuteKey(now / FIVE_MINUTES);
+        String hourKey = hourKey(now / ONE_HOUR);
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+                views.forEach((programId, count) -> {
+                    String member = String.valueOf(programId);
+                    stringRedisConnection.zIncrBy(fiveMinuteKey, count, member);
+                    stringRedisConnection.zIncrBy(hourKey, count, member);
+                });
+                //단위 key 는 가장 긴 구간이 지나면 필요 없으므로 그 뒤에 지워지도록 합니다.
+                stringRedisConnection.expire(fiveMinuteKey, Duration.ofHours(2).getSeconds());
+                stringRedisConnection.expire(hourKey, Duration.ofDays(8).getSeconds());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("program view flush failed. {} programs", views.size(), e);
+            views.forEach((programId, count) ->
+                pendingViews.computeIfAbsent(programId, key -> new LongAdder()).add(count));
+        }
+    }
+
+    private void moveOrphaned(Long programId, LongAdder adder) {
+        long count = adder.sumThenReset();
+        if (count > 0) {
+            pendingViews.computeIfAbsent(programId, key -> new LongAdder()).add(count);
+        }
+    }
+
+    // 최근 구간의 단위 sorted set 을 합쳐 구간별 조회 수를 다시 만듭니다. 없는 단위 key 는 빈 집합으로 취급됩니다.
+    @Scheduled(fixedDelayString = "${program.view.window-refresh-interval:60000}",
+        initialDelayString = "${program.view.window-refresh-initial-delay:60000}")
+    public void refreshWindows() {
+        long now = System.currentTimeMillis();
+        try {
+            union(Window.HOUR, lastKeys(now / FIVE_MINUTES, 12, this::fiveMinuteKey));
+            union(Window.DAY, lastKeys(now / ONE_HOUR, 24, this::hourKey));
+            union(Window.WEEK, lastKeys(now / ONE_HOUR, 24 * 7, this::hourKey));
+        } catch (RuntimeException e) {
+            log.warn("program view window refresh failed", e);
+        }
+    }
+
+    // 구간 조회 수가 많은 프로그램 id 를 count 개까지 돌려줍니다. redis 를 쓸 수 없으면 빈 목록입니다.
+    public List<Long> findMostViewedProgramIds(Window window, int count) {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet()
+                .reverseRange(windowKey(window), 0, count - 1);
+            if (members == null) {
+                return List.of();
+            }
+            return members.stream().map(Long::valueOf).collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            log.warn("program view ranking read failed. window={}", window, e);
+            return List.of();
+        }
+    }
+
+    private void union(Window window, List<String> keys) {
+        stringRedisTemplate.opsForZSet()
+            .unionAndStore(keys.get(0), keys.subList(1, keys.size()), windowKey(window));
+    }
+
+    private List<String> lastKeys(long currentBucket, int bucketCount, LongFunction<String> keyOf) {
+        List<String> keys = new ArrayList<>();
+        for (long bucket = currentBucket; bucket > currentBucket - bucketCount; bucket--) {
+            keys.add(keyOf.apply(bucket));
+        }
+        return keys;
+    }
+
+    private String fiveMinuteKey(long bucket) {
+        return KEY_PREFIX + "5m:" + bucket;
+    }
+
+    private String hourKey(long bucket) {
+        return KEY_PREFIX + "1h:" + bucket;
+    }
+
+    private String windowKey(Window window) {
+        return KEY_PREFIX + "window:" + window.getName();
+    }
+}
@@ -0,0 +1,111 @@
+package tavebalak.OTTify.program.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.common.collection.MinHashLshIndex;
+import tavebalak.OTTify.common.collection.MinHasher;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.program.event.ProgramsSavedEvent;
+import tavebalak.OTTify.program.recommend.ProgramFeatures;
+import tavebalak.OTTify.program.repository.ProgramSignatureRepository;
+
+// 프로그램별 MinHash 서명을 메모리에 들고 locality-sensitive hashing 으로 비슷한 프로그램을 찾습니다.
+// 구간 16개, 구간당 4자리이므로 Jaccard 유사도가 0.5 정도부터 후보에 잘 잡힙니다.
+// 출연진 서명이 아직 없는 프로그램은 장르만으로 만든 서명을 씁니다.
+// 서명은 한 서버만 만들므로, 다른 서버가 만든 서명은 주기적으로 마지막으로 읽은 뒤 만든 줄만 DB 에서 읽어 합칩니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarProgramIndex {
+
+    private static final int BANDS = 16;
+
+    private final ProgramSignatureRepository programSignatureRepository;
+    private final ProgramGenreRepository programGenreRepository;
+
+    // 장르 하나뿐인 프로그램처럼 같은 bucket 에 많이 몰릴 때도 조회가 오래 걸리지 않도록 비교할 후보 수를 제한합니다.
+    @Value("${program.similar.max-candidates:1000}")
+    private int maxCandidates;
+
+    // 만든 시각은 커밋보다 조금 앞서고 서버마다 시계가 조금 다르므로, 마지막으로 읽은 시각보다 이만큼 앞에서부터 다시 읽습니다.
+    @Value("${program.similar.sync-overlap-minutes:5}")
+    private long syncOverlapMinutes;
+
+    //서버가 뜰 때 reload 로 채우기 전까지는 빈 인덱스입니다.
+    private volatile MinHashLshIndex index = new MinHashLshIndex(BANDS, 0);
+    private volatile LocalDateTime syncedAt;
+
+    public synchronized void reload() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        MinHashLshIndex loaded = new MinHashLshIndex(BANDS, maxCandidates);
+        programSignatureRepository.findAllProgramIdAndSignature().forEach(row ->
+            loaded.put((Long) row[0], MinHasher.fromBytes((byte[]) row[1])));
+
+        Map<Long, List<Long>> genreIdsByProgramId = new HashMap<>();
+        programGenreRepository.findAllGenreIdAndProgramId().forEach(row ->
+            genreIdsByProgramId.computeIfAbsent((Long) row[1], programId -> new ArrayList<>())
+                .add((Long) row[0]));
+        genreIdsByProgramId.forEach((programId, genreIds) -> {
+            if (!loaded.contains(programId)) {
+                loaded.put(programId, MinHasher.signature(ProgramFeatures.ofGenres(genreIds)));
+            }
+        });
+        index = loaded;
+        syncedAt = startedAt;
+        log.info("similar program index loaded {} programs", loaded.size());
+    }
+
+    // 다른 서버가 만든 서명을 합칩니다. 같은 서명을 두번 넣어도 결과는 같습니다.
+    @Scheduled(fixedDelayString = "${program.similar.sync-interval:60000}",
+        initialDelayString = "${program.similar.sync-interval:60000}")
+    public synchronized void sync() {
+        if (syncedAt == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            MinHashLshIndex current = index;
+            programSignatureRepository.findProgramIdAndSignatureCreatedAfter(
+                    syncedAt.minusMinutes(syncOverlapMinutes))
+                .forEach(row -> current.put((Long) row[0], MinHasher.fromBytes((byte[]) row[1])));
+            syncedAt = startedAt;
+        } catch (RuntimeException e) {
+            //실패하면 다음 주기에 같은 시각부터 다시 읽습니다.
+            log.warn("similar program index sync failed", e);
+        }
+    }
+
+    // 새로 저장된 프로그램은 출연진 서명이 채워질 때까지 장르로만 찾습니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onProgramsSaved(ProgramsSavedEvent event) {
+        MinHashLshIndex current = index;
+        event.getGenreIdsByProgramId().forEach((programId, genreIds) -> {
+            if (!current.contains(programId)) {
+                current.put(programId, MinHasher.signature(ProgramFeatures.ofGenres(genreIds)));
+            }
+        });
+    }
+
+    public synchronized void update(Map<Long, int[]> signatureByProgramId) {
+        signatureByProgramId.forEach(index::put);
+    }
+
+    // 비슷한 순서로 count 개까지 돌려줍니다. 자기 자신은 빠집니다.
+    public List<Long> findSimilarProgramIds(Long programId, int count) {
+        return index.findSimilar(programId, count);
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import tavebalak.OTTify.common.BaseResponse;
@@ -19,8 +20,10 @@ import tavebalak.OTTify.error.ErrorCode;
 import tavebalak.OTTify.error.exception.UnauthorizedException;
 import tavebalak.OTTify.oauth.jwt.SecurityUtil;
 import tavebalak.OTTify.review.dto.reviewresponse.FourReviewResponseWithCounts;
+import tavebalak.OTTify.review.dto.reviewresponse.ReviewListWithCursorDto;
 import tavebalak.OTTify.review.dto.reviewresponse.ReviewListWithSliceInfoDto;
 import tavebalak.OTTify.review.dto.reviewresponse.ReviewProgramResponseDto;
+import tavebalak.OTTify.review.service.ReviewCursor;
 import tavebalak.OTTify.review.service.ReviewShowProgramDetailService;
 import tavebalak.OTTify.user.entity.User;
 import tavebalak.OTTify.user.repository.UserRepository;
@@ -75,6 +78,23 @@ public class ReviewShowProgramDetailController {
             reviewShowProgramDetailService.showReviewList(programId, pageable));
     }
 
+    @ApiOperation(value = "전체 리뷰 리스트를 커서로 보여주기", notes = "전체 리뷰 리스트를 cursor 다음부터 보여줍니다. 첫 페이지는 cursor 없이 요청하고, 다음 페이지는 응답의 nextCursor 를 넘깁니다.")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "sort", dataType = "String", value = "정렬기준(LIKE: 좋아요 순, LATEST: 최신 순)", paramType = "query"),
+        @ApiImplicitParam(name = "cursor", dataType = "String", value = "이전 응답의 nextCursor", paramType = "query"),
+        @ApiImplicitParam(name = "size", dataType = "int", value = "페이지당 아이템 갯수(최대 50)", paramType = "query")
+    })
+    @GetMapping("/normals/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public BaseResponse<ReviewListWithCursorDto> showReviewListByCursor(
+        @PathVariable("programId") Long programId,
+        @RequestParam(defaultValue = "LIKE") ReviewCursor.Sort sort,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        return BaseResponse.success(
+            reviewShowProgramDetailService.showReviewListByCursor(programId, sort, cursor, size));
+    }
+
     @ApiOperation(value = "프로그램 페이지의 자신의 취향에 맞는 리뷰 4개 보여주기", notes = "자신의 취향에 맞는 좋아요 순  처음 4개의 리뷰를 보여줍니다")
     @ApiImplicitParam(name = "programId", dataType = "long", value = "현재 프로그램의 ID", required = true, paramType = "path", example = "1")
     @GetMapping("/user/specific/count/4")
@@ -108,6 +128,40 @@ public class ReviewShowProgramDetailController {
                 pageable));
     }
 
+    @ApiOperation(value = "사용자의 취향에 맞는 전체 리뷰 리스트를 커서로 보여주기", notes = "자신의 취향에 맞는 리뷰 리스트를 cursor 다음부터 보여줍니다. 첫 페이지는 cursor 없이 요청하고, 다음 페이지는 응답의 nextCursor 를 넘깁니다.")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "sort", dataType = "String", value = "정렬기준(LIKE: 좋아요 순, LATEST: 최신 순)", paramType = "query"),
+        @ApiImplicitParam(name = "cursor", dataType = "String", value = "이전 응답의 nextCursor", paramType = "query"),
+        @ApiImplicitParam(name = "size", dataType = "int", value = "페이지당 아이템 갯수(최대 50)", paramType = "query")
+    })
+    @GetMapping("/user/specifics/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public BaseResponse<ReviewListWithCursorDto> showUserSpecificReviewListByCursor(
+        @PathVariable("programId") Long programId,
+        @RequestParam(defaultValue = "LIKE") ReviewCursor.Sort sort,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        User findUser = getUser();
+        return BaseResponse.success(
+            reviewShowProgramDetailService.showUserSpecificReviewListByCursor(findUser, programId,
+                sort, cursor, size));
+    }
+
+    @ApiOperation(value = "취향이 비슷한 사용자의 리뷰 리스트를 보여주기", notes = "좋아요와 별점으로 본 취향이 나와 비슷한 작성자의 리뷰부터 보여줍니다")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "page", dataType = "int", value = "페이지 번호(0부터 시작)", paramType = "query"),
+        @ApiImplicitParam(name = "size", dataType = "int", value = "페이지당 아이템 갯수", paramType = "query")
+    })
+    @GetMapping("/user/similar")
+    @ResponseStatus(HttpStatus.OK)
+    public BaseResponse<ReviewListWithSliceInfoDto> showSimilarUserReviewList(
+        @PathVariable("programId") Long programId,
+        @PageableDefault(size = 10, page = 0) Pageable pageable) {
+        User findUser = getUser();
+        return BaseResponse.success(
+            reviewShowProgramDetailService.showSimilarUserReviewList(findUser, programId,
+                pageable));
+    }
 
     private User getUser() {
         return userRepository.findByEmail(SecurityUtil.getCurrentEmail().get())
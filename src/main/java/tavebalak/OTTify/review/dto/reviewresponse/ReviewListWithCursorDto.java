@@ -0,0 +1,22 @@
+package tavebalak.OTTify.review.dto.reviewresponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class ReviewListWithCursorDto {
+
+    private List<ReviewProgramResponseDto> reviewProgramResponseDtoList = new ArrayList<>();
+    private boolean hasNextPage;
+    //다음 페이지를 요청할 때 넘길 커서입니다. 마지막 페이지면 null 입니다.
+    private String nextCursor;
+
+
+    public ReviewListWithCursorDto(List<ReviewProgramResponseDto> reviewProgramResponseDtoList,
+        boolean hasNextPage, String nextCursor) {
+        this.reviewProgramResponseDtoList = reviewProgramResponseDtoList;
+        this.hasNextPage = hasNextPage;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -9,9 +9,11 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,6 +25,14 @@ import tavebalak.OTTify.user.entity.User;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+    @Index(name = "IDX_program_id_user_id", columnList = "program_id,user_id"),
+    @Index(name = "IDX_program_id_like_counts", columnList = "program_id,like_counts,review_id"),
+    @Index(name = "IDX_program_id_created_at", columnList = "program_id,created_at,review_id"),
+    @Index(name = "IDX_program_id_genre_like_counts",
+        columnList = "program_id,genre,like_counts,review_id"),
+    @Index(name = "IDX_program_id_genre_created_at",
+        columnList = "program_id,genre,created_at,review_id")})
 public class Review extends BaseEntity {
 
     @Id
@@ -42,8 +52,8 @@ public class Review extends BaseEntity {
     private double rating;
     private String genre;
 
-    //좋아요 수 필드 추가
-    @Column(name = "like_counts")
+    //좋아요 수 필드 추가, LikeEngine 이 모아서 직접 더하므로 엔티티를 저장할 때는 쓰지 않습니다.
+    @Column(name = "like_counts", updatable = false)
     private int likeCounts;
 
     @Builder
@@ -70,16 +80,6 @@ public class Review extends BaseEntity {
         this.reviewReviewTags.add(reviewReviewTag);
     }
 
-    //좋아요 수 증가
-    public void addLikeNumber() {
-        this.likeCounts++;
-    }
-
-    //좋아요 수 취소
-    public void cancelLikeNumber() {
-        this.likeCounts--;
-    }
-
     public void changeContentAndRatingReview(String content, double rating) {
         this.content = content;
         this.rating = rating;
@@ -0,0 +1,22 @@
+package tavebalak.OTTify.review.event;
+
+import lombok.Getter;
+
+// 리뷰가 작성, 수정, 삭제되거나 좋아요 수가 바뀌었을 때 발행됩니다.
+@Getter
+public class ReviewChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Long reviewId;
+    private final Type type;
+
+    public ReviewChangedEvent(Long reviewId, Type type) {
+        this.reviewId = reviewId;
+        this.type = type;
+    }
+}
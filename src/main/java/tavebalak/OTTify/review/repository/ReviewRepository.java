@@ -1,6 +1,8 @@
 package tavebalak.OTTify.review.repository;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +35,36 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Slice<Review> findByProgramWithFetchUser(@Param("programId") Long programId, Pageable pageable);
 
 
+    //커서 다음의 리뷰를 가져옵니다. (정렬 값, id) 가 커서보다 작은 리뷰를 인덱스 순서대로 읽으므로 몇번째 페이지든 같은 비용이 듭니다.
+    //정렬 값이 같은 리뷰는 id 로 이어서 읽습니다. 앞의 <= 조건은 인덱스 범위를 좁히기 위한 것입니다.
+    @Query("select r from Review r join fetch r.user where r.program.id=:programId"
+        + " and r.likeCounts <= :likeCounts and (r.likeCounts < :likeCounts or r.id < :reviewId)"
+        + " order by r.likeCounts desc, r.id desc")
+    Slice<Review> findByProgramAfterLikeCountsWithFetchUser(@Param("programId") Long programId,
+        @Param("likeCounts") int likeCounts, @Param("reviewId") Long reviewId, Pageable pageable);
+
+    @Query("select r from Review r join fetch r.user where r.program.id=:programId"
+        + " and r.createdAt <= :createdAt and (r.createdAt < :createdAt or r.id < :reviewId)"
+        + " order by r.createdAt desc, r.id desc")
+    Slice<Review> findByProgramAfterCreatedAtWithFetchUser(@Param("programId") Long programId,
+        @Param("createdAt") LocalDateTime createdAt, @Param("reviewId") Long reviewId,
+        Pageable pageable);
+
+    @Query("select r from Review r join fetch r.user where r.program.id=:programId and r.genre=:genre"
+        + " and r.likeCounts <= :likeCounts and (r.likeCounts < :likeCounts or r.id < :reviewId)"
+        + " order by r.likeCounts desc, r.id desc")
+    Slice<Review> findUserSpecificByProgramAndGenreAfterLikeCountsWithFetchUser(
+        @Param("programId") Long programId, @Param("genre") String genre,
+        @Param("likeCounts") int likeCounts, @Param("reviewId") Long reviewId, Pageable pageable);
+
+    @Query("select r from Review r join fetch r.user where r.program.id=:programId and r.genre=:genre"
+        + " and r.createdAt <= :createdAt and (r.createdAt < :createdAt or r.id < :reviewId)"
+        + " order by r.createdAt desc, r.id desc")
+    Slice<Review> findUserSpecificByProgramAndGenreAfterCreatedAtWithFetchUser(
+        @Param("programId") Long programId, @Param("genre") String genre,
+        @Param("createdAt") LocalDateTime createdAt, @Param("reviewId") Long reviewId,
+        Pageable pageable);
+
     //좋아요 많이 받은 순으로 user first genre 3개, 나랑 취향이 비슷한 user의 장르
     @Query("select r from Review r join fetch r.user where r.program.id=:programId and r.genre=:genre order by r.likeCounts desc")
     List<Review> findUserSpecific4ByProgramAndGenreOrderByLikeNumberDescWithFetchUser(
@@ -44,13 +76,41 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Slice<Review> findUserSpecificByProgramAndGenreWithFetchUser(@Param("programId") Long programId,
         @Param("genre") String genre, Pageable pageable);
 
-    @Query("select count(r) from Review r where r.genre=:genre and r.program.id=:programId")
-    int countByGenreName(@Param("genre") String genre, @Param("programId") Long programId);
+    List<Review> findByUserId(Long userId);
 
-    @Query("select sum(r.rating) from Review r where r.genre=:genre and r.program.id=:programId")
-    Double sumReviewRatingByGenreName(@Param("genre") String genreName,
-        @Param("programId") Long programId);
+    @Query("select r.program.id from Review r where r.user.id =:userId")
+    List<Long> findProgramIdsByUserId(@Param("userId") Long userId);
 
-    List<Review> findByUserId(Long userId);
+    //추천 모델을 만들 때 사용자 id, 프로그램 id, 별점만 가져옵니다.
+    @Query("select r.user.id, r.program.id, r.rating from Review r")
+    List<Object[]> findAllUserIdAndProgramIdAndRating();
+
+    //취향 인덱스를 사용자 id 구간마다 나눠 만들 때 그 구간의 사용자 id, 프로그램 id, 별점만 가져옵니다.
+    @Query("select r.user.id, r.program.id, r.rating from Review r"
+        + " where r.user.id between :fromUserId and :toUserId")
+    List<Object[]> findUserIdAndProgramIdAndRatingByUserIdBetween(
+        @Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+
+    //취향이 비슷한 작성자의 리뷰만 리뷰 id, 작성자 id, 좋아요 수로 가져옵니다. (program_id, user_id) 인덱스로 읽습니다.
+    @Query("select r.id, r.user.id, r.likeCounts from Review r"
+        + " where r.program.id=:programId and r.user.id in :userIds")
+    List<Object[]> findIdAndUserIdAndLikeCountsByProgramIdAndUserIdIn(
+        @Param("programId") Long programId, @Param("userIds") Collection<Long> userIds);
+
+    //주어진 작성자의 리뷰를 뺀 나머지 리뷰 id 를 좋아요 순으로 가져옵니다.
+    @Query("select r.id from Review r where r.program.id=:programId and r.user.id not in :userIds"
+        + " order by r.likeCounts desc, r.id desc")
+    List<Long> findIdsByProgramIdAndUserIdNotInOrderByLikeCounts(
+        @Param("programId") Long programId, @Param("userIds") Collection<Long> userIds,
+        Pageable pageable);
+
+    @Query("select r from Review r join fetch r.user join fetch r.program order by r.createdAt desc")
+    List<Review> findLatestWithFetchUserAndProgram(Pageable pageable);
+
+    @Query("select r from Review r join fetch r.user join fetch r.program where r.id=:reviewId")
+    Optional<Review> findByIdWithFetchUserAndProgram(@Param("reviewId") Long reviewId);
+
+    @Query("select r from Review r join fetch r.user where r.id in :reviewIds")
+    List<Review> findByIdInWithFetchUser(@Param("reviewIds") List<Long> reviewIds);
 
 }
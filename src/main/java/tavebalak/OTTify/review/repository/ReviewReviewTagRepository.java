@@ -1,5 +1,6 @@
 package tavebalak.OTTify.review.repository;
 
+import java.util.Collection;
 import java.util.List;
 import javax.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,6 +14,11 @@ public interface ReviewReviewTagRepository extends JpaRepository<ReviewReviewTag
     @Query("select rrt from ReviewReviewTag rrt join fetch rrt.reviewTag where rrt.review.id=:reviewId")
     List<ReviewReviewTag> findByReviewWithReviewTagFetch(@Param("reviewId") Long reviewId);
 
+    //리뷰 목록의 태그를 한번에 가져옵니다. 태그 이름은 ReviewTagRegistry 에서 찾으므로 태그 테이블은 읽지 않습니다.
+    @Query("select rrt.review.id, rrt.reviewTag.id from ReviewReviewTag rrt where rrt.review.id in :reviewIds order by rrt.id")
+    List<Object[]> findReviewIdAndReviewTagIdByReviewIdIn(
+        @Param("reviewIds") Collection<Long> reviewIds);
+
     @Transactional
     @Modifying
     @Query("delete from ReviewReviewTag rrt where rrt.reviewTag.id in :reviewTagIds and rrt.review.id =:reviewId")
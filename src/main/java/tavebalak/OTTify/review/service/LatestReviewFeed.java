@@ -0,0 +1,237 @@
+package tavebalak.OTTify.review.service;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.common.like.LikeCountsFlushedEvent;
+import tavebalak.OTTify.common.like.LikeTarget;
+import tavebalak.OTTify.review.dto.response.LatestReviewsDTO;
+import tavebalak.OTTify.review.entity.Review;
+import tavebalak.OTTify.review.event.ReviewChangedEvent;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+
+// 메인 페이지의 최신 리뷰 목록입니다. 응답 DTO 그대로 SIZE 개까지 redis list 에 두어 모든 서버가 DB 없이 같은 목록을 보여줍니다.
+// 각 서버는 redis 에서 읽은 목록을 local-ttl 동안 메모리에 들고 있다가 바로 돌려줍니다.
+// 리뷰가 작성되면 앞에 넣고 SIZE 개로 자르며, 수정되거나 좋아요 수가 DB 에 반영된 리뷰는 그 자리만 바꿉니다.
+// 목록을 바꿀 때는 WATCH 로 읽은 뒤 MULTI 로 다시 쓰고, 그 사이 다른 서버가 바꿨으면 다시 시도합니다.
+// 목록에 있던 리뷰가 삭제되면 빈 자리를 채울 리뷰를 알 수 없으므로 목록을 지우고, 다음 조회 때 DB 에서 다시 채웁니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestReviewFeed {
+
+    public static final int SIZE = 8;
+
+    private static final String KEY = "latestReviews";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Gson GSON = new Gson();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ReviewRepository reviewRepository;
+
+    @Value("${review.latest.local-ttl-millis:1000}")
+    private long localTtlMillis;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), 0);
+
+    // 목록이 아직 채워지지 않았거나 redis 를 쓸 수 없으면 빈 목록을 돌려줍니다. 이때는 DB 에서 읽어 seed 로 채웁니다.
+    public List<LatestReviewsDTO> getLatestReviews() {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        if (!current.reviews.isEmpty() && now - current.loadedAt < localTtlMillis) {
+            return current.reviews;
+        }
+
+        try {
+            List<LatestReviewsDTO> reviews = parse(
+                stringRedisTemplate.opsForList().range(KEY, 0, SIZE - 1));
+            snapshot = new Snapshot(reviews, now);
+            return reviews;
+        } catch (DataAccessException e) {
+            log.warn("latest reviews redis read failed", e);
+            return List.of();
+        }
+    }
+
+    // 목록이 비어있을 때만 채웁니다. 그 사이 다른 서버가 채웠거나 리뷰가 작성됐으면 그대로 둡니다.
+    // redis 를 쓸 수 없으면 DB 에서 읽은 목록을 local-ttl 동안만 메모리에 들고 있어, 조회마다 DB 를 읽지 않게 합니다.
+    public void seed(List<LatestReviewsDTO> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        try {
+            update(current -> current.isEmpty() ? reviews : null);
+        } catch (DataAccessException e) {
+            log.warn("latest reviews redis seed failed", e);
+            snapshot = new Snapshot(List.copyOf(reviews), System.currentTimeMillis());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        try {
+            switch (event.getType()) {
+                case CREATED:
+                    //아직 채워지지 않은 목록에 하나만 넣으면 나머지가 비므로, 채워진 목록에만 넣습니다.
+                    findReview(event.getReviewId()).ifPresent(review -> update(current -> {
+                        if (current.isEmpty()) {
+                            return null;
+                        }
+                        List<LatestReviewsDTO> changed = new ArrayList<>();
+                        changed.add(review);
+                        current.stream()
+                            .filter(dto -> !dto.getReviewId().equals(review.getReviewId()))
+                            .limit(SIZE - 1)
+                            .forEach(changed::add);
+                        return changed;
+                    }));
+                    break;
+                case UPDATED:
+                    if (contains(event.getReviewId())) {
+                        findReview(event.getReviewId()).ifPresent(review -> update(current ->
+                            current.stream()
+                                .map(dto -> dto.getReviewId().equals(review.getReviewId())
+                                    ? review : dto)
+                                .collect(Collectors.toList())));
+                    }
+                    break;
+                case DELETED:
+                    if (contains(event.getReviewId())) {
+                        stringRedisTemplate.delete(KEY);
+                        snapshot = new Snapshot(List.of(), 0);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (DataAccessException e) {
+            //목록을 고치지 못했으면 틀린 목록이 남지 않도록 지워 다음 조회 때 DB 에서 다시 채우게 합니다.
+            log.warn("latest reviews update failed. reviewId={}", event.getReviewId(), e);
+            snapshot = new Snapshot(List.of(), 0);
+            try {
+                stringRedisTemplate.delete(KEY);
+            } catch (DataAccessException ignored) {
+                //redis 를 쓸 수 없으면 읽을 때도 DB 에서 읽으므로 그대로 둡니다.
+            }
+        }
+    }
+
+    // 좋아요 수는 LikeEngine 이 DB 에 모아서 반영한 뒤에 목록에 있는 리뷰만 다시 읽어 바꿉니다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLikeCountsFlushed(LikeCountsFlushedEvent event) {
+        if (event.getTarget() != LikeTarget.REVIEW) {
+            return;
+        }
+        try {
+            List<LatestReviewsDTO> reviews = new ArrayList<>();
+            parse(stringRedisTemplate.opsForList().range(KEY, 0, SIZE - 1)).stream()
+                .filter(dto -> event.getTargetIds().contains(dto.getReviewId()))
+                .forEach(dto -> findReview(dto.getReviewId()).ifPresent(reviews::add));
+            if (reviews.isEmpty()) {
+                return;
+            }
+            Map<Long, LatestReviewsDTO> reviewById = reviews.stream()
+                .collect(Collectors.toMap(LatestReviewsDTO::getReviewId, dto -> dto));
+            update(current -> current.stream()
+                .map(dto -> reviewById.getOrDefault(dto.getReviewId(), dto))
+                .collect(Collectors.toList()));
+        } catch (DataAccessException e) {
+            //좋아요 수만 잠깐 늦게 보일 뿐이므로 다음 변경 때 다시 반영합니다.
+            log.warn("latest reviews like count update failed", e);
+        }
+    }
+
+    private boolean contains(Long reviewId) {
+        List<String> values = stringRedisTemplate.opsForList().range(KEY, 0, SIZE - 1);
+        return parse(values).stream().anyMatch(dto -> dto.getReviewId().equals(reviewId));
+    }
+
+    // change 가 null 을 돌려주면 바꾸지 않습니다.
+    private void update(UnaryOperator<List<LatestReviewsDTO>> change) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Boolean done = stringRedisTemplate.execute(new SessionCallback<Boolean>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Boolean execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> redisOperations =
+                        (RedisOperations<String, String>) operations;
+                    redisOperations.watch(KEY);
+                    List<LatestReviewsDTO> changed = change.apply(
+                        parse(redisOperations.opsForList().range(KEY, 0, SIZE - 1)));
+                    if (changed == null) {
+                        redisOperations.unwatch();
+                        return true;
+                    }
+
+                    redisOperations.multi();
+                    redisOperations.delete(KEY);
+                    redisOperations.opsForList().rightPushAll(KEY,
+                        changed.stream().map(GSON::toJson).collect(Collectors.toList()));
+                    List<Object> results = redisOperations.exec();
+                    if (results == null || results.isEmpty()) {
+                        return false;
+                    }
+                    snapshot = new Snapshot(changed, System.currentTimeMillis());
+                    return true;
+                }
+            });
+            if (Boolean.TRUE.equals(done)) {
+                return;
+            }
+        }
+        //계속 부딪히면 목록을 지워 다음 조회 때 DB 에서 다시 채우게 합니다.
+        stringRedisTemplate.delete(KEY);
+        snapshot = new Snapshot(List.of(), 0);
+    }
+
+    private Optional<LatestReviewsDTO> findReview(Long reviewId) {
+        return reviewRepository.findByIdWithFetchUserAndProgram(reviewId)
+            .map(this::builderLatestReviewsDTO);
+    }
+
+    private LatestReviewsDTO builderLatestReviewsDTO(Review review) {
+        return LatestReviewsDTO.builder()
+            .reviewId(review.getId())
+            .nickName(review.getUser().getNickName())
+            .content(review.getContent())
+            .programTitle(review.getProgram().getTitle())
+            .reviewRating(review.getRating())
+            .profilePhoto(review.getUser().getProfilePhoto())
+            .likeCount(review.getLikeCounts())
+            .build();
+    }
+
+    private List<LatestReviewsDTO> parse(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+            .map(value -> GSON.fromJson(value, LatestReviewsDTO.class))
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static class Snapshot {
+
+        private final List<LatestReviewsDTO> reviews;
+        private final long loadedAt;
+
+        private Snapshot(List<LatestReviewsDTO> reviews, long loadedAt) {
+            this.reviews = reviews;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
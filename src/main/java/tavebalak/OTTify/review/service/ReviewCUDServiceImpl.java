@@ -3,25 +3,32 @@ package tavebalak.OTTify.review.service;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tavebalak.OTTify.common.lock.DistributeLock;
+import tavebalak.OTTify.common.like.LikeEngine;
+import tavebalak.OTTify.common.like.LikeTarget;
 import tavebalak.OTTify.error.ErrorCode;
 import tavebalak.OTTify.error.exception.BadRequestException;
 import tavebalak.OTTify.error.exception.NotFoundException;
 import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.repository.UserGenreRepository;
 import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.event.ProgramExclusionChangedEvent;
+import tavebalak.OTTify.program.event.ProgramInteractionEvent;
+import tavebalak.OTTify.program.event.ProgramRatingChangedEvent;
 import tavebalak.OTTify.program.repository.ProgramRepository;
+import tavebalak.OTTify.program.service.ProgramGenreRatingStore;
 import tavebalak.OTTify.review.dto.reviewrequest.ReviewSaveDto;
 import tavebalak.OTTify.review.dto.reviewrequest.ReviewUpdateDto;
 import tavebalak.OTTify.review.entity.Review;
 import tavebalak.OTTify.review.entity.ReviewTag;
+import tavebalak.OTTify.review.event.ReviewChangedEvent;
 import tavebalak.OTTify.review.repository.ReviewRepository;
 import tavebalak.OTTify.review.repository.ReviewReviewTagRepository;
 import tavebalak.OTTify.review.repository.ReviewTagRepository;
 import tavebalak.OTTify.user.entity.User;
-import tavebalak.OTTify.user.repository.LikedReviewRepository;
+import tavebalak.OTTify.user.event.ReviewLikedEvent;
 
 @Service
 @RequiredArgsConstructor
@@ -32,8 +39,10 @@ public class ReviewCUDServiceImpl implements ReviewCUDService {
     private final ProgramRepository programRepository;
     private final UserGenreRepository userGenreRepository;
     private final ReviewTagRepository reviewTagRepository;
-    private final LikedReviewRepository likedReviewRepository;
     private final ReviewReviewTagRepository reviewReviewTagRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final LikeEngine likeEngine;
+    private final ProgramGenreRatingStore programGenreRatingStore;
 
     //리뷰 저장
 
@@ -69,12 +78,23 @@ public class ReviewCUDServiceImpl implements ReviewCUDService {
             review.addReviewTag(reviewTag);
         });
 
-        // 리뷰 저장
+        // 리뷰 저장, 최신 리뷰 목록에 넣을 수 있도록 id 를 바로 받아옵니다.
         program.addReview(review);
+        reviewRepository.save(review);
+        programGenreRatingStore.addRating(program.getId(), review.getGenre(), review.getRating());
 
         //유저 평균 별점 업데이트
         user.addUsersReviewAndRecalculateRating(review.getRating());
-
+        publishProgramRatingChanged(program);
+
+        //추천 모델에 새 별점을 반영합니다.
+        applicationEventPublisher.publishEvent(
+            ProgramInteractionEvent.review(user.getId(), program.getId(), review.getRating()));
+        //이미 리뷰한 프로그램은 추천에서 뺍니다.
+        applicationEventPublisher.publishEvent(
+            new ProgramExclusionChangedEvent(user.getId(), program.getId(), true));
+        applicationEventPublisher.publishEvent(
+            new ReviewChangedEvent(review.getId(), ReviewChangedEvent.Type.CREATED));
     }
 
     //리뷰 수정
@@ -96,7 +116,10 @@ public class ReviewCUDServiceImpl implements ReviewCUDService {
         // program 의 평균 별점 및 user 의 평균 별점 업데이트
         program.changeProgramReviewRatingAndRecalculatingAverage(review.getRating(),
             reviewUpdateDto.getRating());
+        programGenreRatingStore.changeRating(program.getId(), review.getGenre(),
+            review.getRating(), reviewUpdateDto.getRating());
         user.changeUsersReviewAndRecalculateRating(review.getRating(), reviewUpdateDto.getRating());
+        publishProgramRatingChanged(program);
 
         //이전에 있었던 ReviewTag 리스트
         List<Long> preReviewTagList = review.getReviewReviewTags().stream()
@@ -132,6 +155,8 @@ public class ReviewCUDServiceImpl implements ReviewCUDService {
         // contents 와 Rating 수정
         review.changeContentAndRatingReview(reviewUpdateDto.getContents(),
             reviewUpdateDto.getRating());
+        applicationEventPublisher.publishEvent(
+            new ReviewChangedEvent(reviewId, ReviewChangedEvent.Type.UPDATED));
     }
 
 
@@ -154,13 +179,19 @@ public class ReviewCUDServiceImpl implements ReviewCUDService {
 
         //프로그램에서 Review 삭제
         program.deleteReview(review);
+        programGenreRatingStore.removeRating(program.getId(), review.getGenre(),
+            review.getRating());
+        publishProgramRatingChanged(program);
+        applicationEventPublisher.publishEvent(
+            new ProgramExclusionChangedEvent(user.getId(), program.getId(), false));
+        applicationEventPublisher.publishEvent(
+            new ReviewChangedEvent(reviewId, ReviewChangedEvent.Type.DELETED));
 
     }
 
-    //리뷰 좋아요 기능을 구현합니다.
+    //리뷰 좋아요 기능을 구현합니다. 한번 누르면 좋아요, 두번 누르면 취소입니다.
+    //좋아요는 LikeEngine 이 redis 에서 처리하고 좋아요 수는 DB 에 모아서 반영합니다.
     @Override
-    @Transactional
-    @DistributeLock(key = "T(java.lang.String).format('LikeReview%d', #reviewId)")
     public void likeReview(User user, Long reviewId) {
         //리뷰가 없을 경우 예외
         Review review = reviewRepository.findById(reviewId)
@@ -171,14 +202,14 @@ public class ReviewCUDServiceImpl implements ReviewCUDService {
             throw new BadRequestException(ErrorCode.CAN_NOT_SELF_LIKE_REVIEW_REQUEST);
         }
 
-        //한번 누르면 좋아요 갯수 증가 , 두번 누르면 좋아요 갯수 감소
-        likedReviewRepository.findByUserIdAndReviewId(user.getId(), reviewId)
-            .ifPresentOrElse(likedReview -> {
-                user.getLikedReviews().remove(likedReview);
-                review.cancelLikeNumber();
-            }, () -> {
-                user.likeReview(review);
-                review.addLikeNumber();
-            });
+        if (likeEngine.toggle(LikeTarget.REVIEW, reviewId, user.getId())) {
+            applicationEventPublisher.publishEvent(new ReviewLikedEvent(user.getId(), reviewId));
+        }
+    }
+
+    //별점 순위표에 바뀐 평균 별점을 반영합니다.
+    private void publishProgramRatingChanged(Program program) {
+        applicationEventPublisher.publishEvent(new ProgramRatingChangedEvent(program.getId(),
+            program.getAverageRating(), program.getReviewCount()));
     }
 }
@@ -0,0 +1,75 @@
+package tavebalak.OTTify.review.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import lombok.Getter;
+import tavebalak.OTTify.error.ErrorCode;
+import tavebalak.OTTify.error.exception.BadRequestException;
+import tavebalak.OTTify.review.entity.Review;
+
+// 리뷰 목록을 offset 대신 마지막으로 본 리뷰의 (정렬 값, 리뷰 id) 다음부터 읽기 위한 커서입니다.
+// 클라이언트는 응답의 nextCursor 를 그대로 다음 요청에 넘기며, 안의 값은 base64 로 감춥니다.
+@Getter
+public class ReviewCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    public enum Sort {
+        LIKE, LATEST
+    }
+
+    private final Sort sort;
+    private final int likeCounts;
+    private final LocalDateTime createdAt;
+    private final Long reviewId;
+
+    private ReviewCursor(Sort sort, int likeCounts, LocalDateTime createdAt, Long reviewId) {
+        this.sort = sort;
+        this.likeCounts = likeCounts;
+        this.createdAt = createdAt;
+        this.reviewId = reviewId;
+    }
+
+    // 첫 페이지는 모든 리뷰보다 앞에 있는 커서로 읽습니다.
+    public static ReviewCursor first(Sort sort) {
+        return new ReviewCursor(sort, Integer.MAX_VALUE, FIRST_CREATED_AT, Long.MAX_VALUE);
+    }
+
+    public static ReviewCursor after(Sort sort, Review review) {
+        return new ReviewCursor(sort, review.getLikeCounts(), review.getCreatedAt(),
+            review.getId());
+    }
+
+    // 커서가 없으면 첫 페이지입니다. 다른 정렬의 커서나 고쳐진 커서는 받지 않습니다.
+    public static ReviewCursor decode(Sort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first(sort);
+        }
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor),
+                StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+            if (values.length != 3 || Sort.valueOf(values[0]) != sort) {
+                throw new BadRequestException(ErrorCode.INVALID_REVIEW_CURSOR);
+            }
+            Long reviewId = Long.valueOf(values[2]);
+            if (sort == Sort.LIKE) {
+                return new ReviewCursor(sort, Integer.parseInt(values[1]), FIRST_CREATED_AT,
+                    reviewId);
+            }
+            return new ReviewCursor(sort, Integer.MAX_VALUE, LocalDateTime.parse(values[1]),
+                reviewId);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException(ErrorCode.INVALID_REVIEW_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String value = sort == Sort.LIKE ? String.valueOf(likeCounts) : createdAt.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+            (sort.name() + SEPARATOR + value + SEPARATOR + reviewId)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
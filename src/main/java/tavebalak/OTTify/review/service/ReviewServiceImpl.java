@@ -2,21 +2,23 @@ package tavebalak.OTTify.review.service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tavebalak.OTTify.common.like.LikeEngine;
+import tavebalak.OTTify.common.like.LikeTarget;
 import tavebalak.OTTify.error.ErrorCode;
 import tavebalak.OTTify.error.exception.NotFoundException;
 import tavebalak.OTTify.oauth.jwt.SecurityUtil;
 import tavebalak.OTTify.review.dto.response.LatestReviewsDTO;
 import tavebalak.OTTify.review.entity.Review;
 import tavebalak.OTTify.review.repository.ReviewRepository;
-import tavebalak.OTTify.user.entity.LikedReview;
 import tavebalak.OTTify.user.entity.User;
-import tavebalak.OTTify.user.repository.LikedReviewRepository;
+import tavebalak.OTTify.user.event.ReviewLikedEvent;
 import tavebalak.OTTify.user.repository.UserRepository;
 
 @Service
@@ -25,22 +27,25 @@ import tavebalak.OTTify.user.repository.UserRepository;
 public class ReviewServiceImpl implements ReviewService {
 
     private final ReviewRepository reviewRepository;
-    private final LikedReviewRepository likedReviewRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final LatestReviewFeed latestReviewFeed;
+    private final LikeEngine likeEngine;
     private final int TOP8_SIZE = 8;
 
+    //최신 리뷰 목록은 LatestReviewFeed 에서 읽고, 목록이 아직 채워지지 않았을 때만 DB 에서 최신 TOP8_SIZE 개를 읽어 채웁니다.
     public List<LatestReviewsDTO> getLatestReviews() {
-        List<Review> reviewList = findReviewList();
-        List<Review> top8ReviewList = new ArrayList<>();
-        if (reviewList.size() < TOP8_SIZE) {
-            top8ReviewList.addAll(reviewList);
-        } else {
-            top8ReviewList.addAll(reviewList.subList(0, TOP8_SIZE));
+        List<LatestReviewsDTO> latestReviews = latestReviewFeed.getLatestReviews();
+        if (!latestReviews.isEmpty()) {
+            return latestReviews;
         }
-        return top8ReviewList.stream().map(
-            listOne -> builderLatestReviewsDTO(listOne, getLikeSum(listOne.getId()))
-        ).collect(Collectors.toList());
 
+        latestReviews = reviewRepository.findLatestWithFetchUserAndProgram(
+                PageRequest.of(0, TOP8_SIZE)).stream()
+            .map(review -> builderLatestReviewsDTO(review, review.getLikeCounts()))
+            .collect(Collectors.toList());
+        latestReviewFeed.seed(latestReviews);
+        return latestReviews;
     }
 
     private List<Review> findReviewList() {
@@ -60,13 +65,6 @@ public class ReviewServiceImpl implements ReviewService {
             .build();
     }
 
-    private Integer getLikeSum(Long reviewId) {
-        Optional<List<LikedReview>> likedReviews = likedReviewRepository.findByReviewId(reviewId);
-        return likedReviews
-            .map(List::size)
-            .orElse(0);
-    }
-
     public List<LatestReviewsDTO> getLatestReviewsTest() {
         List<Review> reviewList = findReviewList();
         List<Review> top8ReviewList = new ArrayList<>();
@@ -86,6 +84,7 @@ public class ReviewServiceImpl implements ReviewService {
         reviewRepository.save(review);
     }
 
+    //좋아요는 LikeEngine 이 redis 에서 처리하고 DB 에는 모아서 반영합니다.
     @Override
     public void likeReview(Long id) {
         String userEmail = SecurityUtil.getCurrentEmail().get();
@@ -94,47 +93,10 @@ public class ReviewServiceImpl implements ReviewService {
 
         Review review = findReviewById(id);
 
-        likedReviewRepository.findByUserIdAndReviewId(savedUser.getId(), review.getId())
-            .ifPresentOrElse(
-                entity -> cancelLikeReview(entity, review),
-                () -> postLikeReview(id, savedUser, review)
-            );
-    }
-
-    private void postLikeReview(Long id, User savedUser,
-        Review review) {
-        saveLikeReview(id, savedUser);
-        increaseLikeCountForReview(review);
-    }
-
-    private static void increaseLikeCountForReview(Review review) {
-        review.addLikeNumber();
-    }
-
-    private void saveLikeReview(Long id, User savedUser) {
-        likedReviewRepository.save(
-            builderLikedReview(id, savedUser)
-        );
-    }
-
-    private void cancelLikeReview(LikedReview entity, Review review) {
-        deleteLikeReview(entity);
-        decreaseLikeCountForReview(review);
-    }
-
-    private static void decreaseLikeCountForReview(Review review) {
-        review.cancelLikeNumber();
-    }
-
-    private void deleteLikeReview(LikedReview entity) {
-        likedReviewRepository.delete(entity);
-    }
-
-    private LikedReview builderLikedReview(Long id, User savedUser) {
-        return LikedReview.builder()
-            .user(savedUser)
-            .review(findReviewById(id))
-            .build();
+        if (likeEngine.toggle(LikeTarget.REVIEW, review.getId(), savedUser.getId())) {
+            applicationEventPublisher.publishEvent(
+                new ReviewLikedEvent(savedUser.getId(), review.getId()));
+        }
     }
 
     private Review findReviewById(Long id) {
@@ -2,6 +2,7 @@ package tavebalak.OTTify.review.service;
 
 import org.springframework.data.domain.Pageable;
 import tavebalak.OTTify.review.dto.reviewresponse.FourReviewResponseWithCounts;
+import tavebalak.OTTify.review.dto.reviewresponse.ReviewListWithCursorDto;
 import tavebalak.OTTify.review.dto.reviewresponse.ReviewListWithSliceInfoDto;
 import tavebalak.OTTify.review.dto.reviewresponse.ReviewProgramResponseDto;
 import tavebalak.OTTify.user.entity.User;
@@ -14,10 +15,19 @@ public interface ReviewShowProgramDetailService {
 
     ReviewListWithSliceInfoDto showReviewList(Long programId, Pageable pageable);
 
+    ReviewListWithCursorDto showReviewListByCursor(Long programId, ReviewCursor.Sort sort,
+        String cursor, int size);
+
     FourReviewResponseWithCounts show4UserSpecificReviewList(User user, Long programId);
 
     ReviewListWithSliceInfoDto showUserSpecificReviewList(User user, Long programId,
         Pageable pageable);
 
+    ReviewListWithCursorDto showUserSpecificReviewListByCursor(User user, Long programId,
+        ReviewCursor.Sort sort, String cursor, int size);
+
+    ReviewListWithSliceInfoDto showSimilarUserReviewList(User user, Long programId,
+        Pageable pageable);
+
 
 }
@@ -1,9 +1,15 @@
 package tavebalak.OTTify.review.service;
 
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -15,13 +21,16 @@ import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.repository.UserGenreRepository;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.repository.ProgramRepository;
+import tavebalak.OTTify.program.service.ProgramGenreRatingStore;
 import tavebalak.OTTify.review.dto.reviewresponse.FourReviewResponseWithCounts;
+import tavebalak.OTTify.review.dto.reviewresponse.ReviewListWithCursorDto;
 import tavebalak.OTTify.review.dto.reviewresponse.ReviewListWithSliceInfoDto;
 import tavebalak.OTTify.review.dto.reviewresponse.ReviewProgramResponseDto;
 import tavebalak.OTTify.review.entity.Review;
 import tavebalak.OTTify.review.repository.ReviewRepository;
 import tavebalak.OTTify.review.repository.ReviewReviewTagRepository;
 import tavebalak.OTTify.user.entity.User;
+import tavebalak.OTTify.user.service.UserSimilarityIndex;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +41,13 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
     private final ProgramRepository programRepository;
     private final UserGenreRepository userGenreRepository;
     private final ReviewReviewTagRepository reviewReviewTagRepository;
+    private final UserSimilarityIndex userSimilarityIndex;
+    private final ProgramGenreRatingStore programGenreRatingStore;
+    private final ReviewTagRegistry reviewTagRegistry;
+    private final int MAX_CURSOR_PAGE_SIZE = 50;
+
+    @Value("${review.similar-user-count:100}")
+    private int similarUserCount;
 
 
     //내가 작성한 리뷰를 조회합니다.
@@ -39,7 +55,7 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
     public ReviewProgramResponseDto showMyReview(User user, Long programId) {
 
         return reviewRepository.findByProgramIdAndUserId(programId, user.getId())
-            .map(this::makeReviewDto)
+            .map(review -> makeReviewDtos(List.of(review)).get(0))
             .orElse(null);
 
     }
@@ -52,9 +68,9 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
         Program program = programRepository.findById(programId)
             .orElseThrow(() -> new NotFoundException(ErrorCode.PROGRAM_NOT_FOUND));
 
-        List<ReviewProgramResponseDto> reviewProgramResponseDtoList = reviewRepository.findTop4ByProgramOrderByLikeCountsDescWithFetchUser(
-            programId, PageRequest.of(0, 4)).stream().map(this::makeReviewDto).collect(
-            Collectors.toList());
+        List<ReviewProgramResponseDto> reviewProgramResponseDtoList = makeReviewDtos(
+            reviewRepository.findTop4ByProgramOrderByLikeCountsDescWithFetchUser(
+                programId, PageRequest.of(0, 4)));
 
         int leftReviewCounts = program.getReviewCount() - 4 > 0 ? program.getReviewCount() - 4 : 0;
 
@@ -67,11 +83,28 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
     @Override
     public ReviewListWithSliceInfoDto showReviewList(Long programId, Pageable pageable) {
 
-        Slice<ReviewProgramResponseDto> reviewProgramResponseDtoSlice = reviewRepository.findByProgramWithFetchUser(
-            programId, pageable).map(r -> makeReviewDto(r));
+        Slice<Review> reviewSlice = reviewRepository.findByProgramWithFetchUser(programId,
+            pageable);
+
+        return new ReviewListWithSliceInfoDto(makeReviewDtos(reviewSlice.getContent()),
+            reviewSlice.hasNext());
+    }
 
-        return new ReviewListWithSliceInfoDto(reviewProgramResponseDtoSlice.getContent(),
-            reviewProgramResponseDtoSlice.hasNext());
+    //모든 장르 상관 없는 리뷰 리스트를 커서 다음부터 보여줍니다.
+
+    @Override
+    public ReviewListWithCursorDto showReviewListByCursor(Long programId, ReviewCursor.Sort sort,
+        String cursor, int size) {
+
+        ReviewCursor after = ReviewCursor.decode(sort, cursor);
+        Pageable pageable = PageRequest.of(0, pageSize(size));
+        Slice<Review> reviewSlice = sort == ReviewCursor.Sort.LIKE
+            ? reviewRepository.findByProgramAfterLikeCountsWithFetchUser(programId,
+            after.getLikeCounts(), after.getReviewId(), pageable)
+            : reviewRepository.findByProgramAfterCreatedAtWithFetchUser(programId,
+                after.getCreatedAt(), after.getReviewId(), pageable);
+
+        return makeReviewListWithCursorDto(sort, reviewSlice);
     }
 
     //상세페이지에서 4개의 장르 상관있는 User 에 특화된 좋아요 순 리뷰를 보여줍니다.
@@ -84,12 +117,13 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
             .orElseThrow(() -> new NotFoundException(ErrorCode.USER_FIRST_GENRE_NOT_FOUND))
             .getGenre();
 
-        List<ReviewProgramResponseDto> reviewProgramResponseDtoList = reviewRepository.findUserSpecific4ByProgramAndGenreOrderByLikeNumberDescWithFetchUser(
-                programId, usersFirstGenre.getName(), PageRequest.of(0, 4)).stream()
-            .map(r -> makeReviewDto(r)).collect(Collectors.toList());
+        List<ReviewProgramResponseDto> reviewProgramResponseDtoList = makeReviewDtos(
+            reviewRepository.findUserSpecific4ByProgramAndGenreOrderByLikeNumberDescWithFetchUser(
+                programId, usersFirstGenre.getName(), PageRequest.of(0, 4)));
 
-        int userSpecificGenreCount = reviewRepository.countByGenreName(usersFirstGenre.getName(),
-            programId);
+        ProgramGenreRatingStore.GenreRating genreRating = programGenreRatingStore
+            .findByProgramId(programId).get(usersFirstGenre.getName());
+        int userSpecificGenreCount = genreRating == null ? 0 : genreRating.getReviewCount();
 
         int leftCount = userSpecificGenreCount - 4 > 0 ? userSpecificGenreCount - 4 : 0;
 
@@ -108,22 +142,121 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
             .orElseThrow(() -> new NotFoundException(ErrorCode.USER_FIRST_GENRE_NOT_FOUND))
             .getGenre();
 
-        Slice<ReviewProgramResponseDto> reviewProgramResponseDtoSlice = reviewRepository.findUserSpecificByProgramAndGenreWithFetchUser(
-            programId,
-            usersFirstGenre.getName(), pageable).map(r -> makeReviewDto(r));
+        Slice<Review> reviewSlice = reviewRepository.findUserSpecificByProgramAndGenreWithFetchUser(
+            programId, usersFirstGenre.getName(), pageable);
 
-        return new ReviewListWithSliceInfoDto(reviewProgramResponseDtoSlice.getContent(),
-            reviewProgramResponseDtoSlice.hasNext());
+        return new ReviewListWithSliceInfoDto(makeReviewDtos(reviewSlice.getContent()),
+            reviewSlice.hasNext());
 
     }
 
-    //리뷰를 이용해 리뷰 DTO를 만듭니다
+    // 유저의 first genre 를 기반으로 리뷰리스트를 커서 다음부터 보여줍니다
+
+    @Override
+    public ReviewListWithCursorDto showUserSpecificReviewListByCursor(User user, Long programId,
+        ReviewCursor.Sort sort, String cursor, int size) {
+
+        Genre usersFirstGenre = userGenreRepository.find1stGenreByUserIdFetchJoin(user.getId())
+            .orElseThrow(() -> new NotFoundException(ErrorCode.USER_FIRST_GENRE_NOT_FOUND))
+            .getGenre();
+
+        ReviewCursor after = ReviewCursor.decode(sort, cursor);
+        Pageable pageable = PageRequest.of(0, pageSize(size));
+        Slice<Review> reviewSlice = sort == ReviewCursor.Sort.LIKE
+            ? reviewRepository.findUserSpecificByProgramAndGenreAfterLikeCountsWithFetchUser(
+            programId, usersFirstGenre.getName(), after.getLikeCounts(), after.getReviewId(),
+            pageable)
+            : reviewRepository.findUserSpecificByProgramAndGenreAfterCreatedAtWithFetchUser(
+                programId, usersFirstGenre.getName(), after.getCreatedAt(), after.getReviewId(),
+                pageable);
+
+        return makeReviewListWithCursorDto(sort, reviewSlice);
+    }
+
+    // 취향이 비슷한 작성자의 리뷰를 비슷한 순서로 먼저 보여주고, 그 뒤에 나머지 리뷰를 좋아요 순으로 이어서 slice로 보여줍니다.
+    // 취향이 같으면 좋아요가 많은 리뷰가 먼저 옵니다. 정렬은 따로 하므로 pageable 의 정렬 조건은 쓰지 않고, 내가 쓴 리뷰는 빠집니다.
+
+    @Override
+    public ReviewListWithSliceInfoDto showSimilarUserReviewList(User user, Long programId,
+        Pageable pageable) {
+
+        //취향이 비슷한 사용자를 인덱스에서 먼저 찾고, 그 사용자들이 이 프로그램에 쓴 리뷰만 읽어 유사도 순으로 정렬합니다.
+        List<Long> similarUserIds = userSimilarityIndex.findSimilarUserIds(user.getId(),
+            similarUserCount);
+        List<SimilarReview> similarReviews = new ArrayList<>();
+        if (!similarUserIds.isEmpty()) {
+            reviewRepository.findIdAndUserIdAndLikeCountsByProgramIdAndUserIdIn(programId,
+                similarUserIds).forEach(row -> similarReviews.add(new SimilarReview((Long) row[0],
+                userSimilarityIndex.similarity(user.getId(), (Long) row[1]), (Integer) row[2])));
+        }
+        similarReviews.sort(SimilarReview.ORDER.reversed());
+
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        int from = (int) Math.min(offset, similarReviews.size());
+        int to = (int) Math.min(offset + pageSize, similarReviews.size());
+        List<Long> reviewIds = similarReviews.subList(from, to).stream()
+            .map(similarReview -> similarReview.reviewId)
+            .collect(Collectors.toList());
+
+        //이번 페이지가 비슷한 작성자의 리뷰로 다 차지 않으면 나머지 리뷰에서 좋아요 순으로 채우고, 다음 페이지가 있는지 알기 위해 한개 더 읽습니다.
+        boolean hasNext = offset + pageSize < similarReviews.size();
+        if (!hasNext) {
+            List<Long> excludedUserIds = new ArrayList<>(similarUserIds);
+            excludedUserIds.add(user.getId());
+            int skip = (int) Math.min(Integer.MAX_VALUE - pageSize - 1L,
+                Math.max(0, offset - similarReviews.size()));
+            int need = pageSize - reviewIds.size();
+            List<Long> restIds = reviewRepository.findIdsByProgramIdAndUserIdNotInOrderByLikeCounts(
+                programId, excludedUserIds, PageRequest.of(0, skip + need + 1));
+            reviewIds.addAll(restIds.subList(Math.min(skip, restIds.size()),
+                Math.min(skip + need, restIds.size())));
+            hasNext = restIds.size() > skip + need;
+        }
+
+        Map<Long, Review> reviewMap = reviewIds.isEmpty() ? Map.of()
+            : reviewRepository.findByIdInWithFetchUser(reviewIds).stream()
+                .collect(Collectors.toMap(Review::getId, Function.identity()));
+        List<ReviewProgramResponseDto> reviewProgramResponseDtoList = makeReviewDtos(
+            reviewIds.stream()
+                .map(reviewMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+
+        return new ReviewListWithSliceInfoDto(reviewProgramResponseDtoList, hasNext);
+    }
+
+    private int pageSize(int size) {
+        return Math.min(MAX_CURSOR_PAGE_SIZE, Math.max(1, size));
+    }
+
+    //다음 페이지가 있으면 이번 페이지의 마지막 리뷰로 다음 커서를 만듭니다.
+
+    private ReviewListWithCursorDto makeReviewListWithCursorDto(ReviewCursor.Sort sort,
+        Slice<Review> reviewSlice) {
+        List<Review> reviews = reviewSlice.getContent();
+        String nextCursor = reviewSlice.hasNext() && !reviews.isEmpty()
+            ? ReviewCursor.after(sort, reviews.get(reviews.size() - 1)).encode()
+            : null;
+
+        return new ReviewListWithCursorDto(
+            makeReviewDtos(reviews), reviewSlice.hasNext(), nextCursor);
+    }
 
-    private ReviewProgramResponseDto makeReviewDto(Review review) {
+    //리뷰 목록의 태그 이름을 한번에 찾아 리뷰 DTO 목록을 만듭니다
 
-        List<String> reviewTagNames = review.getReviewReviewTags().stream()
-            .map(reviewReviewTag -> reviewReviewTag.getReviewTag().getName()).collect(
-                Collectors.toList());
+    private List<ReviewProgramResponseDto> makeReviewDtos(List<Review> reviews) {
+        Map<Long, List<String>> reviewTagNamesByReviewId = reviewTagRegistry.findNamesByReviewIds(
+            reviews.stream().map(Review::getId).collect(Collectors.toList()));
+
+        return reviews.stream()
+            .map(review -> makeReviewDto(review, reviewTagNamesByReviewId.get(review.getId())))
+            .collect(Collectors.toList());
+    }
+
+    //리뷰를 이용해 리뷰 DTO를 만듭니다
+
+    private ReviewProgramResponseDto makeReviewDto(Review review, List<String> reviewTagNames) {
 
         ReviewProgramResponseDto reviewProgramResponseDto = ReviewProgramResponseDto.builder()
             .reviewTagNames(reviewTagNames)
@@ -139,5 +272,22 @@ public class ReviewShowProgramDetailServiceImpl implements ReviewShowProgramDeta
         return reviewProgramResponseDto;
     }
 
+    //취향 유사도가 낮은 리뷰가 앞에 오는 순서입니다. 유사도가 같으면 좋아요가 적은 리뷰, 그다음 먼저 쓴 리뷰가 앞에 옵니다.
+    private static class SimilarReview {
+
+        private static final Comparator<SimilarReview> ORDER = Comparator
+            .comparingDouble((SimilarReview similarReview) -> similarReview.similarity)
+            .thenComparingInt(similarReview -> similarReview.likeCounts)
+            .thenComparingLong(similarReview -> similarReview.reviewId);
 
+        private final Long reviewId;
+        private final double similarity;
+        private final int likeCounts;
+
+        private SimilarReview(Long reviewId, double similarity, int likeCounts) {
+            this.reviewId = reviewId;
+            this.similarity = similarity;
+            this.likeCounts = likeCounts;
+        }
+    }
 }
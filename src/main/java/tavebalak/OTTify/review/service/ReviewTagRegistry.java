@@ -0,0 +1,76 @@
+package tavebalak.OTTify.review.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tavebalak.OTTify.common.collection.LongKeyMap;
+import tavebalak.OTTify.review.entity.ReviewTag;
+import tavebalak.OTTify.review.repository.ReviewReviewTagRepository;
+import tavebalak.OTTify.review.repository.ReviewTagRepository;
+
+// 리뷰 태그 목록을 메모리에 올려두고 id 로 이름을 찾습니다.
+// 리뷰 목록을 보여줄 때는 페이지에 있는 리뷰들의 태그 id 를 한번에 읽고 이름은 메모리에서 찾으므로 리뷰마다 태그를 읽지 않습니다.
+// 다른 서버에서 새 태그가 추가되어 모르는 id 가 나오면 다시 읽어옵니다.
+// 이미 지워진 태그처럼 다시 읽어도 없는 id 때문에 요청마다 태그 테이블을 읽지 않도록, 모르는 id 로 다시 읽는 것은 정해진 간격에 한번만 합니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewTagRegistry {
+
+    private final ReviewTagRepository reviewTagRepository;
+    private final ReviewReviewTagRepository reviewReviewTagRepository;
+
+    @Value("${review.tag.miss-reload-interval-millis:5000}")
+    private long missReloadIntervalMillis;
+
+    private volatile LongKeyMap<ReviewTag> byId = LongKeyMap.empty();
+    private final AtomicLong lastMissReloadAt = new AtomicLong(Long.MIN_VALUE);
+
+    public void reload() {
+        List<ReviewTag> reviewTags = reviewTagRepository.findAll();
+        this.byId = LongKeyMap.from(reviewTags, ReviewTag::getId);
+        log.info("review tag registry loaded {} tags", reviewTags.size());
+    }
+
+    // 리뷰 id 별 태그 이름 목록을 돌려줍니다. 태그가 없는 리뷰는 빈 목록입니다.
+    public Map<Long, List<String>> findNamesByReviewIds(Collection<Long> reviewIds) {
+        Map<Long, List<String>> namesByReviewId = new HashMap<>();
+        reviewIds.forEach(reviewId -> namesByReviewId.put(reviewId, new ArrayList<>()));
+        if (reviewIds.isEmpty()) {
+            return namesByReviewId;
+        }
+
+        List<Object[]> rows = reviewReviewTagRepository.findReviewIdAndReviewTagIdByReviewIdIn(
+            reviewIds);
+        if (rows.stream().anyMatch(row -> !byId.containsKey((Long) row[1]))) {
+            reloadOnMiss();
+        }
+        LongKeyMap<ReviewTag> current = byId;
+        rows.forEach(row -> {
+            ReviewTag reviewTag = current.get((Long) row[1]);
+            if (reviewTag != null) {
+                namesByReviewId.get((Long) row[0]).add(reviewTag.getName());
+            }
+        });
+        return namesByReviewId;
+    }
+
+    // 마지막으로 다시 읽은 뒤 간격이 지났을 때 한 스레드만 다시 읽습니다. 나머지는 지금 목록으로 이름을 찾고 모르는 태그는 빠집니다.
+    private void reloadOnMiss() {
+        long now = System.currentTimeMillis();
+        long last = lastMissReloadAt.get();
+        if (last != Long.MIN_VALUE && now - last < missReloadIntervalMillis) {
+            return;
+        }
+        if (lastMissReloadAt.compareAndSet(last, now)) {
+            reload();
+        }
+    }
+}
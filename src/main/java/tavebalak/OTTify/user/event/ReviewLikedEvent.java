@@ -0,0 +1,16 @@
+package tavebalak.OTTify.user.event;
+
+import lombok.Getter;
+
+// 사용자가 리뷰에 좋아요를 눌렀을 때 발행됩니다. 좋아요 취소는 발행하지 않습니다.
+@Getter
+public class ReviewLikedEvent {
+
+    private final Long userId;
+    private final Long reviewId;
+
+    public ReviewLikedEvent(Long userId, Long reviewId) {
+        this.userId = userId;
+        this.reviewId = reviewId;
+    }
+}
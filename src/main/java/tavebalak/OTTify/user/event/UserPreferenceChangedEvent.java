@@ -0,0 +1,14 @@
+package tavebalak.OTTify.user.event;
+
+import lombok.Getter;
+
+// 사용자의 1순위/2순위 장르나 좋아요한 프로그램이 바뀌었을 때 발행됩니다.
+@Getter
+public class UserPreferenceChangedEvent {
+
+    private final Long userId;
+
+    public UserPreferenceChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+}
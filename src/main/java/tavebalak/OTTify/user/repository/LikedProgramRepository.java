@@ -20,4 +20,14 @@ public interface LikedProgramRepository extends JpaRepository<LikedProgram, Long
     Optional<LikedProgram> findByProgramAndUser(Program program, User user);
 
     boolean existsByProgramAndUser(Program program, User user);
+
+    //추천 모델을 만들 때 사용자 id 와 프로그램 id 만 가져옵니다.
+    @Query("select lp.user.id, lp.program.id from LikedProgram lp")
+    List<Object[]> findAllUserIdAndProgramId();
+
+    //취향 인덱스를 사용자 id 구간마다 나눠 만들 때 그 구간의 사용자 id 와 프로그램 id 만 가져옵니다.
+    @Query("select lp.user.id, lp.program.id from LikedProgram lp"
+        + " where lp.user.id between :fromUserId and :toUserId")
+    List<Object[]> findUserIdAndProgramIdByUserIdBetween(@Param("fromUserId") Long fromUserId,
+        @Param("toUserId") Long toUserId);
 }
@@ -19,6 +19,13 @@ public interface LikedReviewRepository extends JpaRepository<LikedReview, Long>
     boolean existsByUserIdAndReviewId(Long userId, Long reviewId);
 //    List<LikedReview> findByReviewId(Long reviewId);
 
-    @Query("select lr.review from LikedReview lr join fetch lr.review.program where lr.user.id =:userId order by lr.review.createdAt")
+    //리뷰의 프로그램과 작성자를 함께 가져와 리뷰마다 따로 읽지 않습니다.
+    @Query("select r from LikedReview lr join lr.review r join fetch r.program join fetch r.user where lr.user.id =:userId order by r.createdAt")
     Slice<Review> findReviewByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    //취향 인덱스를 사용자 id 구간마다 나눠 만들 때 그 구간의 사용자 id 와 리뷰 id 만 가져옵니다.
+    @Query("select lr.user.id, lr.review.id from LikedReview lr"
+        + " where lr.user.id between :fromUserId and :toUserId")
+    List<Object[]> findUserIdAndReviewIdByUserIdBetween(@Param("fromUserId") Long fromUserId,
+        @Param("toUserId") Long toUserId);
 }
@@ -20,4 +20,7 @@ public interface UninterestedProgramRepository extends JpaRepository<Unintereste
     Optional<UninterestedProgram> findByProgramAndUser(Program program, User user);
 
     boolean existsByProgramAndUser(Program program, User user);
+
+    @Query("select up.program.id from UninterestedProgram up where up.user.id =:userId")
+    List<Long> findProgramIdsByUserId(@Param("userId") Long userId);
 }
@@ -1,7 +1,11 @@
 package tavebalak.OTTify.user.repository;
 
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import tavebalak.OTTify.common.constant.SocialType;
 import tavebalak.OTTify.user.entity.User;
 
@@ -12,4 +16,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Boolean existsByNickName(String nickName);
+
+    //afterId 다음 사용자 id 를 순서대로 가져옵니다. 전체 사용자를 id 구간으로 나눠 읽을 때 씁니다.
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
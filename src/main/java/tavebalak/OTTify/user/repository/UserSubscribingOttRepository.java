@@ -15,6 +15,9 @@ public interface UserSubscribingOttRepository extends JpaRepository<UserSubscrib
     @Query("select uso from UserSubscribingOTT uso join fetch uso.ott where uso.user.id =:userId")
     List<UserSubscribingOTT> findByUserIdFetchJoin(@Param("userId") Long userId);
 
+    @Query("select uso.ott.id from UserSubscribingOTT uso where uso.user.id =:userId")
+    List<Long> findOttIdsByUserId(@Param("userId") Long userId);
+
     @Transactional
     @Modifying
     @Query("delete from UserSubscribingOTT uso where uso.ott.id in :ottIds and uso.user.id =:userId")
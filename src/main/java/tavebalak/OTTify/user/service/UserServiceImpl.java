@@ -5,10 +5,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
@@ -27,14 +29,15 @@ import tavebalak.OTTify.genre.dto.GenreDTO;
 import tavebalak.OTTify.genre.dto.request.GenreUpdateDTO;
 import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.entity.UserGenre;
-import tavebalak.OTTify.genre.repository.GenreRepository;
 import tavebalak.OTTify.genre.repository.UserGenreRepository;
+import tavebalak.OTTify.genre.service.GenreRegistry;
 import tavebalak.OTTify.oauth.jwt.SecurityUtil;
 import tavebalak.OTTify.program.repository.OttRepository;
 import tavebalak.OTTify.review.dto.UserReviewRatingListDTO;
 import tavebalak.OTTify.review.dto.response.MyReviewDto;
 import tavebalak.OTTify.review.entity.Review;
 import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.review.service.ReviewTagRegistry;
 import tavebalak.OTTify.user.dto.Request.UserOttUpdateDTO;
 import tavebalak.OTTify.user.dto.Response.CommunityListWithSliceInfoDTO;
 import tavebalak.OTTify.user.dto.Response.LikedProgramDTO;
@@ -47,6 +50,7 @@ import tavebalak.OTTify.user.dto.Response.UserOttListDTO;
 import tavebalak.OTTify.user.dto.Response.UserProfileDTO;
 import tavebalak.OTTify.user.entity.User;
 import tavebalak.OTTify.user.entity.UserSubscribingOTT;
+import tavebalak.OTTify.user.event.UserPreferenceChangedEvent;
 import tavebalak.OTTify.user.repository.LikedCommunityRepository;
 import tavebalak.OTTify.user.repository.LikedProgramRepository;
 import tavebalak.OTTify.user.repository.LikedReplyRepository;
@@ -71,10 +75,12 @@ public class UserServiceImpl implements UserService {
     private final LikedCommunityRepository likedCommunityRepository;
     private final LikedReplyRepository likedReplyRepository;
     private final UninterestedProgramRepository uninterestedProgramRepository;
-    private final GenreRepository genreRepository;
+    private final GenreRegistry genreRegistry;
     private final CommunityRepository communityRepository;
     private final ReplyRepository replyRepository;
     private final AWSS3Service awss3Service;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ReviewTagRegistry reviewTagRegistry;
 
     private static final double RATING_ZERO_DOT_FIVE = 0.5;
     private static final double RATING_ONE = 1.0;
@@ -203,10 +209,11 @@ public class UserServiceImpl implements UserService {
         UserGenre userGenre = userGenreRepository.findByUserIdAndIsFirst(userId, true)
             .orElseThrow(() -> new NotFoundException(ErrorCode.USER_FIRST_GENRE_NOT_FOUND));
 
-        Genre genre = genreRepository.findById(updateRequestDTO.getGenreId())
+        Genre genre = genreRegistry.findById(updateRequestDTO.getGenreId())
             .orElseThrow(() -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND));
 
         userGenre.changeGenre(genre);
+        applicationEventPublisher.publishEvent(new UserPreferenceChangedEvent(userId));
     }
 
     @Override
@@ -216,7 +223,7 @@ public class UserServiceImpl implements UserService {
         Long userId = user.getId();
 
         // req로 들어온 id 값이 유효한 장르 id인지 확인
-        Genre genre = genreRepository.findById(updateRequestDTO.getGenreId())
+        Genre genre = genreRegistry.findById(updateRequestDTO.getGenreId())
             .orElseThrow(() -> new NotFoundException(ErrorCode.GENRE_NOT_FOUND));
 
         // 조회된 UserGenre가 있을 경우 삭제 & 없을 경우 저장
@@ -229,6 +236,7 @@ public class UserServiceImpl implements UserService {
                         .user(user)
                         .build())
             );
+        applicationEventPublisher.publishEvent(new UserPreferenceChangedEvent(userId));
     }
 
     @Override
@@ -315,10 +323,10 @@ public class UserServiceImpl implements UserService {
         User user = getUser();
         Long userId = user.getId();
 
-        Slice<MyReviewDto> reviewList = reviewRepository.findByUserIdOrderByCreatedAt(userId, pageable)
-            .map(r -> createReviewDto(r));
+        Slice<Review> reviewList = reviewRepository.findByUserIdOrderByCreatedAt(userId, pageable);
 
-        return new ReviewListWithSliceInfoDTO(reviewList.getContent(), reviewList.isLast());
+        return new ReviewListWithSliceInfoDTO(createReviewDtos(reviewList.getContent()),
+            reviewList.isLast());
     }
 
     @Override
@@ -326,10 +334,10 @@ public class UserServiceImpl implements UserService {
         User user = getUser();
         Long userId = user.getId();
 
-        Slice<MyReviewDto> reviewList = likedReviewRepository.findReviewByUserId(userId, pageable)
-            .map(r -> createReviewDto(r));
+        Slice<Review> reviewList = likedReviewRepository.findReviewByUserId(userId, pageable);
 
-        return new ReviewListWithSliceInfoDTO(reviewList.getContent(), reviewList.isLast());
+        return new ReviewListWithSliceInfoDTO(createReviewDtos(reviewList.getContent()),
+            reviewList.isLast());
     }
 
     @Override
@@ -370,12 +378,17 @@ public class UserServiceImpl implements UserService {
             .build();
     }
 
-    private MyReviewDto createReviewDto(Review r) {
-        // 리뷰에 달린 reviewTags 가져오기
-        List<String> reviewTagNames = r.getReviewReviewTags().stream()
-            .map(reviewReviewTag -> reviewReviewTag.getReviewTag().getName())
+    // 리뷰 목록에 달린 reviewTags 를 한번에 가져옵니다
+    private List<MyReviewDto> createReviewDtos(List<Review> reviews) {
+        Map<Long, List<String>> reviewTagNamesByReviewId = reviewTagRegistry.findNamesByReviewIds(
+            reviews.stream().map(Review::getId).collect(Collectors.toList()));
+
+        return reviews.stream()
+            .map(r -> createReviewDto(r, reviewTagNamesByReviewId.get(r.getId())))
             .collect(Collectors.toList());
+    }
 
+    private MyReviewDto createReviewDto(Review r, List<String> reviewTagNames) {
         return MyReviewDto.builder()
             .reviewId(r.getId())
             .createdDate(r.getCreatedAt())
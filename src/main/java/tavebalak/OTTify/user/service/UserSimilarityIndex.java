@@ -0,0 +1,196 @@
+package tavebalak.OTTify.user.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tavebalak.OTTify.common.collection.MinHashLshIndex;
+import tavebalak.OTTify.common.collection.MinHasher;
+import tavebalak.OTTify.program.event.ProgramInteractionEvent;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.event.ReviewLikedEvent;
+import tavebalak.OTTify.user.repository.LikedProgramRepository;
+import tavebalak.OTTify.user.repository.LikedReviewRepository;
+import tavebalak.OTTify.user.repository.UserRepository;
+
+// 좋아요한 프로그램, 좋아요한 리뷰, 리뷰 별점으로 사용자별 취향 MinHash 서명을 만들어 취향이 비슷한 사용자를 찾습니다.
+// 매일 새벽 전체 서명을 여러 스레드로 새로 만들어 교체하고, 그 사이에 들어온 좋아요와 리뷰는 주기적으로 모아 기존 서명에 더합니다.
+// MinHash 는 자리마다 작은 값을 고르면 합집합 서명이 되므로 더할 때는 원래 특징을 다시 읽지 않습니다.
+// 좋아요 취소나 리뷰 삭제처럼 특징이 빠지는 변경은 다음 전체 재계산 때 반영됩니다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSimilarityIndex {
+
+    // 구간 16개, 구간당 4자리이므로 Jaccard 유사도가 0.5 정도부터 후보에 잘 잡힙니다.
+    private static final int BANDS = 16;
+
+    // 별점을 5점 만점 비율로 바꿨을 때 이 이상이면 좋아한 프로그램, 이 이하이면 싫어한 프로그램으로 봅니다.
+    private static final float LIKE_WEIGHT = 0.7f;
+    private static final float DISLIKE_WEIGHT = 0.4f;
+
+    // MinHasher.featureHash 에 넘기는 특징 종류입니다.
+    private static final int LIKE_FEATURE = 1;
+    private static final int DISLIKE_FEATURE = 2;
+    private static final int REVIEW_FEATURE = 3;
+
+    private final LikedProgramRepository likedProgramRepository;
+    private final LikedReviewRepository likedReviewRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+
+    @Value("${user.similarity.max-candidates:1000}")
+    private int maxCandidates;
+
+    @Value("${user.similarity.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final Map<Long, Features> pendingFeatures = new ConcurrentHashMap<>();
+
+    //처음 rebuild 가 끝나기 전까지는 빈 인덱스입니다.
+    private volatile MinHashLshIndex index = new MinHashLshIndex(BANDS, 0);
+
+    private volatile boolean built;
+
+    // 사용자 id 순서로 rebuild-batch-size 명씩 끊어 그 구간의 특징만 읽고 서명을 만들므로, 전체 행을 한번에 메모리에 올리지 않습니다.
+    @Scheduled(cron = "${user.similarity.rebuild-cron:0 15 4 * * *}")
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        MinHashLshIndex rebuilt = new MinHashLshIndex(BANDS, maxCandidates);
+        List<Long> userIds = userRepository.findIdsAfter(0L, PageRequest.of(0, rebuildBatchSize));
+        while (!userIds.isEmpty()) {
+            Long fromUserId = userIds.get(0);
+            Long toUserId = userIds.get(userIds.size() - 1);
+            Map<Long, Features> featuresByUserId = new HashMap<>();
+            likedProgramRepository.findUserIdAndProgramIdByUserIdBetween(fromUserId, toUserId)
+                .forEach(row -> addFeature(featuresByUserId, (Long) row[0],
+                    programFeature((Long) row[1], 1f)));
+            reviewRepository.findUserIdAndProgramIdAndRatingByUserIdBetween(fromUserId, toUserId)
+                .forEach(row -> addFeature(featuresByUserId, (Long) row[0],
+                    programFeature((Long) row[1], (float) ((Double) row[2] / 5.0))));
+            likedReviewRepository.findUserIdAndReviewIdByUserIdBetween(fromUserId, toUserId)
+                .forEach(row -> addFeature(featuresByUserId, (Long) row[0],
+                    reviewFeature((Long) row[1])));
+
+            //서명 계산이 대부분의 시간을 차지하므로 사용자별로 나눠 병렬로 계산합니다.
+            Map<Long, int[]> signatureByUserId = new ConcurrentHashMap<>();
+            featuresByUserId.entrySet().parallelStream().forEach(entry -> {
+                int[] signature = entry.getValue().signature();
+                if (signature != null) {
+                    signatureByUserId.put(entry.getKey(), signature);
+                }
+            });
+            signatureByUserId.forEach(rebuilt::put);
+
+            userIds = userIds.size() < rebuildBatchSize ? List.of()
+                : userRepository.findIdsAfter(toUserId, PageRequest.of(0, rebuildBatchSize));
+        }
+
+        //다시 만드는 동안 들어온 변경은 새 인덱스에도 더해야 하므로 남겨둔 채 교체합니다.
+        index = rebuilt;
+        built = true;
+        log.info("user similarity index built: {} users in {}ms", rebuilt.size(),
+            System.currentTimeMillis() - startedAt);
+    }
+
+    // 처음 실행될 때는 인덱스가 없으므로 전체를 계산합니다.
+    @Scheduled(fixedDelayString = "${user.similarity.update-interval:300000}",
+        initialDelayString = "${user.similarity.initial-delay:45000}")
+    public synchronized void applyPendingFeatures() {
+        try {
+            if (!built) {
+                rebuild();
+            }
+
+            MinHashLshIndex current = index;
+            for (Long userId : new ArrayList<>(pendingFeatures.keySet())) {
+                Features features = pendingFeatures.remove(userId);
+                current.put(userId, MinHasher.union(current.get(userId), features.signature()));
+            }
+        } catch (RuntimeException e) {
+            //실패하면 기존 인덱스로 계속 찾고 다음 주기에 다시 시도합니다.
+            log.warn("user similarity index update failed", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgramInteraction(ProgramInteractionEvent event) {
+        Long feature = programFeature(event.getProgramId(), event.getWeight());
+        if (feature != null) {
+            addPendingFeature(event.getUserId(), feature);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewLiked(ReviewLikedEvent event) {
+        addPendingFeature(event.getUserId(), reviewFeature(event.getReviewId()));
+    }
+
+    // 취향이 비슷한 사용자 id 를 비슷한 순서로 count 개까지 돌려줍니다.
+    public List<Long> findSimilarUserIds(Long userId, int count) {
+        return index.findSimilar(userId, count);
+    }
+
+    // 두 사용자의 취향 유사도 추정값(0~1)입니다. 한쪽이라도 좋아요나 리뷰가 없으면 0 입니다.
+    public double similarity(Long userId, Long otherUserId) {
+        return index.similarity(userId, otherUserId);
+    }
+
+    //여러 스레드에서 같은 사용자의 특징을 더할 수 있으므로 compute 안에서 목록을 고칩니다.
+    private void addPendingFeature(Long userId, long feature) {
+        pendingFeatures.compute(userId, (key, features) -> {
+            Features updated = features != null ? features : new Features();
+            updated.add(feature);
+            return updated;
+        });
+    }
+
+    private void addFeature(Map<Long, Features> featuresByUserId, Long userId, Long feature) {
+        if (feature != null) {
+            featuresByUserId.computeIfAbsent(userId, key -> new Features()).add(feature);
+        }
+    }
+
+    //좋아하지도 싫어하지도 않은 중간 별점은 취향을 구분하는 데 도움이 되지 않아 빼고 null 을 돌려줍니다.
+    private Long programFeature(Long programId, float weight) {
+        if (weight >= LIKE_WEIGHT) {
+            return MinHasher.featureHash(LIKE_FEATURE, programId);
+        }
+        if (weight <= DISLIKE_WEIGHT) {
+            return MinHasher.featureHash(DISLIKE_FEATURE, programId);
+        }
+        return null;
+    }
+
+    private long reviewFeature(Long reviewId) {
+        return MinHasher.featureHash(REVIEW_FEATURE, reviewId);
+    }
+
+    //한 사용자의 특징 값을 boxing 없이 모아 둡니다.
+    private static class Features {
+
+        private long[] hashes = new long[8];
+        private int size;
+
+        private void add(long hash) {
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, size * 2);
+            }
+            hashes[size++] = hash;
+        }
+
+        private int[] signature() {
+            return MinHasher.signature(hashes, size);
+        }
+    }
+}
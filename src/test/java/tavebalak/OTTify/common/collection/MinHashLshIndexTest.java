@@ -0,0 +1,72 @@
+package tavebalak.OTTify.common.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tavebalak.OTTify.common.collection.MinHasherTest.concat;
+import static tavebalak.OTTify.common.collection.MinHasherTest.features;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MinHashLshIndexTest {
+
+    private static final int BANDS = 16;
+
+    private final int[] signature = MinHasher.signature(features("genre:", 1, 20));
+    private final int[] near = MinHasher.signature(
+        concat(features("genre:", 1, 19), features("credit:", 1, 1)));
+    private final int[] far = MinHasher.signature(features("keyword:", 1, 20));
+
+    @Test
+    @DisplayName("서명 길이를 나누지 못하는 bands 는 거절하는지 확인")
+    void rejectInvalidBands() {
+        assertThatThrownBy(() -> new MinHashLshIndex(0, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MinHashLshIndex(5, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("비슷한 서명만 같은 bucket 에 들어가 후보로 잡히고 자기 자신은 빠지는지 확인")
+    void findSimilar() {
+        MinHashLshIndex index = new MinHashLshIndex(BANDS, 100);
+        index.put(1L, signature);
+        index.put(2L, near);
+        index.put(3L, far);
+        index.put(4L, null);
+
+        assertThat(index.findSimilar(1L, 10)).containsExactly(2L);
+        assertThat(index.findSimilar(3L, 10)).isEmpty();
+        assertThat(index.findSimilar(4L, 10)).isEmpty();
+        assertThat(index.contains(4L)).isFalse();
+        assertThat(index.similarity(1L, 2L)).isEqualTo(MinHasher.similarity(signature, near));
+        assertThat(index.similarity(1L, 4L)).isZero();
+    }
+
+    @Test
+    @DisplayName("서명을 바꾸면 이전 bucket 에서 빠지고 새 bucket 에 들어가는지 확인")
+    void replaceSignature() {
+        MinHashLshIndex index = new MinHashLshIndex(BANDS, 100);
+        index.put(1L, signature);
+        index.put(2L, near);
+        index.put(3L, far);
+
+        index.put(2L, far);
+
+        assertThat(index.findSimilar(1L, 10)).isEmpty();
+        assertThat(index.findSimilar(3L, 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("후보 수는 maxCandidates 개로 제한되고 자기 자신은 그 수에 들어가지 않는지 확인")
+    void maxCandidates() {
+        MinHashLshIndex index = new MinHashLshIndex(BANDS, 2);
+        for (long id = 1; id <= 4; id++) {
+            index.put(id, signature);
+        }
+
+        assertThat(index.findSimilar(1L, 10)).hasSize(2).doesNotContain(1L);
+        assertThat(index.findSimilar(1L, 1)).hasSize(1);
+    }
+}
@@ -0,0 +1,96 @@
+package tavebalak.OTTify.common.collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MinHasherTest {
+
+    static List<String> features(String prefix, int from, int to) {
+        return IntStream.rangeClosed(from, to)
+            .mapToObj(i -> prefix + i)
+            .collect(Collectors.toList());
+    }
+
+    static List<String> concat(List<String> features, List<String> others) {
+        List<String> concatenated = new ArrayList<>(features);
+        concatenated.addAll(others);
+        return concatenated;
+    }
+
+    @Test
+    @DisplayName("같은 특징 집합이면 순서와 상관없이 같은 서명이 나오는지 확인")
+    void signatureIsDeterministic() {
+        List<String> features = features("genre:", 1, 20);
+        List<String> reversed = new ArrayList<>(features);
+        Collections.reverse(reversed);
+
+        assertThat(MinHasher.signature(reversed))
+            .hasSize(MinHasher.SIGNATURE_LENGTH)
+            .containsExactly(MinHasher.signature(features));
+        assertThat(MinHasher.signature(List.of())).isNull();
+    }
+
+    @Test
+    @DisplayName("서명 유사도가 Jaccard 유사도에 가까운지 확인")
+    void similarity() {
+        int[] signature = MinHasher.signature(features("genre:", 1, 20));
+        //Jaccard 19/21, 10/30, 0
+        int[] near = MinHasher.signature(concat(features("genre:", 1, 19), List.of("credit:1")));
+        int[] half = MinHasher.signature(concat(features("genre:", 1, 10), features("credit:", 11, 20)));
+        int[] far = MinHasher.signature(features("keyword:", 1, 20));
+
+        assertThat(MinHasher.similarity(signature, signature)).isEqualTo(1.0);
+        assertThat(MinHasher.similarity(signature, near)).isCloseTo(19.0 / 21, within(0.15));
+        assertThat(MinHasher.similarity(signature, half)).isCloseTo(10.0 / 30, within(0.15));
+        assertThat(MinHasher.similarity(signature, far)).isLessThan(0.1);
+    }
+
+    @Test
+    @DisplayName("두 서명의 합집합 서명이 합친 특징 집합의 서명과 같은지 확인")
+    void union() {
+        List<String> genres = features("genre:", 1, 5);
+        List<String> credits = features("credit:", 1, 5);
+
+        assertThat(MinHasher.union(MinHasher.signature(genres), MinHasher.signature(credits)))
+            .containsExactly(MinHasher.signature(concat(genres, credits)));
+        assertThat(MinHasher.union(null, MinHasher.signature(credits)))
+            .containsExactly(MinHasher.signature(credits));
+    }
+
+    @Test
+    @DisplayName("특징 값으로 만든 서명이 값의 순서와 상관없고, 종류가 다른 특징은 겹치지 않는지 확인")
+    void signatureOfFeatureHashes() {
+        long[] likes = LongStream.rangeClosed(1, 20)
+            .map(id -> MinHasher.featureHash(1, id))
+            .toArray();
+        long[] reversed = LongStream.rangeClosed(1, 20)
+            .map(id -> MinHasher.featureHash(1, 21 - id))
+            .toArray();
+        long[] dislikes = LongStream.rangeClosed(1, 20)
+            .map(id -> MinHasher.featureHash(2, id))
+            .toArray();
+
+        assertThat(MinHasher.signature(reversed, reversed.length))
+            .containsExactly(MinHasher.signature(likes, likes.length));
+        assertThat(MinHasher.similarity(MinHasher.signature(likes, likes.length),
+            MinHasher.signature(dislikes, dislikes.length))).isLessThan(0.1);
+        assertThat(MinHasher.signature(likes, 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("바이트로 바꿨다가 되돌려도 같은 서명인지 확인")
+    void bytesRoundTrip() {
+        int[] signature = MinHasher.signature(features("genre:", 1, 20));
+
+        assertThat(MinHasher.fromBytes(MinHasher.toBytes(signature))).containsExactly(signature);
+    }
+}
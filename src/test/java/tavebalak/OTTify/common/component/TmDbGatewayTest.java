@@ -0,0 +1,107 @@
+package tavebalak.OTTify.common.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import tavebalak.OTTify.error.exception.TooManyRequestsException;
+
+class TmDbGatewayTest {
+
+    private final Map<String, AtomicInteger> callsByPath = new ConcurrentHashMap<>();
+
+    //요청한 경로를 그대로 본문으로 돌려주는 가짜 TMDB 서버입니다.
+    private WebClient webClient(Duration latency) {
+        return WebClient.builder()
+            .exchangeFunction(request -> {
+                String path = request.url().getPath();
+                callsByPath.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                        .body(path)
+                        .build())
+                    .delayElement(latency);
+            })
+            .build();
+    }
+
+    private TmDbGateway gateway(Duration latency, int permitsPerSecond, int burst,
+        long maxWaitMillis) {
+        return new TmDbGateway(webClient(latency), new SimpleMeterRegistry(), permitsPerSecond,
+            burst, maxWaitMillis);
+    }
+
+    private int calls(String path) {
+        return callsByPath.getOrDefault(path, new AtomicInteger()).get();
+    }
+
+    @Test
+    @DisplayName("진행 중인 같은 요청은 한번만 보내고 결과를 함께 받는지 확인")
+    void coalesceInFlightRequests() {
+        TmDbGateway gateway = gateway(Duration.ofMillis(200), 40, 40, 2000);
+
+        Tuple2<String, String> results = Mono.zip(
+            gateway.get(String.class, "/movie/{id}", 1),
+            gateway.get(String.class, "/movie/{id}", 1)).block();
+
+        assertThat(results.getT1()).isEqualTo("/movie/1");
+        assertThat(results.getT2()).isEqualTo("/movie/1");
+        assertThat(calls("/movie/1")).isEqualTo(1);
+        assertThat(gateway.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("끝난 요청이나 다른 요청은 새로 보내는지 확인")
+    void doNotCoalesceFinishedOrDifferentRequests() {
+        TmDbGateway gateway = gateway(Duration.ZERO, 40, 40, 2000);
+
+        assertThat(gateway.get(String.class, "/movie/{id}", 1).block()).isEqualTo("/movie/1");
+        assertThat(gateway.get(String.class, "/movie/{id}", 1).block()).isEqualTo("/movie/1");
+        assertThat(gateway.get(String.class, "/movie/{id}", 2).block()).isEqualTo("/movie/2");
+
+        assertThat(calls("/movie/1")).isEqualTo(2);
+        assertThat(calls("/movie/2")).isEqualTo(1);
+        assertThat(gateway.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("토큰이 부족하면 토큰이 생길 때까지 기다렸다가 보내는지 확인")
+    void throttleWhenTokensRunOut() {
+        TmDbGateway gateway = gateway(Duration.ZERO, 10, 1, 1000);
+
+        Tuple2<String, String> results = Mono.zip(
+            gateway.get(String.class, "/movie/{id}", 1),
+            gateway.get(String.class, "/movie/{id}", 2)).block();
+
+        assertThat(results.getT1()).isEqualTo("/movie/1");
+        assertThat(results.getT2()).isEqualTo("/movie/2");
+        assertThat(gateway.getThrottledCount()).isEqualTo(1);
+        assertThat(gateway.getRejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("기다려야 하는 시간이 최대 대기 시간보다 길면 보내지 않고 거절하는지 확인")
+    void rejectWhenWaitIsTooLong() {
+        TmDbGateway gateway = gateway(Duration.ZERO, 1, 1, 0);
+
+        assertThat(gateway.get(String.class, "/movie/{id}", 1).block()).isEqualTo("/movie/1");
+        assertThatThrownBy(() -> gateway.get(String.class, "/movie/{id}", 2).block())
+            .isInstanceOf(TooManyRequestsException.class);
+
+        assertThat(calls("/movie/2")).isZero();
+        assertThat(gateway.getRejectedCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,184 @@
+package tavebalak.OTTify.common.like;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class LikeEngineTest {
+
+    private static final List<String> REVIEW_SET_KEYS = List.of(
+        "like:review:21", "like:review:delta", "like:review:changes");
+    private static final List<String> REVIEW_DRAIN_KEYS = List.of(
+        "like:review:delta", "like:review:changes", "like:review:delta:draining",
+        "like:review:changes:draining", "like:review:draining:batch");
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private LikeJdbcRepository likeJdbcRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private LikeEngine likeEngine;
+
+    private final Deque<Long> toggleResults = new ArrayDeque<>();
+    private List<String> reviewDrained = List.of();
+    private long reviewCompleted = 1L;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(likeEngine, "setTtlDays", 7L);
+    }
+
+    @Test
+    @DisplayName("좋아요를 누르면 true, 다시 누르면 false 를 돌려주는지 확인")
+    void toggle() {
+        givenScripts();
+        toggleResults.add(1L);
+        toggleResults.add(0L);
+
+        assertThat(likeEngine.toggle(LikeTarget.REVIEW, 21L, 57L)).isTrue();
+        assertThat(likeEngine.toggle(LikeTarget.REVIEW, 21L, 57L)).isFalse();
+
+        verify(likeJdbcRepository, never()).findUserIds(any(), any());
+    }
+
+    @Test
+    @DisplayName("redis 에 좋아요 set 이 없으면 DB 에서 채운 뒤 다시 누르는지 확인")
+    void toggleLoadsMissingSet() {
+        givenScripts();
+        toggleResults.add(-1L);
+        toggleResults.add(1L);
+        when(likeJdbcRepository.findUserIds(LikeTarget.REVIEW, 21L)).thenReturn(List.of(58L));
+
+        assertThat(likeEngine.toggle(LikeTarget.REVIEW, 21L, 57L)).isTrue();
+
+        verify(stringRedisTemplate).execute(LikeEngine.LOAD_SCRIPT, List.of("like:review:21"),
+            "604800", "0", "58");
+    }
+
+    @Test
+    @DisplayName("모인 변화를 묶음 id 와 함께 반영하고 redis 에서 지우는지 확인")
+    void drain() {
+        givenScripts();
+        reviewDrained = List.of("batch-1", "4", "21", "2", "22", "-1",
+            "21:57", "1", "21:58", "1", "22:57", "0");
+        when(likeJdbcRepository.applyBatch(any(), any(), any(), any())).thenReturn(true);
+
+        likeEngine.drain();
+
+        verify(likeJdbcRepository).applyBatch(LikeTarget.REVIEW, "batch-1",
+            Map.of(21L, Map.of(57L, true, 58L, true), 22L, Map.of(57L, false)),
+            Map.of(21L, 2L, 22L, -1L));
+        verify(stringRedisTemplate).execute(LikeEngine.COMPLETE_SCRIPT, REVIEW_DRAIN_KEYS,
+            "batch-1");
+        ArgumentCaptor<LikeCountsFlushedEvent> event = ArgumentCaptor.forClass(
+            LikeCountsFlushedEvent.class);
+        verify(applicationEventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getTarget()).isEqualTo(LikeTarget.REVIEW);
+        assertThat(event.getValue().getTargetIds()).isEqualTo(Set.of(21L, 22L));
+    }
+
+    @Test
+    @DisplayName("이미 반영한 묶음을 다시 꺼내면 더하지 않고 redis 에서만 지우는지 확인")
+    void drainAppliedBatch() {
+        givenScripts();
+        reviewDrained = List.of("batch-1", "2", "21", "2");
+        when(likeJdbcRepository.applyBatch(any(), any(), any(), any())).thenReturn(false);
+
+        likeEngine.drain();
+
+        verify(stringRedisTemplate).execute(LikeEngine.COMPLETE_SCRIPT, REVIEW_DRAIN_KEYS,
+            "batch-1");
+    }
+
+    @Test
+    @DisplayName("다른 서버가 묶음을 먼저 지웠으면 새 묶음을 지우지 않고 끝내는지 확인")
+    void drainCompletedByOtherNode() {
+        givenScripts();
+        reviewDrained = List.of("batch-1", "2", "21", "2");
+        reviewCompleted = 0L;
+        when(likeJdbcRepository.applyBatch(any(), any(), any(), any())).thenReturn(false);
+
+        likeEngine.drain();
+
+        verify(stringRedisTemplate).execute(LikeEngine.COMPLETE_SCRIPT, REVIEW_DRAIN_KEYS,
+            "batch-1");
+        verify(stringRedisTemplate, never()).delete(anyList());
+        verify(applicationEventPublisher).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("DB 반영에 실패하면 묶음을 redis 에 남겨 다음에 다시 반영하는지 확인")
+    void drainKeepsBatchOnFailure() {
+        givenScripts();
+        reviewDrained = List.of("batch-1", "2", "21", "2");
+        when(likeJdbcRepository.applyBatch(any(), any(), any(), any()))
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        likeEngine.drain();
+
+        verify(stringRedisTemplate, never()).execute(eq(LikeEngine.COMPLETE_SCRIPT), anyList(),
+            any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("꺼낼 변화가 없으면 DB 에 반영하지 않는지 확인")
+    void drainNothing() {
+        givenScripts();
+
+        likeEngine.drain();
+
+        verify(likeJdbcRepository, never()).applyBatch(any(), any(), any(), any());
+        verify(stringRedisTemplate, never()).execute(eq(LikeEngine.COMPLETE_SCRIPT), anyList(),
+            any());
+    }
+
+    //실행한 lua script 와 key 에 따라 redis 의 응답을 흉내냅니다.
+    private void givenScripts() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any()))
+            .thenAnswer(invocation -> {
+                RedisScript<?> script = invocation.getArgument(0);
+                List<String> keys = invocation.getArgument(1);
+                if (script == LikeEngine.TOGGLE_SCRIPT && keys.equals(REVIEW_SET_KEYS)) {
+                    return toggleResults.poll();
+                }
+                if (script == LikeEngine.LOAD_SCRIPT) {
+                    return 1L;
+                }
+                if (script == LikeEngine.DRAIN_SCRIPT && keys.equals(REVIEW_DRAIN_KEYS)) {
+                    return reviewDrained;
+                }
+                if (script == LikeEngine.COMPLETE_SCRIPT && keys.equals(REVIEW_DRAIN_KEYS)) {
+                    return reviewCompleted;
+                }
+                return null;
+            });
+    }
+}
@@ -0,0 +1,66 @@
+package tavebalak.OTTify.community.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tavebalak.OTTify.common.like.LikeEngine;
+import tavebalak.OTTify.common.like.LikeTarget;
+import tavebalak.OTTify.community.entity.Community;
+import tavebalak.OTTify.community.repository.CommunityRepository;
+import tavebalak.OTTify.error.ErrorCode;
+import tavebalak.OTTify.error.exception.NotFoundException;
+
+@SpringBootTest
+public class CommunityLikeConcurrencyTest {
+
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private LikeEngine likeEngine;
+
+    private static final int THREAD_COUNT = 2;
+    private static final long COMMUNITY_ID = 12L;
+
+    @Test
+    @DisplayName("게시글에 동시에 공감해도 drain 뒤 좋아요 수가 정확한지 확인")
+    public void likedCommunity() throws Exception {
+        likeEngine.drain();
+        int before = findCommunity().getLikeCount();
+
+        toggleConcurrently(5L, 7L);
+        likeEngine.drain();
+        assertThat(findCommunity().getLikeCount()).isEqualTo(before + 2);
+
+        //같은 사용자가 한번 더 누르면 공감이 해제된다.
+        toggleConcurrently(5L, 7L);
+        likeEngine.drain();
+        assertThat(findCommunity().getLikeCount()).isEqualTo(before);
+    }
+
+    private void toggleConcurrently(Long... userIds) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(userIds.length);
+        for (Long userId : userIds) {
+            executorService.submit(() -> {
+                try {
+                    likeEngine.toggle(LikeTarget.COMMUNITY, COMMUNITY_ID, userId);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+    }
+
+    private Community findCommunity() {
+        return communityRepository.findById(COMMUNITY_ID).orElseThrow(() ->
+            new NotFoundException(ErrorCode.COMMUNITY_NOT_FOUND));
+    }
+}
@@ -1,17 +1,20 @@
 package tavebalak.OTTify.community.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +25,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tavebalak.OTTify.common.like.LikeEngine;
+import tavebalak.OTTify.common.like.LikeTarget;
 import tavebalak.OTTify.community.dto.request.CommunitySubjectCreateDTO;
 import tavebalak.OTTify.community.dto.request.CommunitySubjectEditDTO;
 import tavebalak.OTTify.community.dto.response.CommunitySubjectsDTO;
@@ -31,9 +38,8 @@ import tavebalak.OTTify.community.repository.CommunityRepository;
 import tavebalak.OTTify.error.exception.NotFoundException;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.repository.ProgramRepository;
-import tavebalak.OTTify.user.entity.LikedCommunity;
 import tavebalak.OTTify.user.entity.User;
-import tavebalak.OTTify.user.repository.LikedCommunityRepository;
+import tavebalak.OTTify.user.repository.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
 public class CommunityServiceTest {
@@ -41,9 +47,11 @@ public class CommunityServiceTest {
     @Mock
     private CommunityRepository communityRepository;
     @Mock
-    private LikedCommunityRepository likedCommunityRepository;
-    @Mock
     private ProgramRepository programRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LikeEngine likeEngine;
     @InjectMocks
     private CommunityServiceImpl communityService;
     User.TestUserBuilder testUserBuilder = User.testUserBuilder();
@@ -249,32 +257,18 @@ public class CommunityServiceTest {
         User user = testUserBuilder.create(1L, "test-nickName", "test-url", 5.55);
         CommunitySubjectCreateDTO requestDto = registerSubjectRequest();
         Program program = Program.testBuilder().id(1L).title("test-program-title").build();
-        when(communityRepository.save(any())).thenReturn(toEntity(requestDto, user, program));
-        when(programRepository.findById(anyLong())).thenReturn(Optional.of(program));
-        communityService.saveSubjectForTest(requestDto);
-
         Community entity = toEntity(requestDto, user, program);
-
-        when(likedCommunityRepository.findByCommunityIdAndUserId(anyLong(), anyLong())).thenReturn(
-            Optional.of(toLikedCommunity(entity, user)));
+        loginAs(user);
+        when(communityRepository.findById(1L)).thenReturn(Optional.of(entity));
+        when(likeEngine.toggle(LikeTarget.COMMUNITY, 1L, 1L)).thenReturn(true);
 
         //when
-        communityService.likeSubjectForTest(user, entity, 1L);
+        communityService.likeSubject(1L);
 
         //then
-        LikedCommunity likedCommunity = likedCommunityRepository.findByCommunityIdAndUserId(1L, 1L)
-            .get();
-        assertThat(likedCommunity).isNotNull();
-        assertThat(likedCommunity.getCommunity().getContent()).isEqualTo(
-            "'응답하라 1988'은 사랑과 우정의 따뜻한 이야기를 그려냈습니다. 이 드라마가 많은 사랑을 받은 이유에 대해 토론해보세요!");
-
-    }
-
-    private LikedCommunity toLikedCommunity(Community community, User user) {
-        return LikedCommunity.builder()
-            .community(community)
-            .user(user)
-            .build();
+        verify(likeEngine).toggle(LikeTarget.COMMUNITY, 1L, 1L);
+        //좋아요 수는 LikeEngine 이 모아서 DB 에 반영하므로 엔티티는 바뀌지 않는다.
+        assertThat(entity.getLikeCount()).isEqualTo(0);
     }
 
     @Test
@@ -284,19 +278,41 @@ public class CommunityServiceTest {
         User user = testUserBuilder.create(1L, "test-nickName", "test-url", 5.55);
         CommunitySubjectCreateDTO requestDto = registerSubjectRequest();
         Program program = Program.testBuilder().id(1L).title("test-program-title").build();
-        when(communityRepository.save(any())).thenReturn(toEntity(requestDto, user, program));
-        when(programRepository.findById(anyLong())).thenReturn(Optional.of(program));
-        Community entity = communityService.saveSubjectForTest(requestDto);
-
-        when(likedCommunityRepository.findByCommunityIdAndUserId(eq(1L),
-            eq(user.getId()))).thenReturn(
-            Optional.of(toLikedCommunity(entity, user)));
+        loginAs(user);
+        when(communityRepository.findById(1L)).thenReturn(
+            Optional.of(toEntity(requestDto, user, program)));
+        when(likeEngine.toggle(LikeTarget.COMMUNITY, 1L, 1L)).thenReturn(true, false);
 
         //when
-        communityService.likeSubjectForTest(user, entity, 1L);
-        communityService.likeSubjectForTest(user, entity, 1L);
+        communityService.likeSubject(1L);
+        communityService.likeSubject(1L);
 
         //then
-        Assertions.assertThat(entity.getLikeCount()).isEqualTo(0);
+        verify(likeEngine, times(2)).toggle(LikeTarget.COMMUNITY, 1L, 1L);
+    }
+
+    @Test
+    @DisplayName("없는 게시글에 공감하면 예외가 발생하는지 확인")
+    public void likeMissingSubject() throws Exception {
+        //given
+        User user = testUserBuilder.create(1L, "test-nickName", "test-url", 5.55);
+        loginAs(user);
+        when(communityRepository.findById(1L)).thenReturn(Optional.empty());
+
+        //when, then
+        assertThatThrownBy(() -> communityService.likeSubject(1L))
+            .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(likeEngine);
+    }
+
+    private void loginAs(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken("test@email.com", null));
+        when(userRepository.findByEmail("test@email.com")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
     }
 }
@@ -0,0 +1,70 @@
+package tavebalak.OTTify.genre.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.program.event.ProgramsSavedEvent;
+
+@ExtendWith(MockitoExtension.class)
+class GenreProgramIndexTest {
+
+    private static final long DRAMA = 1L;
+    private static final long COMEDY = 2L;
+
+    @Mock
+    private ProgramGenreRepository programGenreRepository;
+
+    @InjectMocks
+    private GenreProgramIndex genreProgramIndex;
+
+    //드라마: 10, 11, 12 / 코미디: 12, 13
+    @BeforeEach
+    void setUp() {
+        when(programGenreRepository.findAllGenreIdAndProgramId()).thenReturn(List.of(
+            new Object[]{DRAMA, 10L},
+            new Object[]{DRAMA, 11L},
+            new Object[]{DRAMA, 12L},
+            new Object[]{COMEDY, 12L},
+            new Object[]{COMEDY, 13L}));
+        genreProgramIndex.reload();
+    }
+
+    @DisplayName("장르에 속한 프로그램 id 만 서로 다르게 뽑는다")
+    @Test
+    void sample() {
+        assertThat(genreProgramIndex.sample(DRAMA, 2))
+            .hasSize(2)
+            .doesNotHaveDuplicates()
+            .isSubsetOf(10L, 11L, 12L);
+        assertThat(genreProgramIndex.sample(COMEDY, 5)).containsExactlyInAnyOrder(12L, 13L);
+    }
+
+    @DisplayName("프로그램이 없는 장르는 빈 목록을 돌려준다")
+    @Test
+    void sampleUnknownGenre() {
+        assertThat(genreProgramIndex.sample(99L, 3)).isEmpty();
+    }
+
+    @DisplayName("새로 저장된 프로그램은 그 장르들의 목록에 추가된다")
+    @Test
+    void onProgramsSaved() {
+        //when
+        genreProgramIndex.onProgramsSaved(new ProgramsSavedEvent(
+            Map.of(14L, List.of(COMEDY, 3L))));
+
+        //then
+        assertThat(genreProgramIndex.sample(COMEDY, 5)).containsExactlyInAnyOrder(12L, 13L, 14L);
+        assertThat(genreProgramIndex.sample(3L, 5)).containsExactly(14L);
+        assertThat(genreProgramIndex.sample(DRAMA, 5)).containsExactlyInAnyOrder(10L, 11L, 12L);
+    }
+}
@@ -0,0 +1,59 @@
+package tavebalak.OTTify.program.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ItemSimilarityModelTest {
+
+    private static final long A = 100L;
+    private static final long B = 200L;
+    private static final long C = 300L;
+
+    //사용자 1: A, B / 사용자 2: B, C / 사용자 3: C / 사용자 5: B
+    //norm 은 A = 1, B = √2, C = √2 이고, 코사인 유사도는 A-B = 1/√2, B-C = 1/2, A-C = 0 이다.
+    private InteractionMatrix.Builder interactions() {
+        InteractionMatrix.Builder builder = new InteractionMatrix.Builder();
+        builder.add(1L, A, 1f);
+        builder.add(1L, B, 1f);
+        builder.add(2L, B, 1f);
+        builder.add(2L, C, 1f);
+        builder.add(3L, C, 1f);
+        builder.add(5L, B, 1f);
+        return builder;
+    }
+
+    @Test
+    @DisplayName("코사인 유사도가 높은 이웃 순서로 추천하는지 확인")
+    void recommend() {
+        ItemSimilarityModel model = ItemSimilarityModel.build(interactions().build(), 2);
+
+        assertThat(model.recommend(5L, 5, programId -> false)).containsExactly(A, C);
+        assertThat(model.recommend(1L, 5, programId -> false)).containsExactly(C);
+        assertThat(model.recommend(3L, 5, programId -> false)).containsExactly(B);
+        assertThat(model.recommend(5L, 5, programId -> programId == A)).containsExactly(C);
+        assertThat(model.recommend(99L, 5, programId -> false)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("선호도가 바뀐 프로그램과 함께 선호된 프로그램의 이웃도 다시 계산하는지 확인")
+    void update() {
+        InteractionMatrix.Builder builder = interactions();
+        ItemSimilarityModel previous = ItemSimilarityModel.build(builder.build(), 2);
+
+        //A 를 선호하는 사용자가 늘면 A 의 norm 이 2 가 되어 B-A 유사도가 1/(2√2) 로 B-C 보다 낮아진다.
+        builder.add(4L, A, 1f);
+        builder.add(6L, A, 1f);
+        builder.add(7L, A, 1f);
+        InteractionMatrix matrix = builder.build();
+        int[] affectedRows = ItemSimilarityModel.affectedRows(matrix, List.of(A));
+        ItemSimilarityModel updated = ItemSimilarityModel.update(previous, matrix, affectedRows);
+
+        assertThat(affectedRows).containsExactlyInAnyOrder(matrix.itemIndex(A),
+            matrix.itemIndex(B));
+        assertThat(updated.recommend(5L, 5, programId -> false)).containsExactly(C, A)
+            .isEqualTo(ItemSimilarityModel.build(matrix, 2).recommend(5L, 5, programId -> false));
+    }
+}
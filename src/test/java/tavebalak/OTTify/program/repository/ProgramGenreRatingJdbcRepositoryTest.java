@@ -0,0 +1,174 @@
+package tavebalak.OTTify.program.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import tavebalak.OTTify.common.constant.Role;
+import tavebalak.OTTify.common.constant.SocialType;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.entity.ProgramGenreRating;
+import tavebalak.OTTify.program.entity.ProgramGenreRatingId;
+import tavebalak.OTTify.review.entity.Review;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.entity.User;
+import tavebalak.OTTify.user.repository.UserRepository;
+
+@DataJpaTest
+@Import(ProgramGenreRatingJdbcRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE,
+    connection = EmbeddedDatabaseConnection.H2)
+public class ProgramGenreRatingJdbcRepositoryTest {
+
+    private static final String DRAMA = "드라마";
+    private static final String COMEDY = "코미디";
+
+    @Autowired
+    private ProgramGenreRatingJdbcRepository programGenreRatingJdbcRepository;
+    @Autowired
+    private ProgramGenreRatingRepository programGenreRatingRepository;
+    @Autowired
+    private ProgramRepository programRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("리뷰 작성, 수정, 삭제로 리뷰 수와 별점 합, 별점 분포가 더하고 빠지는지 확인")
+    public void applyDelta() throws Exception {
+        //given
+        Long programId = 9_000_001L;
+        programGenreRatingJdbcRepository.createIfAbsent(programId, DRAMA);
+        programGenreRatingJdbcRepository.createIfAbsent(programId, DRAMA);
+
+        //when 4.5 점, 3 점 작성
+        add(programId, 4.5);
+        add(programId, 3.0);
+
+        //then
+        ProgramGenreRating rating = find(programId, DRAMA);
+        assertThat(rating.getReviewCount()).isEqualTo(2);
+        assertThat(rating.getRatingSum()).isCloseTo(7.5, within(1e-9));
+        assertThat(rating.getRatingHistogram()).containsExactly(0, 0, 0, 0, 0, 1, 0, 0, 1, 0);
+
+        //when 3 점을 5 점으로 수정
+        int[] histogramDelta = ProgramGenreRating.histogramDelta(3.0, -1);
+        histogramDelta[ProgramGenreRating.bucket(5.0)]++;
+        programGenreRatingJdbcRepository.applyDelta(programId, DRAMA, 0, 2.0, histogramDelta);
+
+        //then
+        rating = find(programId, DRAMA);
+        assertThat(rating.getReviewCount()).isEqualTo(2);
+        assertThat(rating.getRatingSum()).isCloseTo(9.5, within(1e-9));
+        assertThat(rating.getRatingHistogram()).containsExactly(0, 0, 0, 0, 0, 0, 0, 0, 1, 1);
+
+        //when 4.5 점 삭제
+        remove(programId, 4.5);
+
+        //then
+        rating = find(programId, DRAMA);
+        assertThat(rating.getReviewCount()).isEqualTo(1);
+        assertThat(rating.getRatingSum()).isCloseTo(5.0, within(1e-9));
+        assertThat(rating.getRatingHistogram()).containsExactly(0, 0, 0, 0, 0, 0, 0, 0, 0, 1);
+
+        //when 마지막 리뷰 삭제, 리뷰 수가 0 이 되면 별점 합도 0 이다
+        remove(programId, 5.0);
+
+        //then
+        rating = find(programId, DRAMA);
+        assertThat(rating.getReviewCount()).isZero();
+        assertThat(rating.getRatingSum()).isZero();
+        assertThat(rating.getRatingHistogram()).containsOnly(0);
+    }
+
+    @Test
+    @DisplayName("집계가 없는 행은 바꾸지 않는지 확인")
+    public void applyDeltaWithoutRow() throws Exception {
+        assertThat(programGenreRatingJdbcRepository.applyDelta(9_000_002L, DRAMA, 1, 4.0,
+            ProgramGenreRating.histogramDelta(4.0, 1))).isZero();
+    }
+
+    @Test
+    @DisplayName("리뷰에서 다시 계산하면 어긋난 집계를 바로잡고 리뷰가 없는 집계는 지우는지 확인")
+    public void recompute() throws Exception {
+        //given
+        User savedUser = userRepository.save(
+            User.builder()
+                .email("test-email")
+                .nickName("test-nickName")
+                .profilePhoto("test-url")
+                .socialType(SocialType.GOOGLE)
+                .role(Role.USER)
+                .build()
+        );
+        Program savedProgram = programRepository.save(
+            Program.testBuilder().id(1L).title("test-title").build());
+        Long programId = savedProgram.getId();
+        saveReview(savedUser, savedProgram, DRAMA, 4.5);
+        saveReview(savedUser, savedProgram, DRAMA, 3.0);
+        saveReview(savedUser, savedProgram, COMEDY, 0.5);
+        entityManager.flush();
+
+        //어긋난 드라마 집계와 리뷰가 없는 액션 집계
+        programGenreRatingJdbcRepository.createIfAbsent(programId, DRAMA);
+        programGenreRatingJdbcRepository.applyDelta(programId, DRAMA, 5, 1.0,
+            ProgramGenreRating.histogramDelta(1.0, 5));
+        programGenreRatingJdbcRepository.createIfAbsent(programId, "액션");
+
+        //when
+        programGenreRatingJdbcRepository.recompute(programId);
+
+        //then
+        entityManager.clear();
+        List<ProgramGenreRating> ratings = programGenreRatingRepository.findByProgramId(programId);
+        assertThat(ratings).extracting(rating -> rating.getId().getGenre())
+            .containsExactlyInAnyOrder(DRAMA, COMEDY);
+
+        ProgramGenreRating drama = find(programId, DRAMA);
+        assertThat(drama.getReviewCount()).isEqualTo(2);
+        assertThat(drama.getRatingSum()).isCloseTo(7.5, within(1e-9));
+        assertThat(drama.getRatingHistogram()).containsExactly(0, 0, 0, 0, 0, 1, 0, 0, 1, 0);
+
+        ProgramGenreRating comedy = find(programId, COMEDY);
+        assertThat(comedy.getReviewCount()).isEqualTo(1);
+        assertThat(comedy.getRatingHistogram()).containsExactly(1, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private void add(Long programId, double rating) {
+        programGenreRatingJdbcRepository.applyDelta(programId, DRAMA, 1, rating,
+            ProgramGenreRating.histogramDelta(rating, 1));
+    }
+
+    private void remove(Long programId, double rating) {
+        programGenreRatingJdbcRepository.applyDelta(programId, DRAMA, -1, -rating,
+            ProgramGenreRating.histogramDelta(rating, -1));
+    }
+
+    //jdbc 로 바꾼 값을 읽도록 영속성 컨텍스트를 비우고 다시 읽습니다.
+    private ProgramGenreRating find(Long programId, String genre) {
+        entityManager.clear();
+        return programGenreRatingRepository.findById(new ProgramGenreRatingId(programId, genre))
+            .orElseThrow();
+    }
+
+    private void saveReview(User user, Program program, String genre, double rating) {
+        reviewRepository.save(Review.builder()
+            .content("test-content")
+            .genre(genre)
+            .program(program)
+            .rating(rating)
+            .user(user)
+            .build());
+    }
+}
@@ -0,0 +1,81 @@
+package tavebalak.OTTify.program.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import tavebalak.OTTify.program.repository.ProgramAvailabilityRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramAvailabilityIndexTest {
+
+    private static final long NETFLIX = 1L << 1;
+    private static final long WATCHA = 1L << 2;
+
+    @Mock
+    private ProgramAvailabilityRepository programAvailabilityRepository;
+
+    @InjectMocks
+    private ProgramAvailabilityIndex programAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(programAvailabilityIndex, "maxIndexedProgramId", 1000);
+        ReflectionTestUtils.setField(programAvailabilityIndex, "syncOverlapMinutes", 5L);
+        when(programAvailabilityRepository.findAllAvailableProgramIdAndProviderMask())
+            .thenReturn(List.of(new Object[]{1L, NETFLIX}, new Object[]{2L, WATCHA}));
+        programAvailabilityIndex.reload();
+    }
+
+    @DisplayName("다른 서버가 갱신한 줄을 합쳐 새 프로그램은 더하고 OTT 가 없어진 프로그램은 뺀다")
+    @Test
+    void sync() {
+        //given
+        when(programAvailabilityRepository.findProgramIdAndProviderMaskRefreshedAfter(any()))
+            .thenReturn(List.of(new Object[]{2L, 0L}, new Object[]{30L, NETFLIX | WATCHA}));
+
+        //when
+        programAvailabilityIndex.sync();
+
+        //then
+        assertThat(programAvailabilityIndex.isAvailable(1L, NETFLIX)).isTrue();
+        assertThat(programAvailabilityIndex.isAvailable(2L, WATCHA)).isFalse();
+        assertThat(programAvailabilityIndex.isAvailable(30L, WATCHA)).isTrue();
+        assertThat(programAvailabilityIndex.sample(NETFLIX, 10)).containsExactlyInAnyOrder(1L, 30L);
+    }
+
+    @DisplayName("읽기에 실패하면 다음 주기에 같은 시각부터 다시 읽는다")
+    @Test
+    void syncRetriesFromSameWatermark() {
+        //given
+        when(programAvailabilityRepository.findProgramIdAndProviderMaskRefreshedAfter(any()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(List.of());
+
+        //when
+        programAvailabilityIndex.sync();
+        programAvailabilityIndex.sync();
+
+        //then
+        ArgumentCaptor<LocalDateTime> refreshedAfter = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(programAvailabilityRepository, times(2))
+            .findProgramIdAndProviderMaskRefreshedAfter(refreshedAfter.capture());
+        assertThat(refreshedAfter.getAllValues().get(1))
+            .isEqualTo(refreshedAfter.getAllValues().get(0));
+        assertThat(programAvailabilityIndex.isAvailable(1L, NETFLIX)).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package tavebalak.OTTify.program.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tavebalak.OTTify.program.event.ProgramsSavedEvent;
+import tavebalak.OTTify.program.repository.ProgramRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramIdSamplerTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @InjectMocks
+    private ProgramIdSampler programIdSampler;
+
+    private List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    @DisplayName("불러온 id 중에서 서로 다른 id 를 count 개 뽑는다")
+    @Test
+    void sampleDistinctIds() {
+        //given
+        List<Long> programIds = ids(1, 100);
+        when(programRepository.findAllIds()).thenReturn(programIds);
+        programIdSampler.reload();
+
+        for (int i = 0; i < 100; i++) {
+            //when
+            List<Long> sampled = programIdSampler.sample(10);
+
+            //then
+            assertThat(sampled).hasSize(10).doesNotHaveDuplicates();
+            assertThat(programIds).containsAll(sampled);
+        }
+    }
+
+    @DisplayName("count 가 프로그램 수보다 크면 모든 id 를 한번씩 돌려준다")
+    @Test
+    void sampleMoreThanSize() {
+        //given
+        when(programRepository.findAllIds()).thenReturn(ids(1, 5));
+        programIdSampler.reload();
+
+        //when
+        List<Long> sampled = programIdSampler.sample(10);
+
+        //then
+        assertThat(sampled).containsExactlyInAnyOrderElementsOf(ids(1, 5));
+    }
+
+    @DisplayName("프로그램이 없거나 count 가 0 이하면 빈 목록을 돌려준다")
+    @Test
+    void sampleEmpty() {
+        assertThat(programIdSampler.sample(3)).isEmpty();
+
+        when(programRepository.findAllIds()).thenReturn(ids(1, 5));
+        programIdSampler.reload();
+        assertThat(programIdSampler.sample(0)).isEmpty();
+        assertThat(programIdSampler.sample(-1)).isEmpty();
+    }
+
+    @DisplayName("새로 저장된 프로그램 id 는 배열 뒤에 덧붙어 뽑힐 수 있다")
+    @Test
+    void onProgramsSaved() {
+        //given
+        when(programRepository.findAllIds()).thenReturn(ids(1, 16));
+        programIdSampler.reload();
+
+        //when
+        programIdSampler.onProgramsSaved(new ProgramsSavedEvent(
+            Map.of(17L, List.of(1L), 18L, List.of(2L))));
+
+        //then
+        assertThat(programIdSampler.size()).isEqualTo(18);
+        assertThat(programIdSampler.sample(18)).containsExactlyInAnyOrderElementsOf(ids(1, 18));
+    }
+}
@@ -0,0 +1,107 @@
+package tavebalak.OTTify.program.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import tavebalak.OTTify.common.component.TmDbGateway;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.program.dto.programDetails.openApiRequest.personDetails.OAProgramCreditsDto;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.program.repository.ProgramSignatureJdbcRepository;
+import tavebalak.OTTify.program.repository.ProgramSignatureRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramSignatureServiceTest {
+
+    @Mock
+    private ProgramSignatureRepository programSignatureRepository;
+    @Mock
+    private ProgramSignatureJdbcRepository programSignatureJdbcRepository;
+    @Mock
+    private ProgramGenreRepository programGenreRepository;
+    @Mock
+    private SimilarProgramIndex similarProgramIndex;
+    @Mock
+    private TmDbGateway tmDbGateway;
+
+    @InjectMocks
+    private ProgramSignatureService programSignatureService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(programSignatureService, "batchSize", 100);
+        ReflectionTestUtils.setField(programSignatureService, "concurrency", 1);
+        ReflectionTestUtils.setField(programSignatureService, "retryAfterMinutes", 60L);
+    }
+
+    @DisplayName("출연진을 받아오지 못한 프로그램은 장르만으로 서명을 저장하고 다시 받아올 시각을 남긴다")
+    @Test
+    void recordFailedAttempt() {
+        //given
+        LocalDateTime startedAt = LocalDateTime.now();
+        when(programSignatureRepository.findSignatureTargets(any(Pageable.class))).thenReturn(List.of(
+            Program.testBuilder().id(1L).title("fetched").build(),
+            Program.testBuilder().id(2L).title("failed").build()));
+        when(programSignatureRepository.findSignatureRetryTargets(any(), any(Pageable.class)))
+            .thenReturn(List.of());
+        when(programGenreRepository.findGenreIdAndProgramIdByProgramIdIn(any()))
+            .thenReturn(List.<Object[]>of(new Object[]{10L, 1L}, new Object[]{10L, 2L}));
+        when(tmDbGateway.get(eq(OAProgramCreditsDto.class), anyString(), any()))
+            .thenReturn(Mono.just(new OAProgramCreditsDto()))
+            .thenReturn(Mono.error(WebClientResponseException.create(500, "Internal Server Error",
+                null, null, null)));
+
+        //when
+        int saved = programSignatureService.createMissingSignatures();
+
+        //then
+        assertThat(saved).isEqualTo(2);
+        verify(programSignatureJdbcRepository).replaceAll(
+            argThat(signatures -> signatures.keySet().equals(Set.of(1L))), any(), isNull());
+        verify(programSignatureJdbcRepository).replaceAll(
+            argThat(signatures -> signatures.keySet().equals(Set.of(2L))), any(),
+            argThat(retryAfter -> retryAfter.isAfter(startedAt.plusMinutes(59))));
+    }
+
+    @DisplayName("서명이 없는 프로그램이 모자라면 다시 받아올 때가 된 프로그램으로 채운다")
+    @Test
+    void fillWithRetryTargets() {
+        //given
+        when(programSignatureRepository.findSignatureTargets(any(Pageable.class)))
+            .thenReturn(List.of());
+        when(programSignatureRepository.findSignatureRetryTargets(any(), any(Pageable.class)))
+            .thenReturn(List.of(Program.testBuilder().id(3L).title("retry").build()));
+        when(programGenreRepository.findGenreIdAndProgramIdByProgramIdIn(any()))
+            .thenReturn(List.of());
+        when(tmDbGateway.get(eq(OAProgramCreditsDto.class), anyString(), any()))
+            .thenReturn(Mono.just(new OAProgramCreditsDto()));
+
+        //when
+        int saved = programSignatureService.createMissingSignatures();
+
+        //then
+        assertThat(saved).isEqualTo(1);
+        verify(programSignatureJdbcRepository).replaceAll(
+            argThat(signatures -> signatures.keySet().equals(Set.of(3L))), any(), isNull());
+    }
+}
@@ -0,0 +1,164 @@
+package tavebalak.OTTify.program.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.DoubleAdder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ProgramViewCounterTest {
+
+    private static final String FIVE_MINUTE_KEY = "programViews:5m:";
+    private static final String HOUR_KEY = "programViews:1h:";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private StringRedisConnection connection;
+
+    @InjectMocks
+    private ProgramViewCounter programViewCounter;
+
+    private Object runPipeline(InvocationOnMock invocation) {
+        RedisCallback<?> callback = invocation.getArgument(0);
+        callback.doInRedis(connection);
+        return List.of();
+    }
+
+    @DisplayName("모인 조회 수를 프로그램별로 한번에 5분, 1시간 단위 key 에 더하고 비운다")
+    @Test
+    void flush() {
+        //given
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+            .thenAnswer(this::runPipeline);
+        programViewCounter.record(1L);
+        programViewCounter.record(1L);
+        programViewCounter.record(1L);
+        programViewCounter.record(2L);
+
+        //when
+        programViewCounter.flush();
+        programViewCounter.flush();
+
+        //then
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(connection).zIncrBy(startsWith(FIVE_MINUTE_KEY), eq(3.0), eq("1"));
+        verify(connection).zIncrBy(startsWith(HOUR_KEY), eq(3.0), eq("1"));
+        verify(connection).zIncrBy(startsWith(FIVE_MINUTE_KEY), eq(1.0), eq("2"));
+        verify(connection).zIncrBy(startsWith(HOUR_KEY), eq(1.0), eq("2"));
+    }
+
+    @DisplayName("모인 조회 수가 없으면 redis 에 쓰지 않는다")
+    @Test
+    void flushNothing() {
+        //when
+        programViewCounter.flush();
+
+        //then
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @DisplayName("redis 쓰기에 실패하면 조회 수를 되돌려 다음 주기에 그 사이 조회 수와 함께 쓴다")
+    @Test
+    void flushRetryAfterFailure() {
+        //given
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+            .thenThrow(new RedisConnectionFailureException("down"))
+            .thenAnswer(this::runPipeline);
+        programViewCounter.record(1L);
+        programViewCounter.record(1L);
+
+        //when
+        programViewCounter.flush();
+        verify(connection, never()).zIncrBy(anyString(), anyDouble(), anyString());
+        programViewCounter.record(1L);
+        programViewCounter.flush();
+
+        //then
+        verify(connection).zIncrBy(startsWith(FIVE_MINUTE_KEY), eq(3.0), eq("1"));
+        verify(connection).zIncrBy(startsWith(HOUR_KEY), eq(3.0), eq("1"));
+    }
+
+    @DisplayName("조회가 없던 프로그램은 map 에서 빠지고, 그 뒤 조회는 다시 모아 쓴다")
+    @Test
+    void flushDropsIdleEntry() {
+        //given
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+            .thenAnswer(this::runPipeline);
+        programViewCounter.record(1L);
+
+        //when
+        programViewCounter.flush();
+        programViewCounter.flush();
+        programViewCounter.record(1L);
+        programViewCounter.flush();
+
+        //then
+        verify(stringRedisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        verify(connection, times(2)).zIncrBy(startsWith(FIVE_MINUTE_KEY), eq(1.0), eq("1"));
+    }
+
+    @DisplayName("모으는 중에 들어온 조회 수도 빠지지 않고 쓴다")
+    @Test
+    void flushWhileRecording() throws Exception {
+        //given
+        DoubleAdder written = new DoubleAdder();
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+            .thenAnswer(this::runPipeline);
+        when(connection.zIncrBy(anyString(), anyDouble(), anyString())).thenAnswer(invocation -> {
+            if (invocation.<String>getArgument(0).startsWith(FIVE_MINUTE_KEY)) {
+                written.add(invocation.getArgument(1));
+            }
+            return null;
+        });
+        int threads = 4;
+        int recordsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    programViewCounter.record((long) (j % 3));
+                }
+            }));
+        }
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            programViewCounter.flush();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        programViewCounter.flush();
+
+        //then
+        assertThat(written.sum()).isEqualTo((double) threads * recordsPerThread);
+    }
+}
@@ -0,0 +1,60 @@
+package tavebalak.OTTify.program.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tavebalak.OTTify.common.collection.MinHasher;
+import tavebalak.OTTify.genre.repository.ProgramGenreRepository;
+import tavebalak.OTTify.program.repository.ProgramSignatureRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SimilarProgramIndexTest {
+
+    @Mock
+    private ProgramSignatureRepository programSignatureRepository;
+    @Mock
+    private ProgramGenreRepository programGenreRepository;
+
+    @InjectMocks
+    private SimilarProgramIndex similarProgramIndex;
+
+    private final byte[] credits = MinHasher.toBytes(
+        MinHasher.signature(List.of("cast:1", "cast:2", "cast:3", "director:4")));
+
+    //1, 2 번 프로그램은 서로 다른 장르만 있고 서명은 없다
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(similarProgramIndex, "maxCandidates", 100);
+        ReflectionTestUtils.setField(similarProgramIndex, "syncOverlapMinutes", 5L);
+        when(programSignatureRepository.findAllProgramIdAndSignature()).thenReturn(List.of());
+        when(programGenreRepository.findAllGenreIdAndProgramId()).thenReturn(List.of(
+            new Object[]{10L, 1L}, new Object[]{20L, 2L}));
+        similarProgramIndex.reload();
+    }
+
+    @DisplayName("다른 서버가 만든 출연진 서명을 읽어와 장르만으로 만든 서명을 바꾸고 없던 프로그램을 더한다")
+    @Test
+    void sync() {
+        //given
+        assertThat(similarProgramIndex.findSimilarProgramIds(1L, 5)).isEmpty();
+        when(programSignatureRepository.findProgramIdAndSignatureCreatedAfter(any()))
+            .thenReturn(List.of(new Object[]{1L, credits}, new Object[]{3L, credits}));
+
+        //when
+        similarProgramIndex.sync();
+
+        //then
+        assertThat(similarProgramIndex.size()).isEqualTo(3);
+        assertThat(similarProgramIndex.findSimilarProgramIds(1L, 5)).containsExactly(3L);
+    }
+}
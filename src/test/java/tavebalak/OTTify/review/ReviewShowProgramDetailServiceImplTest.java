@@ -2,12 +2,14 @@ package tavebalak.OTTify.review;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import tavebalak.OTTify.common.like.LikeEngine;
 import tavebalak.OTTify.genre.entity.Genre;
 import tavebalak.OTTify.genre.repository.GenreRepository;
 import tavebalak.OTTify.program.dto.response.UserSpecificRatingResponseDto;
@@ -59,6 +61,12 @@ class ReviewShowProgramDetailServiceImplTest {
     @Autowired
     ProgramDetailsShowService programDetailsShowService;
 
+    @Autowired
+    LikeEngine likeEngine;
+
+    @Autowired
+    EntityManager entityManager;
+
     //프로그램 별 장르 별점의 변화와 전체 장르 별점의 변화를 테스트하고
     //user 의 평균 별점 변화를 테스트 합니다.
 
@@ -132,14 +140,17 @@ class ReviewShowProgramDetailServiceImplTest {
 
         reviewCUDService.likeReview(user, findReview3.getId());
 
+        drainLikes(findReview3);
         Assertions.assertThat(findReview3.getLikeCounts()).isEqualTo(1);
 
         reviewCUDService.likeReview(user, findReview3.getId());
 
+        drainLikes(findReview3);
         Assertions.assertThat(findReview3.getLikeCounts()).isEqualTo(0);
 
         reviewCUDService.likeReview(user, findReview3.getId());
 
+        drainLikes(findReview3);
         Assertions.assertThat(findReview3.getLikeCounts()).isEqualTo(1);
 
         UserSpecificRatingResponseDto userSpecificRatingResponseDto = programDetailsShowService.showUserSpecificRating(
@@ -150,6 +161,13 @@ class ReviewShowProgramDetailServiceImplTest {
 
     }
 
+    //좋아요 수는 LikeEngine 이 모아서 DB 에 반영하므로 반영한 뒤 다시 읽습니다.
+    void drainLikes(Review review) {
+        entityManager.flush();
+        likeEngine.drain();
+        entityManager.refresh(review);
+    }
+
     @Transactional
     User makeUser() {
         User user = User.builder()
@@ -2,6 +2,7 @@ package tavebalak.OTTify.review.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,12 +10,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import tavebalak.OTTify.common.constant.Role;
 import tavebalak.OTTify.common.constant.SocialType;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.program.repository.ProgramRepository;
 import tavebalak.OTTify.review.entity.Review;
+import tavebalak.OTTify.review.service.ReviewCursor;
 import tavebalak.OTTify.user.entity.User;
 import tavebalak.OTTify.user.repository.UserRepository;
 
@@ -139,4 +144,107 @@ public class ReviewRepositoryTest {
         assertThat(allReviews.get(3).getContent()).isEqualTo("test-content4");
         assertThat(allReviews.get(4).getContent()).isEqualTo("test-content5");
     }
+
+    @Test
+    @DisplayName("좋아요 순 커서로 페이지를 넘길 때 좋아요 수가 같은 리뷰도 빠지거나 겹치지 않는지 확인")
+    public void findByProgramAfterLikeCounts() throws Exception {
+        //given
+        User savedUser = userRepository.save(
+            User.builder()
+                .email("test-email")
+                .nickName("test-nickName")
+                .profilePhoto("test-url")
+                .socialType(SocialType.GOOGLE)
+                .role(Role.USER)
+                .build()
+        );
+        Program savedProgram = programRepository.save(
+            Program.testBuilder().id(1L).title("test-title").build());
+        Program otherProgram = programRepository.save(
+            Program.testBuilder().id(2L).title("other-title").build());
+
+        Review review1 = saveReview(savedUser, savedProgram, 3);
+        Review review2 = saveReview(savedUser, savedProgram, 1);
+        Review review3 = saveReview(savedUser, savedProgram, 1);
+        Review review4 = saveReview(savedUser, savedProgram, 1);
+        Review review5 = saveReview(savedUser, savedProgram, 0);
+        saveReview(savedUser, otherProgram, 2);
+
+        //when
+        List<List<Long>> pages = new ArrayList<>();
+        ReviewCursor cursor = ReviewCursor.first(ReviewCursor.Sort.LIKE);
+        Slice<Review> slice;
+        do {
+            slice = reviewRepository.findByProgramAfterLikeCountsWithFetchUser(
+                savedProgram.getId(), cursor.getLikeCounts(), cursor.getReviewId(),
+                PageRequest.of(0, 2));
+            List<Long> ids = new ArrayList<>();
+            slice.getContent().forEach(review -> ids.add(review.getId()));
+            pages.add(ids);
+            if (slice.hasContent()) {
+                cursor = ReviewCursor.after(ReviewCursor.Sort.LIKE,
+                    slice.getContent().get(slice.getNumberOfElements() - 1));
+            }
+        } while (slice.hasNext());
+
+        //then
+        assertThat(pages).containsExactly(
+            List.of(review1.getId(), review4.getId()),
+            List.of(review3.getId(), review2.getId()),
+            List.of(review5.getId()));
+    }
+
+    @Test
+    @DisplayName("취향이 비슷한 작성자의 리뷰와 나머지 리뷰를 나눠 읽는지 확인")
+    public void findByProgramIdAndUserIds() throws Exception {
+        //given
+        User user1 = saveUser("test-email1");
+        User user2 = saveUser("test-email2");
+        User user3 = saveUser("test-email3");
+        Program savedProgram = programRepository.save(
+            Program.testBuilder().id(1L).title("test-title").build());
+        Program otherProgram = programRepository.save(
+            Program.testBuilder().id(2L).title("other-title").build());
+
+        Review review1 = saveReview(user1, savedProgram, 1);
+        Review review2 = saveReview(user2, savedProgram, 5);
+        Review review3 = saveReview(user3, savedProgram, 3);
+        saveReview(user2, otherProgram, 2);
+
+        //when
+        List<Object[]> similar = reviewRepository.findIdAndUserIdAndLikeCountsByProgramIdAndUserIdIn(
+            savedProgram.getId(), List.of(user1.getId(), user2.getId()));
+        List<Long> rest = reviewRepository.findIdsByProgramIdAndUserIdNotInOrderByLikeCounts(
+            savedProgram.getId(), List.of(user2.getId()), PageRequest.of(0, 10));
+
+        //then
+        assertThat(similar).extracting(row -> row[0])
+            .containsExactlyInAnyOrder(review1.getId(), review2.getId());
+        assertThat(similar).extracting(row -> row[2]).containsExactlyInAnyOrder(1, 5);
+        assertThat(rest).containsExactly(review3.getId(), review1.getId());
+    }
+
+    private User saveUser(String email) {
+        return userRepository.save(
+            User.builder()
+                .email(email)
+                .nickName("test-nickName")
+                .profilePhoto("test-url")
+                .socialType(SocialType.GOOGLE)
+                .role(Role.USER)
+                .build()
+        );
+    }
+
+    private Review saveReview(User user, Program program, int likeCounts) {
+        Review review = Review.builder()
+            .content("test-content")
+            .genre("test-genre")
+            .program(program)
+            .rating(4.0)
+            .user(user)
+            .build();
+        ReflectionTestUtils.setField(review, "likeCounts", likeCounts);
+        return reviewRepository.save(review);
+    }
 }
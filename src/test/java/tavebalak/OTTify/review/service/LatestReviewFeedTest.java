@@ -0,0 +1,75 @@
+package tavebalak.OTTify.review.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import tavebalak.OTTify.program.entity.Program;
+import tavebalak.OTTify.review.dto.response.LatestReviewsDTO;
+import tavebalak.OTTify.review.entity.Review;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.entity.User;
+
+@ExtendWith(MockitoExtension.class)
+class LatestReviewFeedTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @InjectMocks
+    private LatestReviewFeed latestReviewFeed;
+    User.TestUserBuilder testUserBuilder = User.testUserBuilder();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(latestReviewFeed, "localTtlMillis", 60_000L);
+    }
+
+    @DisplayName("redis 를 쓸 수 없으면 DB 에서 읽은 최신 리뷰 목록을 돌려준다")
+    @Test
+    void getLatestReviewsWhenRedisDown() {
+        //given
+        RedisConnectionFailureException redisDown = new RedisConnectionFailureException("down");
+        when(stringRedisTemplate.opsForList()).thenThrow(redisDown);
+        when(stringRedisTemplate.execute(any(SessionCallback.class))).thenThrow(redisDown);
+        Review review = Review.builder()
+            .content("test-content")
+            .genre("test-genre")
+            .program(Program.testBuilder().id(1L).title("test-title").build())
+            .rating(4.5)
+            .user(testUserBuilder.create(1L, "test-nickName", "test-url", 4.5))
+            .build();
+        when(reviewRepository.findLatestWithFetchUserAndProgram(PageRequest.of(0, 8)))
+            .thenReturn(List.of(review));
+        ReviewServiceImpl reviewService = new ReviewServiceImpl(reviewRepository, null, null,
+            latestReviewFeed, null);
+
+        //when
+        List<LatestReviewsDTO> latestReviews = reviewService.getLatestReviews();
+        List<LatestReviewsDTO> cachedReviews = reviewService.getLatestReviews();
+
+        //then
+        assertThat(latestReviews).extracting(LatestReviewsDTO::getContent)
+            .containsExactly("test-content");
+        //다음 조회는 메모리에 들고 있는 목록을 돌려주므로 DB 를 다시 읽지 않는다.
+        assertThat(cachedReviews).isEqualTo(latestReviews);
+        verify(reviewRepository, times(1)).findLatestWithFetchUserAndProgram(any());
+    }
+}
@@ -0,0 +1,88 @@
+package tavebalak.OTTify.review.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import tavebalak.OTTify.error.ErrorCode;
+import tavebalak.OTTify.error.exception.BadRequestException;
+import tavebalak.OTTify.review.entity.Review;
+import tavebalak.OTTify.review.service.ReviewCursor.Sort;
+
+class ReviewCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 11, 5, 12, 30, 15, 123000);
+
+    private Review review() {
+        Review review = Review.builder().content("test-content").build();
+        ReflectionTestUtils.setField(review, "id", 42L);
+        ReflectionTestUtils.setField(review, "likeCounts", 7);
+        ReflectionTestUtils.setField(review, "createdAt", CREATED_AT);
+        return review;
+    }
+
+    private String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("좋아요 순 커서를 만들었다가 다시 읽으면 좋아요 수와 리뷰 id 가 그대로인지 확인")
+    void likeCursorRoundTrip() {
+        String encoded = ReviewCursor.after(Sort.LIKE, review()).encode();
+
+        ReviewCursor decoded = ReviewCursor.decode(Sort.LIKE, encoded);
+
+        assertThat(decoded.getSort()).isEqualTo(Sort.LIKE);
+        assertThat(decoded.getLikeCounts()).isEqualTo(7);
+        assertThat(decoded.getReviewId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("최신 순 커서를 만들었다가 다시 읽으면 작성 시각과 리뷰 id 가 그대로인지 확인")
+    void latestCursorRoundTrip() {
+        String encoded = ReviewCursor.after(Sort.LATEST, review()).encode();
+
+        ReviewCursor decoded = ReviewCursor.decode(Sort.LATEST, encoded);
+
+        assertThat(decoded.getSort()).isEqualTo(Sort.LATEST);
+        assertThat(decoded.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(decoded.getReviewId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("커서가 없으면 모든 리뷰보다 앞에 있는 첫 페이지 커서인지 확인")
+    void decodeEmpty() {
+        ReviewCursor first = ReviewCursor.decode(Sort.LIKE, null);
+
+        assertThat(first.getLikeCounts()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(first.getReviewId()).isEqualTo(Long.MAX_VALUE);
+        assertThat(ReviewCursor.decode(Sort.LATEST, " ").getCreatedAt())
+            .isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("다른 정렬의 커서나 고쳐진 커서는 잘못된 요청으로 거절하는지 확인")
+    void decodeInvalid() {
+        String likeCursor = ReviewCursor.after(Sort.LIKE, review()).encode();
+
+        assertThatThrownBy(() -> ReviewCursor.decode(Sort.LATEST, likeCursor))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage(ErrorCode.INVALID_REVIEW_CURSOR.getMessage());
+        assertThatThrownBy(() -> ReviewCursor.decode(Sort.LIKE, "not base64!"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ReviewCursor.decode(Sort.LIKE, base64("LIKE|7")))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ReviewCursor.decode(Sort.LIKE, base64("LIKE|many|42")))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ReviewCursor.decode(Sort.LATEST, base64("LATEST|yesterday|42")))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ReviewCursor.decode(Sort.LIKE, base64("POPULAR|7|42")))
+            .isInstanceOf(BadRequestException.class);
+    }
+}
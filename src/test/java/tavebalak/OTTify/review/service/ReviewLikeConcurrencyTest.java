@@ -0,0 +1,74 @@
+package tavebalak.OTTify.review.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tavebalak.OTTify.common.like.LikeEngine;
+import tavebalak.OTTify.error.ErrorCode;
+import tavebalak.OTTify.error.exception.NotFoundException;
+import tavebalak.OTTify.review.entity.Review;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.entity.User;
+import tavebalak.OTTify.user.repository.UserRepository;
+
+
+@SpringBootTest
+public class ReviewLikeConcurrencyTest {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private ReviewCUDService reviewCUDService;
+    @Autowired
+    private LikeEngine likeEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+    private static final int THREAD_COUNT = 2;
+    private static final long REVIEW_ID = 21L;
+
+    @Test
+    @DisplayName("Review 에 동시에 좋아요를 눌러도 drain 뒤 좋아요 수가 정확한지 확인")
+    public void likedReview() throws Exception {
+        User user1 = userRepository.findById(57L).get();
+        User user2 = userRepository.findById(58L).get();
+        likeEngine.drain();
+        int before = findReview().getLikeCounts();
+
+        likeConcurrently(user1, user2);
+        likeEngine.drain();
+        assertThat(findReview().getLikeCounts()).isEqualTo(before + 2);
+
+        //같은 사용자가 한번 더 누르면 좋아요가 취소된다.
+        likeConcurrently(user1, user2);
+        likeEngine.drain();
+        assertThat(findReview().getLikeCounts()).isEqualTo(before);
+    }
+
+    private void likeConcurrently(User... users) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(users.length);
+        for (User user : users) {
+            executorService.submit(() -> {
+                try {
+                    reviewCUDService.likeReview(user, REVIEW_ID);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+    }
+
+    private Review findReview() {
+        return reviewRepository.findById(REVIEW_ID).orElseThrow(() -> new NotFoundException(
+            ErrorCode.REVIEW_NOT_FOUND));
+    }
+}
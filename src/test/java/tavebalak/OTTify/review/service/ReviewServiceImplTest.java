@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import tavebalak.OTTify.program.entity.Program;
 import tavebalak.OTTify.review.dto.response.LatestReviewsDTO;
@@ -30,6 +31,8 @@ class ReviewServiceImplTest {
     private ReviewRepository reviewRepository;
     @Mock
     private LikedReviewRepository likedReviewRepository;
+    @Mock
+    private LatestReviewFeed latestReviewFeed;
 
     @InjectMocks
     private ReviewServiceImpl reviewService;
@@ -191,7 +194,8 @@ class ReviewServiceImplTest {
         List<Review> list = List.of(review5, review4, review3, review2);
         List<Review> allList = List.of(review4, review3, review2, review1);
 
-        when(reviewRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))).thenReturn(list);
+        when(reviewRepository.findLatestWithFetchUserAndProgram(PageRequest.of(0, 8)))
+            .thenReturn(list);
 
         //when
         List<LatestReviewsDTO> latestReviews = reviewService.getLatestReviews();
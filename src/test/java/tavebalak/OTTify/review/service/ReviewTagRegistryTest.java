@@ -0,0 +1,77 @@
+package tavebalak.OTTify.review.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tavebalak.OTTify.review.entity.ReviewTag;
+import tavebalak.OTTify.review.repository.ReviewReviewTagRepository;
+import tavebalak.OTTify.review.repository.ReviewTagRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewTagRegistryTest {
+
+    @Mock
+    private ReviewTagRepository reviewTagRepository;
+    @Mock
+    private ReviewReviewTagRepository reviewReviewTagRepository;
+
+    @InjectMocks
+    private ReviewTagRegistry reviewTagRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reviewTagRegistry, "missReloadIntervalMillis", 60_000L);
+    }
+
+    @DisplayName("모르는 태그 id 가 나오면 다시 읽어 이름을 찾는다")
+    @Test
+    void reloadOnMiss() {
+        //given
+        when(reviewReviewTagRepository.findReviewIdAndReviewTagIdByReviewIdIn(List.of(1L)))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        when(reviewTagRepository.findAll()).thenReturn(List.of(reviewTag(10L, "감동")));
+
+        //when
+        Map<Long, List<String>> names = reviewTagRegistry.findNamesByReviewIds(List.of(1L));
+
+        //then
+        assertThat(names.get(1L)).containsExactly("감동");
+        verify(reviewTagRepository, times(1)).findAll();
+    }
+
+    @DisplayName("다시 읽어도 없는 태그 id 는 간격 안에서 다시 읽지 않는다")
+    @Test
+    void missReloadIsRateLimited() {
+        //given
+        when(reviewReviewTagRepository.findReviewIdAndReviewTagIdByReviewIdIn(List.of(1L)))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}, new Object[]{1L, 99L}));
+        when(reviewTagRepository.findAll()).thenReturn(List.of(reviewTag(10L, "감동")));
+
+        //when
+        Map<Long, List<String>> first = reviewTagRegistry.findNamesByReviewIds(List.of(1L));
+        Map<Long, List<String>> second = reviewTagRegistry.findNamesByReviewIds(List.of(1L));
+
+        //then
+        assertThat(first.get(1L)).containsExactly("감동");
+        assertThat(second.get(1L)).containsExactly("감동");
+        verify(reviewTagRepository, times(1)).findAll();
+    }
+
+    private ReviewTag reviewTag(Long id, String name) {
+        ReviewTag reviewTag = ReviewTag.builder().name(name).build();
+        ReflectionTestUtils.setField(reviewTag, "id", id);
+        return reviewTag;
+    }
+}
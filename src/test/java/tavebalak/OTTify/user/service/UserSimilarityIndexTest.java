@@ -0,0 +1,73 @@
+package tavebalak.OTTify.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import tavebalak.OTTify.review.repository.ReviewRepository;
+import tavebalak.OTTify.user.repository.LikedProgramRepository;
+import tavebalak.OTTify.user.repository.LikedReviewRepository;
+import tavebalak.OTTify.user.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserSimilarityIndexTest {
+
+    @Mock
+    private LikedProgramRepository likedProgramRepository;
+    @Mock
+    private LikedReviewRepository likedReviewRepository;
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserSimilarityIndex userSimilarityIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userSimilarityIndex, "maxCandidates", 1000);
+        ReflectionTestUtils.setField(userSimilarityIndex, "rebuildBatchSize", 2);
+    }
+
+    @DisplayName("사용자 id 구간마다 특징을 읽어 서명을 만들고, 좋아요와 높은 별점을 같은 특징으로 본다")
+    @Test
+    void rebuildByUserIdRange() {
+        //given
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(likedProgramRepository.findUserIdAndProgramIdByUserIdBetween(1L, 2L))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, 10L}, new Object[]{2L, 10L}));
+        when(reviewRepository.findUserIdAndProgramIdAndRatingByUserIdBetween(1L, 2L))
+            .thenReturn(List.of());
+        when(likedReviewRepository.findUserIdAndReviewIdByUserIdBetween(1L, 2L))
+            .thenReturn(List.of());
+        when(likedProgramRepository.findUserIdAndProgramIdByUserIdBetween(3L, 3L))
+            .thenReturn(List.of());
+        when(reviewRepository.findUserIdAndProgramIdAndRatingByUserIdBetween(3L, 3L))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, 10L, 5.0}));
+        when(likedReviewRepository.findUserIdAndReviewIdByUserIdBetween(3L, 3L))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, 10L}));
+
+        //when
+        userSimilarityIndex.rebuild();
+
+        //then
+        assertThat(userSimilarityIndex.similarity(1L, 2L)).isEqualTo(1.0);
+        assertThat(userSimilarityIndex.similarity(1L, 3L)).isBetween(0.25, 0.75);
+        verify(userRepository, never()).findIdsAfter(eq(3L), any(Pageable.class));
+    }
+}